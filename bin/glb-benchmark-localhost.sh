@@ -0,0 +1,30 @@
+#!/bin/bash
+
+CWD="$(cd "$(dirname "${BASH_SOURCE[0]}")" >/dev/null 2>&1 && pwd)"
+
+# Compile project
+cd "${CWD}/.."
+mvn package
+
+# Change to directory of this script
+cd "${CWD}"
+
+# Compare with the previous baseline if there is one
+BASELINE="benchmark-baseline.csv"
+OUTPUT="benchmark-$(date +%Y%m%d-%H%M%S).csv"
+if [ -f $BASELINE ]; then
+  COMPARE="-baseline $BASELINE"
+fi
+
+# Sweep all benchmarks over 1, 2 and 4 places with 1, 2 and 4 workers per place
+java -cp "../target/*" \
+  handist.glb.examples.benchmark.BenchmarkDriver \
+  -p 1,2,4 -w 1,2,4 -r 3 -threshold 0.1 -o $OUTPUT $COMPARE "$@"
+STATUS=$?
+
+# Keep the first results as baseline
+if [ ! -f $BASELINE ]; then
+  cp $OUTPUT $BASELINE
+fi
+
+exit $STATUS
@@ -0,0 +1,18 @@
+#!/bin/bash
+
+CWD="$(cd "$(dirname "${BASH_SOURCE[0]}")" >/dev/null 2>&1 && pwd)"
+
+# Compile project
+cd "${CWD}/.."
+mvn package
+
+# Change to directory of this script
+cd "${CWD}"
+
+# Analyse the lifeline graphs of the provided strategies from 1 to 4096 places
+# and along two elastic sequences
+java -cp "../target/*" \
+  handist.glb.multiworker.lifeline.LifelineGraphAnalyser \
+  -max 4096 -l 4 -z 6 \
+  -seq 64,+16,-8,+33,-100 \
+  -seq 256,-1,-1,+2,-128,+300
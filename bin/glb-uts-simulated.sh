@@ -0,0 +1,16 @@
+#!/bin/bash
+
+CWD="$(cd "$(dirname "${BASH_SOURCE[0]}")" >/dev/null 2>&1 && pwd)"
+
+# Compile project
+cd "${CWD}/.."
+mvn package
+
+# Change to directory of this script
+cd "${CWD}"
+
+# Launch the simulation of 256 places with 4 workers each in the current JVM
+java -cp "../target/*" \
+  -Dglb.multiworker.n=127 \
+  -Dglb.multiworker.w=3 \
+  handist.glb.examples.uts.StartSimulatedUTS -d 13 -p 256 -w 4 -l 5000 -bw 1000 -t 1000
@@ -26,7 +26,19 @@ public class BC implements Bag<BC, DoubleArraySum>, Serializable {
   static int N;
   //  static transient int M;
   static int[] verticesToWorkOn;
+
+  /**
+   * Estimated cost of the task at each index of {@link #verticesToWorkOn}, normalized so that the
+   * average task has a weight of 1. The breadth-first search started from a source only explores
+   * the part of the graph reachable from it, its cost is estimated by the size (vertices and edges)
+   * of the weakly connected component of the source.
+   */
+  static double[] taskWeights;
+
   private final MyIntegerDeque deque;
+
+  /** Sum of the weights of the tasks held in {@link #deque} */
+  private double workEstimate;
   int workerId;
   int state = 0;
   int s;
@@ -65,6 +77,7 @@ public class BC implements Bag<BC, DoubleArraySum>, Serializable {
           if (permute > 0) {
             this.permuteVertices();
           }
+          taskWeights = computeTaskWeights();
         }
       }
     }
@@ -92,7 +105,66 @@ public class BC implements Bag<BC, DoubleArraySum>, Serializable {
 
     for (int i = 0; i < size; i++) {
       deque.offerLast(i + lower);
+      workEstimate += weight(i + lower);
+    }
+  }
+
+  /**
+   * Computes the weakly connected components of the graph with a union-find structure and assigns
+   * to each task the size of the component of its source vertex, normalized so that the average
+   * weight is 1.
+   *
+   * @return the weight of the task at each index of {@link #verticesToWorkOn}
+   */
+  private static double[] computeTaskWeights() {
+    final int[] parent = new int[N];
+    Arrays.setAll(parent, i -> i);
+    for (int v = 0; v < N; v++) {
+      for (int e = graph.begin(v); e < graph.end(v); e++) {
+        final int a = find(parent, v);
+        final int b = find(parent, graph.getAdjacentVertexFromIndex(e));
+        if (a != b) {
+          parent[a] = b;
+        }
+      }
+    }
+    final long[] componentSize = new long[N];
+    for (int v = 0; v < N; v++) {
+      componentSize[find(parent, v)] += 1 + graph.end(v) - graph.begin(v);
+    }
+
+    final double[] weights = new double[N];
+    double total = 0;
+    for (int i = 0; i < N; i++) {
+      final int v = verticesToWorkOn[i];
+      // A source without outgoing edges only visits itself
+      weights[i] = graph.end(v) > graph.begin(v) ? componentSize[find(parent, v)] : 1;
+      total += weights[i];
+    }
+    final double average = total / N;
+    for (int i = 0; i < N; i++) {
+      weights[i] /= average;
+    }
+    return weights;
+  }
+
+  private static int find(int[] parent, int v) {
+    while (parent[v] != v) {
+      parent[v] = parent[parent[v]];
+      v = parent[v];
     }
+    return v;
+  }
+
+  /**
+   * Gives the weight of the task at the given index
+   *
+   * @param u index in {@link #verticesToWorkOn}
+   * @return estimated cost of the task, 1 being the average
+   */
+  private static double weight(int u) {
+    final double[] w = taskWeights;
+    return w == null ? 1 : w[u];
   }
 
   /** A function to shuffle the vertices randomly to give better work dist. */
@@ -192,6 +264,7 @@ public class BC implements Bag<BC, DoubleArraySum>, Serializable {
   @Override
   public void merge(BC other) {
     this.deque.pushArrayFirst(other.deque.toArray());
+    this.workEstimate += other.workEstimate;
 
     for (int i = 0; i < other.realBetweennessMap.length; i++) {
       this.realBetweennessMap[i] += other.realBetweennessMap[i];
@@ -205,6 +278,7 @@ public class BC implements Bag<BC, DoubleArraySum>, Serializable {
       switch (state) {
         case 0:
           int u = deque.removeLast();
+          workEstimate = deque.size() == 0 ? 0 : workEstimate - weight(u);
           processedTasks++;
           refTime = System.nanoTime();
           s = verticesToWorkOn[u];
@@ -235,11 +309,41 @@ public class BC implements Bag<BC, DoubleArraySum>, Serializable {
     return processedTasks;
   }
 
+  @Override
+  public boolean reset() {
+    deque.clear();
+    workEstimate = 0;
+    state = 0;
+    accTime = 0;
+    Arrays.fill(realBetweennessMap, 0);
+    return true;
+  }
+
+  /**
+   * Gives away tasks from the front of the deque until half of the estimated work of this bag is
+   * reached, or all the tasks if {@code takeAll} is set.
+   */
   @Override
   public BC split(boolean takeAll) {
-    int otherHalf = (int) (this.deque.size() * 0.5);
+    return split(takeAll, 0.5);
+  }
+
+  /**
+   * Gives away tasks from the front of the deque until the requested fraction of the estimated work
+   * of this bag is reached, or all the tasks if {@code takeAll} is set.
+   */
+  @Override
+  public BC split(boolean takeAll, double fraction) {
+    int otherHalf = 0;
     if (takeAll) {
       otherHalf = this.deque.size();
+    } else if (this.deque.size() > 1) {
+      final int[] candidates = deque.peekFromFirst(this.deque.size() - 1);
+      final double target = workEstimate * fraction;
+      double work = 0;
+      while (otherHalf < candidates.length && (otherHalf == 0 || work < target)) {
+        work += weight(candidates[otherHalf++]);
+      }
     }
 
     if (0 == otherHalf) {
@@ -247,7 +351,12 @@ public class BC implements Bag<BC, DoubleArraySum>, Serializable {
     }
 
     BC bag = new BC(otherHalf);
-    bag.deque.pushArrayFirst(deque.getFromFirst(otherHalf));
+    final int[] loot = deque.getFromFirst(otherHalf);
+    bag.deque.pushArrayFirst(loot);
+    for (final int u : loot) {
+      bag.workEstimate += weight(u);
+    }
+    workEstimate = deque.size() == 0 ? 0 : Math.max(0, workEstimate - bag.workEstimate);
     return bag;
   }
 
@@ -275,4 +384,9 @@ public class BC implements Bag<BC, DoubleArraySum>, Serializable {
   public long getCurrentTaskCount() {
     return this.deque.size();
   }
+
+  @Override
+  public double getCurrentWorkEstimate() {
+    return workEstimate;
+  }
 }
@@ -57,6 +57,7 @@ public class StartBC {
     final int repetitions =
         GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_BENCHMARKREPETITIONS.get();
 
+    GLBcomputer<DoubleArraySum, BC> glb = null;
     for (int i = 0; i < repetitions; i++) {
 
       final int _resultSize =
@@ -78,8 +79,7 @@ public class StartBC {
             return b;
           };
 
-      final GLBcomputer<DoubleArraySum, BC> glb =
-          new GLBFactory<DoubleArraySum, BC>().setupGLB(places());
+      glb = new GLBFactory<DoubleArraySum, BC>().setupGLB(glb, places());
 
       final DoubleArraySum sum =
           glb.computeStatic(
@@ -0,0 +1,483 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.examples.benchmark;
+
+import handist.glb.examples.util.ExampleHelper;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Launches the example benchmarks on localhost for every combination of number of places, number
+ * of workers per place and problem size, checks their results and stores the measured timings in a
+ * baseline file.
+ *
+ * <p>Each configuration is run in a fresh JVM, using the classpath of the driver. The driver parses
+ * the {@code Run i/n; ...; time;} lines and the {@code Result is correct} lines printed by the
+ * example programs, as well as the number of processed tasks printed by {@link
+ * handist.glb.multiworker.Logger#printAll(PrintStream)} to compute a throughput.
+ *
+ * <p>When a previous baseline is given with option {@code -baseline}, the median throughput of each
+ * configuration is compared with the one recorded in the baseline, and configurations whose
+ * throughput dropped by more than the threshold are reported as regressions. The driver exits with
+ * status 1 if a regression or an incorrect result was detected.
+ */
+public class BenchmarkDriver {
+
+  static final String BASELINE_HEADER =
+      "Benchmark;Mode;Places;Workers;Size;Run;Time(s);Tasks;Throughput(tasks/s);Correct;";
+  static final String OUTPUT_DEFAULT = "benchmark-baseline.csv";
+  static final String PLACES_DEFAULT = "1,2,4";
+  static final int REPETITIONS_DEFAULT = 3;
+  static final double THRESHOLD_DEFAULT = 0.1;
+  static final long TIMEOUT_DEFAULT = 600;
+  static final String WORKERS_DEFAULT = "1,2,4";
+
+  /** Tolerance accepted on the approximation of Pi */
+  static final double PI_TOLERANCE = 0.01;
+
+  private static final Pattern PI_LINE = Pattern.compile("^Pi is : (\\S+)");
+  private static final Pattern RUN_LINE = Pattern.compile("^Run (\\d+)/(\\d+); (.*)$");
+  private static final Pattern TASKS_LINE = Pattern.compile("^Number of processed tasks (\\d+)");
+
+  /** Measurement of a single run of a benchmark */
+  static class Measurement {
+    final String benchmark;
+    final String mode;
+    final int places;
+    final int workers;
+    final long size;
+    final int run;
+    double time;
+    long tasks;
+    /** {@code null} if the benchmark does not provide a way to check its result */
+    Boolean correct;
+
+    Measurement(String benchmark, String mode, int places, int workers, long size, int run) {
+      this.benchmark = benchmark;
+      this.mode = mode;
+      this.places = places;
+      this.workers = workers;
+      this.size = size;
+      this.run = run;
+    }
+
+    /**
+     * Gives the number of tasks processed per second, or the number of runs per second if the
+     * number of tasks is unknown.
+     *
+     * @return the throughput of the run
+     */
+    double throughput() {
+      if (time <= 0) {
+        return 0;
+      }
+      return (tasks > 0 ? tasks : 1) / time;
+    }
+
+    /**
+     * Key identifying the configuration of this measurement
+     *
+     * @return string key of the configuration
+     */
+    String key() {
+      return benchmark + ";" + mode + ";" + places + ";" + workers + ";" + size;
+    }
+
+    String toLine() {
+      return key()
+          + ";"
+          + run
+          + ";"
+          + time
+          + ";"
+          + tasks
+          + ";"
+          + throughput()
+          + ";"
+          + (correct == null ? "n/a" : correct.toString())
+          + ";";
+    }
+
+    static Measurement parse(String line) {
+      final String[] f = line.split(";");
+      final Measurement m =
+          new Measurement(
+              f[0],
+              f[1],
+              Integer.parseInt(f[2]),
+              Integer.parseInt(f[3]),
+              Long.parseLong(f[4]),
+              Integer.parseInt(f[5]));
+      m.time = Double.parseDouble(f[6]);
+      m.tasks = Long.parseLong(f[7]);
+      m.correct = "n/a".equals(f[9]) ? null : Boolean.valueOf(f[9]);
+      return m;
+    }
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    ExampleHelper.printStartMessage(BenchmarkDriver.class.getName());
+    final CommandLine cmd = parseArguments(args);
+
+    final List<Workload> workloads = new ArrayList<>();
+    if (cmd.hasOption("b")) {
+      for (final String b : cmd.getOptionValue("b").split(",")) {
+        workloads.add(Workload.valueOf(b.trim().toUpperCase()));
+      }
+    } else {
+      workloads.addAll(Arrays.asList(Workload.values()));
+    }
+    final int[] placeCounts = parseInts(cmd.getOptionValue("p", PLACES_DEFAULT));
+    final int[] workerCounts = parseInts(cmd.getOptionValue("w", WORKERS_DEFAULT));
+    final Map<Workload, long[]> sizes = parseSizes(cmd.getOptionValues("size"), workloads);
+    final boolean weak = cmd.hasOption("weak");
+    final int repetitions =
+        Integer.parseInt(cmd.getOptionValue("r", String.valueOf(REPETITIONS_DEFAULT)));
+    final double threshold =
+        Double.parseDouble(cmd.getOptionValue("threshold", String.valueOf(THRESHOLD_DEFAULT)));
+    final long timeout =
+        Long.parseLong(cmd.getOptionValue("timeout", String.valueOf(TIMEOUT_DEFAULT)));
+    final File output = new File(cmd.getOptionValue("o", OUTPUT_DEFAULT));
+    final String mode = weak ? "weak" : "strong";
+
+    System.out.println(
+        "Benchmark driver config:\n"
+            + "  benchmarks="
+            + workloads
+            + "\n"
+            + "  places="
+            + Arrays.toString(placeCounts)
+            + "\n"
+            + "  workers="
+            + Arrays.toString(workerCounts)
+            + "\n"
+            + "  mode="
+            + mode
+            + "\n"
+            + "  repetitions="
+            + repetitions
+            + "\n"
+            + "  threshold="
+            + threshold
+            + "\n"
+            + "  output="
+            + output
+            + "\n");
+
+    final List<Measurement> measurements = new ArrayList<>();
+    for (final Workload w : workloads) {
+      for (final long size : sizes.get(w)) {
+        for (final int p : placeCounts) {
+          for (final int wpp : workerCounts) {
+            final int totalWorkers = p * wpp;
+            final long actualSize =
+                weak ? w.weakSize(size, totalWorkers) : w.strongSize(size, totalWorkers);
+            measurements.addAll(
+                launch(w, mode, p, wpp, size, actualSize, repetitions, timeout, cmd));
+          }
+        }
+      }
+    }
+
+    try (PrintStream out = new PrintStream(output, StandardCharsets.UTF_8.name())) {
+      out.println(BASELINE_HEADER);
+      for (final Measurement m : measurements) {
+        out.println(m.toLine());
+      }
+    }
+    System.out.println("Results written to " + output);
+
+    boolean failure = false;
+    for (final Measurement m : measurements) {
+      if (Boolean.FALSE.equals(m.correct)) {
+        System.out.println("INCORRECT RESULT: " + m.toLine());
+        failure = true;
+      }
+    }
+
+    if (cmd.hasOption("baseline")) {
+      final List<Measurement> baseline = readBaseline(new File(cmd.getOptionValue("baseline")));
+      failure |= compare(baseline, measurements, threshold, System.out);
+    }
+
+    System.exit(failure ? 1 : 0);
+  }
+
+  /**
+   * Runs one configuration of a benchmark in a new JVM and gathers its measurements.
+   *
+   * @param w the benchmark to run
+   * @param mode scaling mode, recorded in the measurements
+   * @param places number of places
+   * @param workers number of workers per place
+   * @param nominalSize nominal size of the problem, recorded in the measurements
+   * @param size size passed on the command line of the benchmark
+   * @param repetitions number of runs performed by the benchmark
+   * @param timeout time in seconds after which the benchmark is killed
+   * @param cmd command line of the driver
+   * @return the measurements of each run
+   */
+  static List<Measurement> launch(
+      Workload w,
+      String mode,
+      int places,
+      int workers,
+      long nominalSize,
+      long size,
+      int repetitions,
+      long timeout,
+      CommandLine cmd)
+      throws IOException, InterruptedException {
+    final List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.addAll(
+        Arrays.asList(
+            "--add-modules",
+            "java.se",
+            "--add-exports",
+            "java.base/jdk.internal.ref=ALL-UNNAMED",
+            "--add-opens",
+            "java.base/java.lang=ALL-UNNAMED",
+            "--add-opens",
+            "java.base/java.nio=ALL-UNNAMED",
+            "--add-opens",
+            "java.base/sun.nio.ch=ALL-UNNAMED",
+            "--add-opens",
+            "java.management/sun.management=ALL-UNNAMED",
+            "--add-opens",
+            "jdk.management/com.sun.management.internal=ALL-UNNAMED"));
+    command.add("-Dapgas.places=" + places);
+    command.add("-Dapgas.threads=" + Math.max(4, 2 * workers));
+    command.add("-Dapgas.immediate.threads=" + Math.max(4, workers));
+    command.add("-Dapgas.consoleprinter=false");
+    command.add("-Dglb.multiworker.workerperplace=" + workers);
+    command.add("-Dglb.multiworker.benchmarkrepetitions=" + repetitions);
+    if (cmd.hasOption("D")) {
+      for (final String d : cmd.getOptionValues("D")) {
+        command.add("-D" + d);
+      }
+    }
+    command.add(w.mainClass);
+    command.addAll(Arrays.asList(w.arguments(size)));
+
+    System.out.println(
+        "Running " + w + " places=" + places + " workers=" + workers + " size=" + size);
+
+    final File log =
+        File.createTempFile(
+            "glb-" + w.name().toLowerCase() + "-p" + places + "-w" + workers + "-", ".log");
+    final Process process =
+        new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+    if (!process.waitFor(timeout, TimeUnit.SECONDS)) {
+      process.destroyForcibly().waitFor();
+      System.out.println("  Timeout after " + timeout + "s, output kept in " + log);
+    }
+
+    final List<Measurement> result = new ArrayList<>();
+    Measurement current = null;
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(Files.newInputStream(log.toPath()), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        Matcher m = RUN_LINE.matcher(line);
+        if (m.find()) {
+          current =
+              new Measurement(
+                  w.name(), mode, places, workers, nominalSize, Integer.parseInt(m.group(1)));
+          // The run lines end with "; ", the time is the last non-empty field
+          final String[] fields = m.group(3).split(";");
+          int last = fields.length - 1;
+          while (last > 0 && fields[last].trim().isEmpty()) {
+            last--;
+          }
+          current.time = Double.parseDouble(fields[last].trim());
+          result.add(current);
+          continue;
+        }
+        if (current == null) {
+          continue;
+        }
+        m = TASKS_LINE.matcher(line);
+        if (m.find()) {
+          current.tasks += Long.parseLong(m.group(1));
+        } else if (line.startsWith("Result is NOT correct")) {
+          current.correct = false;
+        } else if (line.startsWith("Result is correct")) {
+          current.correct = true;
+        } else if ((m = PI_LINE.matcher(line)).find()) {
+          current.correct = Math.abs(Double.parseDouble(m.group(1)) - Math.PI) < PI_TOLERANCE;
+        }
+      }
+    }
+
+    final int exitValue = process.exitValue();
+    if (result.size() != repetitions || exitValue != 0) {
+      System.out.println(
+          "  Expected "
+              + repetitions
+              + " runs, got "
+              + result.size()
+              + " (exit value "
+              + exitValue
+              + "), output kept in "
+              + log);
+      // Record the missing runs as failed so that they cannot go unnoticed
+      for (int i = result.size(); i < repetitions; i++) {
+        final Measurement failed =
+            new Measurement(w.name(), mode, places, workers, nominalSize, i + 1);
+        failed.correct = false;
+        result.add(failed);
+      }
+    } else {
+      log.delete();
+    }
+
+    for (final Measurement m : result) {
+      System.out.println("  " + m.toLine());
+    }
+    return result;
+  }
+
+  /**
+   * Compares the median throughput of each configuration with the baseline.
+   *
+   * @param baseline measurements of the baseline
+   * @param current measurements of the current run
+   * @param threshold relative throughput drop above which a regression is reported
+   * @param out stream on which the comparison is printed
+   * @return {@code true} if at least one regression was found
+   */
+  static boolean compare(
+      List<Measurement> baseline, List<Measurement> current, double threshold, PrintStream out) {
+    final Map<String, Double> before = medianThroughput(baseline);
+    final Map<String, Double> after = medianThroughput(current);
+    boolean regression = false;
+    out.println("Benchmark;Mode;Places;Workers;Size;Baseline;Current;Change;");
+    for (final Map.Entry<String, Double> e : after.entrySet()) {
+      final Double b = before.get(e.getKey());
+      if (b == null || b == 0) {
+        out.println(e.getKey() + ";n/a;" + e.getValue() + ";n/a;");
+        continue;
+      }
+      final double change = (e.getValue() - b) / b;
+      final boolean regressed = change < -threshold;
+      regression |= regressed;
+      out.println(
+          e.getKey()
+              + ";"
+              + b
+              + ";"
+              + e.getValue()
+              + ";"
+              + String.format("%+.1f%%", change * 100)
+              + ";"
+              + (regressed ? "REGRESSION" : ""));
+    }
+    return regression;
+  }
+
+  private static Map<String, Double> medianThroughput(List<Measurement> measurements) {
+    final Map<String, List<Double>> grouped = new LinkedHashMap<>();
+    for (final Measurement m : measurements) {
+      grouped.computeIfAbsent(m.key(), k -> new ArrayList<>()).add(m.throughput());
+    }
+    final Map<String, Double> medians = new LinkedHashMap<>();
+    for (final Map.Entry<String, List<Double>> e : grouped.entrySet()) {
+      final List<Double> values = e.getValue();
+      Collections.sort(values);
+      medians.put(e.getKey(), values.get(values.size() / 2));
+    }
+    return medians;
+  }
+
+  private static int[] parseInts(String list) {
+    return Arrays.stream(list.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+  }
+
+  private static Map<Workload, long[]> parseSizes(String[] values, List<Workload> workloads) {
+    final Map<Workload, long[]> sizes = new HashMap<>();
+    if (values != null) {
+      for (final String v : values) {
+        final String[] kv = v.split("=");
+        sizes.put(
+            Workload.valueOf(kv[0].trim().toUpperCase()),
+            Arrays.stream(kv[1].split(":")).mapToLong(s -> Long.parseLong(s.trim())).toArray());
+      }
+    }
+    for (final Workload w : workloads) {
+      sizes.putIfAbsent(w, new long[] {w.defaultSize});
+    }
+    return sizes;
+  }
+
+  private static List<Measurement> readBaseline(File file) throws IOException {
+    final List<Measurement> baseline = new ArrayList<>();
+    for (final String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+      if (!line.isEmpty() && !line.equals(BASELINE_HEADER)) {
+        baseline.add(Measurement.parse(line));
+      }
+    }
+    return baseline;
+  }
+
+  private static CommandLine parseArguments(String[] args) {
+    final Options options = new Options();
+    options.addOption("b", true, "Comma-separated benchmarks (uts,nqueens,bc,synthetic,pi)");
+    options.addOption(
+        "p", true, "Comma-separated numbers of places (Default " + PLACES_DEFAULT + ")");
+    options.addOption(
+        "w",
+        true,
+        "Comma-separated numbers of workers per place (Default " + WORKERS_DEFAULT + ")");
+    options.addOption(
+        "size", true, "Sizes of a benchmark, e.g. uts=10:11:12 (repeatable, Default see Workload)");
+    options.addOption("weak", false, "Weak scaling, the size grows with the number of workers");
+    options.addOption("r", true, "Repetitions per configuration (Default 3)");
+    options.addOption("o", true, "Output baseline file (Default " + OUTPUT_DEFAULT + ")");
+    options.addOption("baseline", true, "Previous baseline file to compare with");
+    options.addOption(
+        "threshold", true, "Relative throughput drop reported as regression (Default 0.1)");
+    options.addOption("timeout", true, "Timeout of each configuration in seconds (Default 600)");
+    options.addOption("D", true, "Additional system property passed to the benchmarks");
+
+    final CommandLineParser parser = new DefaultParser();
+    CommandLine cmd = null;
+    try {
+      cmd = parser.parse(options, args);
+    } catch (final ParseException e) {
+      e.printStackTrace();
+    }
+    return cmd;
+  }
+}
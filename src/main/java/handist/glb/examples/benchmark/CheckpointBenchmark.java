@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.examples.benchmark;
+
+import static apgas.Constructs.places;
+
+import apgas.Configuration;
+import handist.glb.examples.util.ExampleHelper;
+import handist.glb.examples.util.LongSum;
+import handist.glb.examples.uts.MultiworkerUTS;
+import handist.glb.examples.uts.UTSResults;
+import handist.glb.multiworker.GLBFactory;
+import handist.glb.multiworker.GLBMultiWorkerConfiguration;
+import handist.glb.multiworker.GLBcomputer;
+import handist.glb.multiworker.PlaceLogger;
+import java.util.Arrays;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Measures the overhead of checkpoints on a UTS computation for several checkpoint intervals.
+ *
+ * <p>Each interval is run as many times as set by {@link
+ * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_BENCHMARKREPETITIONS}. The median computation
+ * time of each interval is compared with the one of the runs without checkpoints (interval 0),
+ * along with the number of checkpoints taken and the time the workers spent parked for them.
+ */
+public class CheckpointBenchmark {
+
+  static final int DEPTH_DEFAULT = 14;
+  static final String INTERVALS_DEFAULT = "0,2000,1000,500,250,100";
+  static final int QSIZE = 64;
+  static final int SEED = 19;
+  static final int BRANCHING = 4;
+
+  public static void main(String[] args) {
+    ExampleHelper.printStartMessage(CheckpointBenchmark.class.getName());
+    ExampleHelper.configureAPGAS(false);
+    Configuration.printAllConfigs();
+    GLBMultiWorkerConfiguration.printAllConfigs();
+    final CommandLine cmd = parseArguments(args);
+
+    final int depth = Integer.parseInt(cmd.getOptionValue("d", String.valueOf(DEPTH_DEFAULT)));
+    final int[] intervals =
+        Arrays.stream(cmd.getOptionValue("i", INTERVALS_DEFAULT).split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    final int repetitions =
+        GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_BENCHMARKREPETITIONS.get();
+
+    GLBcomputer<LongSum, MultiworkerUTS> glb = null;
+    double reference = -1;
+    System.out.println("Interval(ms);Time(s);Overhead(%);Checkpoints;Parked(s);Written(MB);");
+    for (final int interval : intervals) {
+      // The interval is only read on place 0 which coordinates the checkpoints
+      GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_CHECKPOINT_INTERVAL.set(interval);
+
+      final double[] times = new double[repetitions];
+      long checkpoints = 0;
+      long parked = 0;
+      long bytes = 0;
+      for (int i = 0; i < repetitions; i++) {
+        final MultiworkerUTS bag = new MultiworkerUTS(QSIZE);
+        bag.seed(SEED, depth);
+        glb = new GLBFactory<LongSum, MultiworkerUTS>().setupGLB(glb, places());
+        final LongSum sum =
+            glb.computeDynamic(bag, () -> new LongSum(0), () -> new MultiworkerUTS(QSIZE));
+        times[i] = glb.getLog().computationTime / 1e9;
+        for (final PlaceLogger l : glb.getLog().placeLogs.values()) {
+          checkpoints += l.checkpointsTaken.get();
+          parked += l.checkpointPauseTime.get();
+          bytes += l.checkpointBytes.get();
+        }
+        UTSResults.proveCorrectness(depth, SEED, BRANCHING, sum.sum);
+      }
+
+      Arrays.sort(times);
+      final double median = times[repetitions / 2];
+      if (interval == 0 || reference < 0) {
+        reference = median;
+      }
+      System.out.println(
+          interval
+              + ";"
+              + median
+              + ";"
+              + 100 * (median - reference) / reference
+              + ";"
+              + checkpoints / (double) repetitions
+              + ";"
+              + parked / 1e9 / repetitions
+              + ";"
+              + bytes / 1e6 / repetitions
+              + ";");
+    }
+  }
+
+  private static CommandLine parseArguments(String[] args) {
+    final Options options = new Options();
+    options.addOption("d", true, "Depth of the UTS tree");
+    options.addOption("i", true, "Comma-separated checkpoint intervals in ms, 0 for none");
+
+    final CommandLineParser parser = new DefaultParser();
+    CommandLine cmd = null;
+    try {
+      cmd = parser.parse(options, args);
+    } catch (final ParseException e) {
+      e.printStackTrace();
+    }
+    return cmd;
+  }
+}
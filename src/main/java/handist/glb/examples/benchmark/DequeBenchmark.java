@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.examples.benchmark;
+
+import handist.glb.examples.syntheticBenchmark.SyntheticTask;
+import handist.glb.multiworker.bag.TaskDeque;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Measures the latency of the split and merge of a deque of synthetic tasks, as performed by the
+ * bags of the synthetic benchmark, for several deque sizes.
+ *
+ * <p>The bulk transfers of {@link TaskDeque} are compared with the element-wise copies previously
+ * used by the synthetic benchmark: the stolen tasks were copied into a new array and added one by
+ * one to the new deque, and the tasks of a merged deque were copied into an array before being
+ * copied again into the receiving deque. Each measurement splits half of the tasks of a deque and
+ * merges them back. This benchmark runs in a single JVM and does not need APGAS.
+ */
+public class DequeBenchmark {
+
+  static final int REPETITIONS_DEFAULT = 1000;
+  static final String SIZES_DEFAULT = "100,1000,10000,100000";
+
+  public static void main(String[] args) {
+    final CommandLine cmd = parseArguments(args);
+    final int repetitions =
+        Integer.parseInt(cmd.getOptionValue("r", String.valueOf(REPETITIONS_DEFAULT)));
+    final int[] sizes =
+        Arrays.stream(cmd.getOptionValue("s", SIZES_DEFAULT).split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+
+    System.out.println("Size;Deque;Split(us);Merge(us);");
+    for (final int size : sizes) {
+      final SyntheticTask[] content = new SyntheticTask[size];
+      for (int i = 0; i < size; i++) {
+        content[i] = new SyntheticTask(0, 1, i, 0, 0, false);
+      }
+      // The first pass warms the JIT up and is not printed
+      for (int pass = 0; pass < 2; pass++) {
+        final double[] copy = measureElementWise(content, repetitions);
+        final double[] bulk = measureTransfers(content, repetitions);
+        if (pass == 1) {
+          System.out.println(size + ";element-wise;" + copy[0] + ";" + copy[1] + ";");
+          System.out.println(size + ";TaskDeque;" + bulk[0] + ";" + bulk[1] + ";");
+        }
+      }
+    }
+  }
+
+  /**
+   * Splits and merges back a deque with element-wise copies
+   *
+   * @return median split and merge latencies in microseconds
+   */
+  private static double[] measureElementWise(SyntheticTask[] content, int repetitions) {
+    final ArrayDeque<SyntheticTask> deque = new ArrayDeque<>(Arrays.asList(content));
+    final long[] split = new long[repetitions];
+    final long[] merge = new long[repetitions];
+    for (int r = 0; r < repetitions; r++) {
+      long start = System.nanoTime();
+      final int n = deque.size() / 2;
+      final SyntheticTask[] stolen = new SyntheticTask[n];
+      for (int i = 0; i < n; i++) {
+        stolen[i] = deque.pollFirst();
+      }
+      final ArrayDeque<SyntheticTask> loot = new ArrayDeque<>(64);
+      for (final SyntheticTask t : stolen) {
+        loot.addFirst(t);
+      }
+      split[r] = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      final SyntheticTask[] merged = loot.toArray(new SyntheticTask[0]);
+      for (int i = merged.length - 1; i >= 0; i--) {
+        deque.addFirst(merged[i]);
+      }
+      merge[r] = System.nanoTime() - start;
+    }
+    return new double[] {median(split), median(merge)};
+  }
+
+  /**
+   * Splits and merges back a deque with the bulk transfers of {@link TaskDeque}
+   *
+   * @return median split and merge latencies in microseconds
+   */
+  private static double[] measureTransfers(SyntheticTask[] content, int repetitions) {
+    final TaskDeque<SyntheticTask> deque = new TaskDeque<>(content.length);
+    deque.addAllLast(content);
+    final long[] split = new long[repetitions];
+    final long[] merge = new long[repetitions];
+    for (int r = 0; r < repetitions; r++) {
+      long start = System.nanoTime();
+      final TaskDeque<SyntheticTask> loot = new TaskDeque<>(64);
+      deque.transferFirstTo(loot, deque.size() / 2);
+      split[r] = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      loot.transferLastTo(deque, loot.size());
+      merge[r] = System.nanoTime() - start;
+    }
+    return new double[] {median(split), median(merge)};
+  }
+
+  private static double median(long[] times) {
+    Arrays.sort(times);
+    return times[times.length / 2] / 1e3;
+  }
+
+  private static CommandLine parseArguments(String[] args) {
+    final Options options = new Options();
+    options.addOption("r", true, "Number of split and merge measured for each size");
+    options.addOption("s", true, "Comma-separated number of tasks in the deque");
+
+    final CommandLineParser parser = new DefaultParser();
+    CommandLine cmd = null;
+    try {
+      cmd = parser.parse(options, args);
+    } catch (final ParseException e) {
+      e.printStackTrace();
+    }
+    return cmd;
+  }
+}
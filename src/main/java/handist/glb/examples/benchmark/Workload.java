@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.examples.benchmark;
+
+/**
+ * Benchmarks that can be launched by the {@link BenchmarkDriver}. Each workload knows the main
+ * class to launch, the command line option that controls its size and how that size should evolve
+ * when the number of workers grows in a weak scaling experiment.
+ */
+public enum Workload {
+  /** Unbalanced Tree Search, size is the depth of the tree */
+  UTS("handist.glb.examples.uts.StartMultiworkerUTS", "-d", 11) {
+    @Override
+    long weakSize(long size, int totalWorkers) {
+      // Each additional level of a tree with branching factor 4 multiplies the work by 4
+      return size + (31 - Integer.numberOfLeadingZeros(totalWorkers)) / 2;
+    }
+  },
+
+  /** N-Queens, size is the number of queens */
+  NQUEENS("handist.glb.examples.nqueens.StartNQueens", "-n", 12) {
+    @Override
+    long weakSize(long size, int totalWorkers) {
+      // One more queen multiplies the number of solutions explored by roughly 6
+      long s = size;
+      for (int w = totalWorkers; w >= 6; w /= 6) {
+        s++;
+      }
+      return s;
+    }
+  },
+
+  /** Betweenness Centrality, size is the base-2 logarithm of the number of vertices */
+  BC("handist.glb.examples.bc.StartBC", "-n", 12) {
+    @Override
+    long weakSize(long size, int totalWorkers) {
+      // The work grows with the square of the number of vertices
+      return size + (31 - Integer.numberOfLeadingZeros(totalWorkers)) / 2;
+    }
+  },
+
+  /** Synthetic benchmark in dynamic mode, size is the total sequential duration in ms */
+  SYNTHETIC("handist.glb.examples.syntheticBenchmark.StartSynthetic", "-g", 2_000) {
+    @Override
+    String[] arguments(long size) {
+      return new String[] {"-dynamic", "-t", "10000", "-g", String.valueOf(size)};
+    }
+
+    @Override
+    long weakSize(long size, int totalWorkers) {
+      return size * totalWorkers;
+    }
+  },
+
+  /**
+   * Monte-Carlo approximation of Pi. The program throws {@code n} points in total, divided between
+   * the workers of all places.
+   */
+  PI("handist.glb.examples.pi.StartPi", "-n", 10_000_000) {
+    @Override
+    long weakSize(long size, int totalWorkers) {
+      return size * totalWorkers;
+    }
+  };
+
+  /** Fully qualified name of the class whose main method runs the benchmark */
+  public final String mainClass;
+
+  /** Default size used when none is given to the driver */
+  public final long defaultSize;
+
+  /** Command line option of {@link #mainClass} controlling the size of the problem */
+  private final String sizeOption;
+
+  Workload(String mainClass, String sizeOption, long defaultSize) {
+    this.mainClass = mainClass;
+    this.sizeOption = sizeOption;
+    this.defaultSize = defaultSize;
+  }
+
+  /**
+   * Gives the program arguments for a run of the given size.
+   *
+   * @param size the size of the problem as passed on the command line
+   * @return arguments for the main method of the benchmark
+   */
+  String[] arguments(long size) {
+    return new String[] {sizeOption, String.valueOf(size)};
+  }
+
+  /**
+   * Gives the size to pass on the command line so that the whole computation has the given size
+   * regardless of the number of workers. Most benchmarks take the size of the whole problem.
+   *
+   * @param size nominal size of the problem
+   * @param totalWorkers number of workers across all places
+   * @return the size to pass on the command line
+   */
+  long strongSize(long size, int totalWorkers) {
+    return size;
+  }
+
+  /**
+   * Gives the size to pass on the command line so that the work per worker is roughly the same as
+   * for a single worker on a problem of the given size.
+   *
+   * @param size nominal size of the problem for a single worker
+   * @param totalWorkers number of workers across all places
+   * @return the size to pass on the command line
+   */
+  abstract long weakSize(long size, int totalWorkers);
+}
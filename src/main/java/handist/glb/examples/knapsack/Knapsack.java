@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.examples.knapsack;
+
+import handist.glb.examples.util.LongMax;
+import handist.glb.multiworker.Bag;
+import handist.glb.multiworker.SharedBound;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Branch-and-bound solver for the 0/1 knapsack problem.
+ *
+ * <p>Each task is a node of the search tree, i.e. a decision on whether the first items of the
+ * instance are taken or not. The items are sorted by decreasing value density so that the
+ * fractional relaxation of the remaining items gives a tight upper bound. Nodes whose upper bound
+ * cannot beat the incumbent shared by all places are pruned.
+ */
+public class Knapsack implements Bag<Knapsack, LongMax>, Serializable {
+
+  private static final long serialVersionUID = 6357151263318622484L;
+
+  /** Capacity of the knapsack */
+  public final long capacity;
+
+  /** Values of the items, sorted by decreasing value density */
+  public final long[] values;
+
+  /** Weights of the items, sorted by decreasing value density */
+  public final long[] weights;
+
+  /** Best solution value found by this bag */
+  public long best = 0;
+
+  /** Index of the next item to decide on for each node */
+  private int[] level;
+
+  /** Number of nodes in this bag */
+  private int size = 0;
+
+  /** Value of the items taken for each node */
+  private long[] value;
+
+  /** Weight of the items taken for each node */
+  private long[] weight;
+
+  /**
+   * Constructor
+   *
+   * @param weights weights of the items, sorted by decreasing value density
+   * @param values values of the items
+   * @param capacity capacity of the knapsack
+   * @param initSize initial capacity of the bag in number of nodes
+   */
+  public Knapsack(long[] weights, long[] values, long capacity, int initSize) {
+    this.weights = weights;
+    this.values = values;
+    this.capacity = capacity;
+    level = new int[initSize];
+    weight = new long[initSize];
+    value = new long[initSize];
+  }
+
+  /**
+   * Generates a strongly correlated instance, in which the value of each item is its weight plus a
+   * constant. Such instances are hard for branch-and-bound as all the items have similar densities.
+   *
+   * @param n number of items
+   * @param range weights are drawn uniformly in {@code [1, range]}
+   * @param seed seed of the random generator
+   * @param initSize initial capacity of the bag in number of nodes
+   * @return an empty bag for the generated instance
+   */
+  public static Knapsack generate(int n, int range, long seed, int initSize) {
+    final Random random = new Random(seed);
+    final long[] w = new long[n];
+    final long[] v = new long[n];
+    long total = 0;
+    for (int i = 0; i < n; i++) {
+      w[i] = 1 + random.nextInt(range);
+      v[i] = w[i] + range / 10;
+      total += w[i];
+    }
+
+    final Integer[] order = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingDouble(i -> -(double) v[i] / w[i]));
+    final long[] sortedW = new long[n];
+    final long[] sortedV = new long[n];
+    for (int i = 0; i < n; i++) {
+      sortedW[i] = w[order[i]];
+      sortedV[i] = v[order[i]];
+    }
+    return new Knapsack(sortedW, sortedV, total / 2, initSize);
+  }
+
+  /**
+   * Solves the instance sequentially with dynamic programming. Used to check the result of the
+   * distributed computation.
+   *
+   * @return the optimal value of the instance
+   */
+  public long solveDynamicProgramming() {
+    final long[] table = new long[(int) capacity + 1];
+    for (int i = 0; i < weights.length; i++) {
+      for (int c = (int) capacity; c >= weights[i]; c--) {
+        table[c] = Math.max(table[c], table[c - (int) weights[i]] + values[i]);
+      }
+    }
+    return table[(int) capacity];
+  }
+
+  @Override
+  public long getCurrentTaskCount() {
+    return size;
+  }
+
+  @Override
+  public LongMax getResult() {
+    return new LongMax(best);
+  }
+
+  private void grow() {
+    final int newSize = Math.max(1, level.length * 2);
+    level = Arrays.copyOf(level, newSize);
+    weight = Arrays.copyOf(weight, newSize);
+    value = Arrays.copyOf(value, newSize);
+  }
+
+  /** Puts the root of the search tree, in which no decision was made yet, into this bag */
+  public void init() {
+    push(0, 0, 0);
+  }
+
+  @Override
+  public void initStaticTasks(int workerId) {}
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean isSplittable() {
+    return size > 1;
+  }
+
+  @Override
+  public void merge(Knapsack other) {
+    while (size + other.size > level.length) {
+      grow();
+    }
+    System.arraycopy(other.level, 0, level, size, other.size);
+    System.arraycopy(other.weight, 0, weight, size, other.size);
+    System.arraycopy(other.value, 0, value, size, other.size);
+    size += other.size;
+    best = Math.max(best, other.best);
+  }
+
+  @Override
+  public int process(int workAmount, LongMax sharedObject) {
+    return process(workAmount, sharedObject, null);
+  }
+
+  /**
+   * Explores nodes in depth-first order, taking the next item before leaving it out. A node is
+   * expanded only if the upper bound of its subtree improves the shared bound, or the best value
+   * found by this bag if no bound is given.
+   */
+  @Override
+  public int process(int workAmount, LongMax sharedObject, SharedBound bound) {
+    int i = 0;
+    for (; i < workAmount && size > 0; ++i) {
+      --size;
+      final int l = level[size];
+      final long w = weight[size];
+      final long v = value[size];
+
+      if (v > best) {
+        best = v;
+        if (bound != null) {
+          bound.offer(v);
+        }
+      }
+      if (l == weights.length) {
+        continue;
+      }
+
+      final long upper = upperBound(l, w, v);
+      if (bound != null ? !bound.isBetter(upper) : upper <= best) {
+        continue;
+      }
+      push(l + 1, w, v);
+      if (w + weights[l] <= capacity) {
+        push(l + 1, w + weights[l], v + values[l]);
+      }
+    }
+    return i;
+  }
+
+  private void push(int l, long w, long v) {
+    if (size == level.length) {
+      grow();
+    }
+    level[size] = l;
+    weight[size] = w;
+    value[size] = v;
+    size++;
+  }
+
+  @Override
+  public boolean reset() {
+    size = 0;
+    best = 0;
+    return true;
+  }
+
+  @Override
+  public Knapsack split(boolean takeAll) {
+    return split(takeAll, 0.5);
+  }
+
+  /**
+   * Gives away nodes from the bottom of the bag. These are the closest to the root of the search
+   * tree and hold the largest subtrees.
+   */
+  @Override
+  public Knapsack split(boolean takeAll, double fraction) {
+    final Knapsack loot = new Knapsack(weights, values, capacity, 0);
+    if (size == 0 || (size == 1 && !takeAll)) {
+      return loot;
+    }
+    final int n = size == 1 ? 1 : Math.min(size - 1, Math.max(1, (int) (size * fraction)));
+    loot.level = Arrays.copyOf(level, n);
+    loot.weight = Arrays.copyOf(weight, n);
+    loot.value = Arrays.copyOf(value, n);
+    loot.size = n;
+
+    System.arraycopy(level, n, level, 0, size - n);
+    System.arraycopy(weight, n, weight, 0, size - n);
+    System.arraycopy(value, n, value, 0, size - n);
+    size -= n;
+    return loot;
+  }
+
+  @Override
+  public void submit(LongMax r) {
+    r.max = Math.max(r.max, best);
+  }
+
+  /**
+   * Computes the value of the fractional relaxation of the items that remain to be decided on.
+   *
+   * @param l index of the first item not decided on yet
+   * @param w weight of the items taken so far
+   * @param v value of the items taken so far
+   * @return an upper bound on the value of any solution in the subtree of the node
+   */
+  private long upperBound(int l, long w, long v) {
+    long remaining = capacity - w;
+    double bound = v;
+    for (int i = l; i < weights.length; i++) {
+      if (weights[i] <= remaining) {
+        remaining -= weights[i];
+        bound += values[i];
+      } else {
+        bound += (double) values[i] * remaining / weights[i];
+        break;
+      }
+    }
+    return (long) bound;
+  }
+}
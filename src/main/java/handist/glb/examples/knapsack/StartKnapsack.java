@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.examples.knapsack;
+
+import static apgas.Constructs.places;
+
+import apgas.Configuration;
+import handist.glb.examples.util.ExampleHelper;
+import handist.glb.examples.util.LongMax;
+import handist.glb.multiworker.GLBFactory;
+import handist.glb.multiworker.GLBMultiWorkerConfiguration;
+import handist.glb.multiworker.GLBcomputer;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+public class StartKnapsack {
+
+  static final int ITEMS_DEFAULT = 100;
+  static final int QSIZE_DEFAULT = 1024;
+  static final int RANGE_DEFAULT = 10000;
+  static final long SEED_DEFAULT = 42;
+
+  public static void main(String[] args) {
+    ExampleHelper.printStartMessage(StartKnapsack.class.getName());
+    ExampleHelper.configureAPGAS(false);
+    Configuration.printAllConfigs();
+    GLBMultiWorkerConfiguration.printAllConfigs();
+    final CommandLine cmd = parseArguments(args);
+
+    final int items = Integer.parseInt(cmd.getOptionValue("n", String.valueOf(ITEMS_DEFAULT)));
+    final int range = Integer.parseInt(cmd.getOptionValue("r", String.valueOf(RANGE_DEFAULT)));
+    final long seed = Long.parseLong(cmd.getOptionValue("s", String.valueOf(SEED_DEFAULT)));
+    final int qSize = Integer.parseInt(cmd.getOptionValue("q", String.valueOf(QSIZE_DEFAULT)));
+    System.out.println(
+        "Knapsack config:\n"
+            + "  items="
+            + items
+            + "\n"
+            + "  range="
+            + range
+            + "\n"
+            + "  seed="
+            + seed
+            + "\n"
+            + "  qSize="
+            + qSize
+            + "\n");
+
+    final Knapsack instance = Knapsack.generate(items, range, seed, qSize);
+    final long expected = instance.solveDynamicProgramming();
+
+    final int repetitions =
+        GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_BENCHMARKREPETITIONS.get();
+
+    GLBcomputer<LongMax, Knapsack> glb = null;
+    for (int i = 0; i < repetitions; i++) {
+
+      final Knapsack knapsack = Knapsack.generate(items, range, seed, qSize);
+      knapsack.init();
+
+      glb = new GLBFactory<LongMax, Knapsack>().setupGLB(glb, places());
+      glb.setBound(true, 0);
+
+      final long[] _weights = knapsack.weights;
+      final long[] _values = knapsack.values;
+      final long _capacity = knapsack.capacity;
+      final int _qSize = qSize;
+      final LongMax max =
+          glb.computeDynamic(
+              knapsack,
+              () -> new LongMax(0),
+              () -> new Knapsack(_weights, _values, _capacity, _qSize));
+
+      System.out.println(
+          "Run "
+              + (i + 1)
+              + "/"
+              + repetitions
+              + "; "
+              + max.max
+              + "; "
+              + glb.getLog().computationTime / 1e9
+              + "; ");
+
+      System.out.println("Process time: " + glb.getLog().computationTime / 1e9 + " seconds");
+
+      glb.getLog().printShort(System.out);
+      glb.getLog().printAll(System.out);
+      System.out.println();
+      System.out.println("#############################################################");
+      if (max.max == expected) {
+        System.out.println("Result is correct");
+      } else {
+        System.out.println("Result is NOT correct!!!! expected " + expected);
+      }
+      System.out.println("#############################################################");
+      System.out.println();
+    }
+  }
+
+  private static CommandLine parseArguments(String[] args) {
+    final Options options = new Options();
+
+    options.addOption("n", true, "Number of items");
+    options.addOption("r", true, "Range of the weights of the items");
+    options.addOption("s", true, "Seed of the instance generator");
+    options.addOption("q", true, "Queue Size");
+
+    final CommandLineParser parser = new DefaultParser();
+    CommandLine cmd = null;
+    try {
+      cmd = parser.parse(options, args);
+    } catch (final ParseException e) {
+      e.printStackTrace();
+    }
+    return cmd;
+  }
+}
@@ -18,12 +18,12 @@ import static apgas.Constructs.places;
 import apgas.Configuration;
 import apgas.util.ConsolePrinter;
 import handist.glb.examples.util.LongSum;
-import handist.glb.multiworker.Bag;
 import handist.glb.multiworker.GLBMultiWorkerConfiguration;
-import java.io.Serializable;
+import handist.glb.multiworker.bag.IntArrayBag;
 import java.util.Random;
 
-public class MatMul implements Bag<MatMul, LongSum>, Serializable {
+/** Blocked matrix multiplication, each task being the (row, column) indices of a block of C */
+public class MatMul extends IntArrayBag<MatMul, LongSum> {
 
   private static final long serialVersionUID = 2103676329015152355L;
   static Object initLock = new Object();
@@ -32,18 +32,13 @@ public class MatMul implements Bag<MatMul, LongSum>, Serializable {
   private static double[][][] C;
   private final transient int bsize;
   private final transient int msize;
-  private int currentPos = 0;
   private long currentResult = 0;
   private transient long lastPrint;
-  // Task Queue:
-  private int[] x;
-  private int[] y;
 
   public MatMul(int msize, int bsize) {
+    super(2, msize * msize);
     this.msize = msize;
     this.bsize = bsize;
-    x = new int[msize * msize];
-    y = new int[msize * msize];
     lastPrint = System.nanoTime();
   }
 
@@ -54,17 +49,9 @@ public class MatMul implements Bag<MatMul, LongSum>, Serializable {
   }
 
   private void addTask(int first, int second) {
-    if ((currentPos + 1) >= x.length) {
-      grow();
-    }
-    x[currentPos] = first;
-    y[currentPos] = second;
-    ++currentPos;
-  }
-
-  @Override
-  public long getCurrentTaskCount() {
-    return currentPos;
+    final int offset = pushRecord();
+    tasks[offset] = first;
+    tasks[offset + 1] = second;
   }
 
   @Override
@@ -72,16 +59,6 @@ public class MatMul implements Bag<MatMul, LongSum>, Serializable {
     return new LongSum(currentResult);
   }
 
-  private void grow() {
-    final int n = x.length * 2;
-    final int[] newX = new int[n];
-    final int[] newY = new int[n];
-    System.arraycopy(x, 0, newX, 0, currentPos);
-    System.arraycopy(y, 0, newY, 0, currentPos);
-    x = newX;
-    y = newY;
-  }
-
   public void init() {
     if (A == null) {
       synchronized (initLock) {
@@ -159,9 +136,9 @@ public class MatMul implements Bag<MatMul, LongSum>, Serializable {
 
         taskCounter++;
         if (taskCounter % taskPerWorker == 0) {
-          if (currentPos > 0) { // mindestens 1 task wurde schon geaddet
+          if (!isEmpty()) { // mindestens 1 task wurde schon geaddet
             if (globalWorkerID == (max - 1)
-                && (numberTasks > (((max - 1) * taskPerWorker) + currentPos))) {
+                && (numberTasks > (((max - 1) * taskPerWorker) + getCurrentTaskCount()))) {
               continue;
             }
           }
@@ -181,29 +158,11 @@ public class MatMul implements Bag<MatMul, LongSum>, Serializable {
                 + ", globalWorkerID="
                 + globalWorkerID
                 + ", count of generated tasks="
-                + currentPos);
+                + getCurrentTaskCount());
   }
 
   @Override
-  public boolean isEmpty() {
-    return currentPos <= 0;
-  }
-
-  @Override
-  public boolean isSplittable() {
-    return currentPos > 1;
-  }
-
-  @Override
-  public void merge(MatMul matmul) {
-    while (x.length < (matmul.currentPos + currentPos)) {
-      grow();
-    }
-
-    System.arraycopy(matmul.x, 0, x, currentPos, matmul.currentPos);
-    System.arraycopy(matmul.y, 0, y, currentPos, matmul.currentPos);
-    currentPos += matmul.currentPos;
-
+  protected void mergeResult(MatMul matmul) {
     currentResult += matmul.currentResult;
   }
 
@@ -222,8 +181,9 @@ public class MatMul implements Bag<MatMul, LongSum>, Serializable {
   @SuppressWarnings("unused")
   private void printTaskQueues() {
     final StringBuilder stringBuilder = new StringBuilder();
-    for (int i = 0; i < currentPos; i++) {
-      stringBuilder.append(x[i] + "," + y[i] + "; ");
+    for (int i = 0; i < getCurrentTaskCount(); i++) {
+      final int offset = peekRecord() - i * width;
+      stringBuilder.append(tasks[offset] + "," + tasks[offset + 1] + "; ");
     }
     System.out.println(here() + " : " + stringBuilder);
   }
@@ -234,9 +194,9 @@ public class MatMul implements Bag<MatMul, LongSum>, Serializable {
 
     int i = 0;
     while (!isEmpty() && workAmount > 0) {
-      final int ii = x[currentPos - 1];
-      final int jj = y[currentPos - 1];
-      --currentPos;
+      final int offset = popRecord();
+      final int ii = tasks[offset];
+      final int jj = tasks[offset + 1];
 
       for (int k = 0; k < msize; k++) {
         multiplyAccumulative(A[ii][k], B[k][jj], C[ii][jj]);
@@ -259,41 +219,22 @@ public class MatMul implements Bag<MatMul, LongSum>, Serializable {
   }
 
   @Override
-  public MatMul split(boolean takeAll) {
-    if (currentPos == 0) {
-      return new MatMul(msize, bsize);
-    }
+  protected MatMul newEmpty() {
+    return new MatMul(msize, bsize);
+  }
 
-    final MatMul split = new MatMul(msize, bsize);
+  @Override
+  public boolean reset() {
+    currentResult = 0;
+    return super.reset();
+  }
 
+  @Override
+  public MatMul split(boolean takeAll) {
     /*
      * Stealing 1/10 appeared to be faster than 1/2
      */
-    final int splitSize = currentPos / 10;
-    while (split.x.length < splitSize) {
-      split.grow();
-    }
-    if (takeAll && splitSize == 0) {
-      // Special case where the bag cannot be split. The whole content of this
-      // bag is given away as a result.
-      for (int i = 0; i < currentPos; i++) {
-        split.x[i] = x[i];
-        split.y[i] = y[i];
-      }
-      split.currentPos = currentPos;
-      currentPos = 0; // This bag is now empty
-    } else {
-      // Split the bag as per usual
-      int currentSplitPos = 0;
-      for (int i = (currentPos - splitSize); i < currentPos; ++i) {
-        split.x[currentSplitPos] = x[i];
-        split.y[currentSplitPos] = y[i];
-        currentSplitPos++;
-      }
-      split.currentPos = splitSize;
-      currentPos -= splitSize;
-    }
-    return split;
+    return split(takeAll, 0.1);
   }
 
   @Override
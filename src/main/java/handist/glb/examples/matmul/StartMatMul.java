@@ -57,6 +57,7 @@ public class StartMatMul {
     final int repetitions =
         GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_BENCHMARKREPETITIONS.get();
 
+    GLBcomputer<LongSum, MatMul> glb = null;
     for (int i = 0; i < repetitions; i++) {
 
       final int _msize = msize;
@@ -74,7 +75,7 @@ public class StartMatMul {
             return matMul;
           };
 
-      final GLBcomputer<LongSum, MatMul> glb = new GLBFactory<LongSum, MatMul>().setupGLB(places());
+      glb = new GLBFactory<LongSum, MatMul>().setupGLB(glb, places());
 
       final LongSum sum =
           glb.computeStatic(() -> new LongSum(0L), queueInitializer, workerInitializer);
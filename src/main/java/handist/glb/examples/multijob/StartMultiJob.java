@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.examples.multijob;
+
+import static apgas.Constructs.places;
+
+import apgas.Configuration;
+import handist.glb.examples.nqueens.NQueens;
+import handist.glb.examples.nqueens.NQueensResults;
+import handist.glb.examples.util.ExampleHelper;
+import handist.glb.examples.util.LongSum;
+import handist.glb.examples.uts.MultiworkerUTS;
+import handist.glb.examples.uts.UTSResults;
+import handist.glb.multiworker.GLBFactory;
+import handist.glb.multiworker.GLBMultiWorkerConfiguration;
+import handist.glb.multiworker.GLBcomputer;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Runs a long UTS computation and, concurrently, a series of short NQueens computations on the same
+ * places. In multi-job mode, both jobs share the worker budget of each place so that the NQueens
+ * computations are not stuck behind the UTS one.
+ */
+public class StartMultiJob {
+
+  static final int DEPTH_DEFAULT = 15;
+  static final int JOBS_DEFAULT = 5;
+  static final int QUEENS_DEFAULT = 13;
+  static final int SEED = 19;
+  static final int BRANCHING = 4;
+
+  public static void main(String[] args) {
+    ExampleHelper.printStartMessage(StartMultiJob.class.getName());
+    GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_MULTIJOB.setDefaultValue(true);
+    ExampleHelper.configureAPGAS(false);
+    Configuration.printAllConfigs();
+    GLBMultiWorkerConfiguration.printAllConfigs();
+    final CommandLine cmd = parseArguments(args);
+
+    final int depth = Integer.parseInt(cmd.getOptionValue("d", String.valueOf(DEPTH_DEFAULT)));
+    final int queens = Integer.parseInt(cmd.getOptionValue("n", String.valueOf(QUEENS_DEFAULT)));
+    final int jobs = Integer.parseInt(cmd.getOptionValue("j", String.valueOf(JOBS_DEFAULT)));
+    final double weight = Double.parseDouble(cmd.getOptionValue("w", "1"));
+    System.out.println(
+        "MultiJob config:\n"
+            + "  depth="
+            + depth
+            + "\n"
+            + "  queens="
+            + queens
+            + "\n"
+            + "  jobs="
+            + jobs
+            + "\n"
+            + "  weight="
+            + weight
+            + "\n");
+
+    final GLBcomputer<LongSum, MultiworkerUTS> uts =
+        new GLBFactory<LongSum, MultiworkerUTS>().setupGLB(places());
+    final Thread utsThread =
+        new Thread(
+            () -> {
+              final MultiworkerUTS bag = new MultiworkerUTS(64);
+              bag.seed(SEED, depth);
+              final LongSum sum =
+                  uts.computeDynamic(bag, () -> new LongSum(0), () -> new MultiworkerUTS(64));
+              System.out.println(
+                  "UTS; " + sum.sum + "; " + uts.getLog().computationTime / 1e9 + "; ");
+              uts.getLog().printShort(System.out);
+              UTSResults.proveCorrectness(depth, SEED, BRANCHING, sum.sum);
+            });
+    utsThread.start();
+
+    final GLBcomputer<LongSum, NQueens> nq = new GLBFactory<LongSum, NQueens>().setupGLB(places());
+    nq.setJobWeight(weight);
+    for (int i = 0; i < jobs; i++) {
+      final NQueens bag = new NQueens(queens, 7, 4096);
+      bag.init();
+      final int _queens = queens;
+      final LongSum sum =
+          nq.computeDynamic(bag, () -> new LongSum(0), () -> new NQueens(_queens, 7, 4096));
+      System.out.println(
+          "NQueens "
+              + (i + 1)
+              + "/"
+              + jobs
+              + "; "
+              + sum.sum
+              + "; "
+              + nq.getLog().computationTime / 1e9
+              + "; ");
+      nq.getLog().printShort(System.out);
+      NQueensResults.proveCorrectness(queens, sum.sum);
+    }
+
+    try {
+      utsThread.join();
+    } catch (final InterruptedException e) {
+      e.printStackTrace();
+    }
+  }
+
+  private static CommandLine parseArguments(String[] args) {
+    final Options options = new Options();
+    options.addOption("d", true, "Depth of the UTS tree");
+    options.addOption("n", true, "Number of queens of the NQueens jobs");
+    options.addOption("j", true, "Number of NQueens jobs run during the UTS computation");
+    options.addOption("w", true, "Weight of the NQueens jobs in the worker budget");
+
+    final CommandLineParser parser = new DefaultParser();
+    CommandLine cmd = null;
+    try {
+      cmd = parser.parse(options, args);
+    } catch (final ParseException e) {
+      e.printStackTrace();
+    }
+    return cmd;
+  }
+}
@@ -19,6 +19,10 @@ import java.io.Serializable;
 public class NQueens implements Bag<NQueens, LongSum>, Serializable {
 
   private static final long serialVersionUID = -6118047016331246031L;
+
+  /** Fraction of the estimated work given away when splitting */
+  private static final double SPLIT_WORK_FRACTION = 1.0 / 6;
+
   public final int INIT_SIZE;
   public final int QUEENS;
   public final int THRESHOLD;
@@ -28,6 +32,12 @@ public class NQueens implements Bag<NQueens, LongSum>, Serializable {
   public long result = 0;
   public int size;
 
+  /**
+   * Estimated number of tasks processed in the subtree of a task, indexed by the depth of the task.
+   * Computed lazily by {@link #subtreeTasks(int)}.
+   */
+  private transient double[] subtreeTasks;
+
   public NQueens(final int queens, final int threshold, final int initSize) {
     THRESHOLD = threshold;
     QUEENS = queens;
@@ -68,6 +78,42 @@ public class NQueens implements Bag<NQueens, LongSum>, Serializable {
     return size;
   }
 
+  /**
+   * Estimates the number of tasks that remain to be processed. A task at depth {@code d} below the
+   * threshold spawns one task for every valid position of the next queen, which is estimated as
+   * {@code QUEENS - 2d} as each queen already placed forbids about two positions of the next row.
+   */
+  @Override
+  public double getCurrentWorkEstimate() {
+    final int[] d = depth;
+    final int top = Math.min(size, d.length);
+    double estimate = 0;
+    for (int i = 0; i < top; i++) {
+      estimate += subtreeTasks(d[i]);
+    }
+    return estimate;
+  }
+
+  /**
+   * Gives the estimated number of tasks processed in the subtree of a task at the given depth,
+   * including the task itself.
+   *
+   * @param d depth of the task
+   * @return estimated number of tasks
+   */
+  private double subtreeTasks(int d) {
+    double[] s = subtreeTasks;
+    if (s == null) {
+      s = new double[THRESHOLD + 2];
+      s[THRESHOLD + 1] = 1;
+      for (int k = THRESHOLD; k >= 0; k--) {
+        s[k] = k < THRESHOLD ? 1 + Math.max(1, QUEENS - 2 * k) * s[k + 1] : 1;
+      }
+      subtreeTasks = s;
+    }
+    return s[Math.min(Math.max(d, 0), s.length - 1)];
+  }
+
   @Override
   public LongSum getResult() {
     return new LongSum(result);
@@ -193,18 +239,39 @@ public class NQueens implements Bag<NQueens, LongSum>, Serializable {
     depth[size++] = d;
   }
 
+  @Override
+  public boolean reset() {
+    size = 0;
+    count = 0;
+    result = 0;
+    return true;
+  }
+
   @Override
   public NQueens split(boolean takeAll) {
+    /*
+     * Stealing 1/6 appeared to be faster than 1/2.
+     */
+    return split(takeAll, SPLIT_WORK_FRACTION);
+  }
+
+  @Override
+  public NQueens split(boolean takeAll, double fraction) {
     if ((size == 0) || (size == 1 && !takeAll)) {
       return new NQueens(QUEENS, THRESHOLD, INIT_SIZE);
     }
 
     /*
-     * Stealing 1/6 appeared to be faster than 1/2
+     * The tasks at the bottom are the closest to the root, they are taken until the requested
+     * fraction of the estimated work is reached.
      */
-    int otherHalf = 0;
-    if (otherHalf == 0) {
-      otherHalf = 1;
+    int otherHalf = 1;
+    if (size > 1) {
+      final double target = getCurrentWorkEstimate() * fraction;
+      double work = subtreeTasks(depth[0]);
+      while (otherHalf < size - 1 && work < target) {
+        work += subtreeTasks(depth[otherHalf++]);
+      }
     }
 
     final int myHalf = size - otherHalf;
@@ -56,13 +56,13 @@ public class StartNQueens {
     final int repetitions =
         GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_BENCHMARKREPETITIONS.get();
 
+    GLBcomputer<LongSum, NQueens> glb = null;
     for (int i = 0; i < repetitions; i++) {
 
       final NQueens nQueens = new NQueens(queens, threshold, qSize);
       nQueens.init();
 
-      final GLBcomputer<LongSum, NQueens> glb =
-          new GLBFactory<LongSum, NQueens>().setupGLB(places());
+      glb = new GLBFactory<LongSum, NQueens>().setupGLB(glb, places());
 
       final int _queens = queens;
       final int _threshold = threshold;
@@ -70,6 +70,13 @@ public class Pi implements Bag<Pi, LongSum>, Serializable {
     return i;
   }
 
+  @Override
+  public boolean reset() {
+    to_throw = 0;
+    sum = 0;
+    return true;
+  }
+
   @Override
   public Pi split(boolean takeAll) {
     Pi other = new Pi(to_init);
@@ -84,6 +91,18 @@ public class Pi implements Bag<Pi, LongSum>, Serializable {
     return other;
   }
 
+  @Override
+  public Pi split(boolean takeAll, double fraction) {
+    Pi other = new Pi(to_init);
+    long to_give = (long) (this.to_throw * fraction);
+    if (takeAll && this.to_throw < 2) {
+      to_give = this.to_throw;
+    }
+    this.to_throw -= to_give;
+    other.to_throw = to_give;
+    return other;
+  }
+
   @Override
   public void submit(LongSum sum) {
     System.out.println(here() + " sum=" + sum + ", this.sum=" + this.sum);
@@ -46,8 +46,9 @@ public class StartPi {
     final int repetitions =
         GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_BENCHMARKREPETITIONS.get();
 
+    GLBcomputer<LongSum, Pi> glb = null;
     for (int i = 0; i < repetitions; i++) {
-      GLBcomputer<LongSum, Pi> glb = new GLBFactory<LongSum, Pi>().setupGLB(places());
+      glb = new GLBFactory<LongSum, Pi>().setupGLB(glb, places());
 
       //      final long np = Configuration.CONFIG_APGAS_PLACES.get();
       //      final long wpp =
@@ -86,10 +86,10 @@ public class StartSynthetic {
 
     long expectedResult = 0;
 
+    GLBcomputer<LongSum, SyntheticQueue> glb = null;
     for (int i = 0; i < repetitions; i++) {
 
       final LongSum sum;
-      final GLBcomputer<LongSum, SyntheticQueue> glb;
 
       if (staticMode) {
 
@@ -110,7 +110,7 @@ public class StartSynthetic {
               return s;
             };
 
-        glb = new GLBFactory<LongSum, SyntheticQueue>().setupGLB(places());
+        glb = new GLBFactory<LongSum, SyntheticQueue>().setupGLB(glb, places());
 
         sum = glb.computeStatic(() -> new LongSum(0), queueInitializer, workerInitializer);
 
@@ -121,7 +121,7 @@ public class StartSynthetic {
         expectedResult = syntheticQueue.initDynamic(tasksPerWorker, totalDuration, ballast);
         final long _maxChildren = syntheticQueue.maxChildren;
 
-        glb = new GLBFactory<LongSum, SyntheticQueue>().setupGLB(places());
+        glb = new GLBFactory<LongSum, SyntheticQueue>().setupGLB(glb, places());
 
         sum =
             glb.computeDynamic(
@@ -16,6 +16,7 @@ import static apgas.Constructs.places;
 import apgas.impl.GlobalRuntimeImpl;
 import apgas.util.ConsolePrinter;
 import handist.glb.multiworker.GLBMultiWorkerConfiguration;
+import handist.glb.multiworker.bag.TaskDeque;
 import java.io.Serializable;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
@@ -26,7 +27,7 @@ public class Synthetic implements Serializable {
   /** Serial Version UID */
   private static final long serialVersionUID = -3390480610966580801L;
 
-  protected final SyntheticTaskDeque tasks = new SyntheticTaskDeque(64);
+  protected final TaskDeque<SyntheticTask> tasks = new TaskDeque<>(64, SyntheticTask.CODEC);
   public long diff = 0;
   public long durationVariance;
   public boolean isStatic;
@@ -40,6 +41,13 @@ public class Synthetic implements Serializable {
   protected long tasksPerWorker;
   protected long totalDuration;
   protected int customStartPlaces;
+
+  /**
+   * Sum of the {@link #weight(SyntheticTask) weights} of the tasks held in {@link #tasks}, kept up
+   * to date as tasks are added and removed so that it can be read by the load estimation without
+   * iterating over the tasks.
+   */
+  protected volatile double workEstimate = 0;
   transient ThreadMXBean bean = ManagementFactory.getThreadMXBean();
 
   /*
@@ -73,6 +81,7 @@ public class Synthetic implements Serializable {
     final long after = bean.getCurrentThreadCpuTime();
     final long beanDuration = after - before;
     final SyntheticTask task = tasks.pollLast();
+    workEstimate = tasks.isEmpty() ? 0 : workEstimate - weight(task);
     randGen.setSeed(task.seed);
 
     long taskDuration;
@@ -116,7 +125,8 @@ public class Synthetic implements Serializable {
                 task.branch,
                 task.durationTree);
       }
-      tasks.pushArrayLast(newTasks);
+      tasks.addAllLast(newTasks);
+      workEstimate += newTasks.length * weight(newTasks[0]);
     } else if (task.depth == 0) { // The Last level of the tree reached
       // Used to connect a long branch with only one child per parent
       long idLastNodeRight = (long) Math.pow(maxChildren, task.realDepth - 1);
@@ -164,6 +174,7 @@ public class Synthetic implements Serializable {
                   false,
                   task.durationTree);
           tasks.addLast(newTask);
+          workEstimate += weight(newTask);
         }
       }
     } else if (task.depth == -1) { // Branch starts here
@@ -182,6 +193,7 @@ public class Synthetic implements Serializable {
                 false,
                 task.durationTree);
         tasks.addLast(newTask);
+        workEstimate += weight(newTask);
 
       } else { // Branch is complete - generate root for a new tree from the last node of branch.
         ConsolePrinter.getInstance()
@@ -189,7 +201,7 @@ public class Synthetic implements Serializable {
                 "[SyntheticTree] Second Tree started, Branch generation finished "
                     + (System.nanoTime() - GlobalRuntimeImpl.getRuntime().startupTime) / 1e9
                     + " Seconds after Program start.");
-        tasks.addLast(
+        final SyntheticTask root =
             new SyntheticTask(
                 task.ballast.length,
                 0,
@@ -199,8 +211,41 @@ public class Synthetic implements Serializable {
                 task.totalNumberOfTasks,
                 task.realDepth,
                 task.branch,
-                task.durationTree));
+                task.durationTree);
+        tasks.addLast(root);
+        workEstimate += weight(root);
+      }
+    }
+  }
+
+  /**
+   * Estimates the work represented by a task, expressed in regular tasks of the tree. The estimate
+   * covers the task itself and all the tasks it will generate: the subtree below it if it is part of
+   * a tree, the rest of the branch and the second tree if it is part of the branch of an "evotree".
+   * Tasks of the static variant do not generate any other task and all have a weight of 1.
+   *
+   * @param task the task whose weight should be estimated
+   * @return the estimated work of the task and of the tasks it will generate
+   */
+  double weight(SyntheticTask task) {
+    if (maxChildren <= 0) {
+      return 1;
+    }
+    final double relativeDuration =
+        task.durationTree > 0 ? (double) task.duration / task.durationTree : 1;
+    if (task.depth > 0) {
+      return calculateTreeSize(task.depth + 1, maxChildren) * relativeDuration;
+    } else if (task.depth == 0) {
+      if (task.branch && task.taskID == (long) Math.pow(maxChildren, task.realDepth - 1)) {
+        // This task starts the branch which lasts twice as long as the first tree, followed by the
+        // second tree
+        return 1 + 2 * task.totalNumberOfTasks + task.totalNumberOfTasks;
       }
+      return relativeDuration;
+    } else {
+      final long branchTasksLeft =
+          GLBMultiWorkerConfiguration.GLBOPTION_SYNTH_BRANCH.get() - task.taskID;
+      return branchTasksLeft * relativeDuration + task.totalNumberOfTasks;
     }
   }
 
@@ -276,14 +321,18 @@ public class Synthetic implements Serializable {
      * Return taskCount for expected value to compare calculated result to.
      */
     if (GLBMultiWorkerConfiguration.GLBOPTION_SYNTH_TREE.get().equals("evotree")) {
-      tasks.addLast(
+      final SyntheticTask root =
           new SyntheticTask(
-              taskBallast, 0, depth - 1, taskDuration, 0, taskCount, depth, true, taskDuration));
+              taskBallast, 0, depth - 1, taskDuration, 0, taskCount, depth, true, taskDuration);
+      tasks.addLast(root);
+      workEstimate += weight(root);
       return taskCount * 2 + GLBMultiWorkerConfiguration.GLBOPTION_SYNTH_BRANCH.get();
     } else { // Original synthetic dynamic benchmark
-      tasks.addLast(
+      final SyntheticTask root =
           new SyntheticTask(
-              taskBallast, 0, depth - 1, taskDuration, 0, taskCount, depth, false, taskDuration));
+              taskBallast, 0, depth - 1, taskDuration, 0, taskCount, depth, false, taskDuration);
+      tasks.addLast(root);
+      workEstimate += weight(root);
       return taskCount;
     }
   }
@@ -36,6 +36,11 @@ public class SyntheticQueue extends Synthetic implements Bag<SyntheticQueue, Lon
     return tasks.size();
   }
 
+  @Override
+  public double getCurrentWorkEstimate() {
+    return workEstimate;
+  }
+
   @Override
   public LongSum getResult() {
     return new LongSum(result);
@@ -72,6 +77,7 @@ public class SyntheticQueue extends Synthetic implements Bag<SyntheticQueue, Lon
       // so they are 0/false if generated static
       tasks.addLast(new SyntheticTask(taskBallast, taskDuration, 0, 0, 0, false));
     }
+    workEstimate += localTasksPerWorker;
     System.out.println(
         here()
             + " worker="
@@ -98,7 +104,8 @@ public class SyntheticQueue extends Synthetic implements Bag<SyntheticQueue, Lon
 
   @Override
   public void merge(SyntheticQueue syntheticQueue) {
-    tasks.pushArrayFirst(syntheticQueue.tasks.toArray());
+    syntheticQueue.tasks.transferLastTo(tasks, syntheticQueue.tasks.size());
+    workEstimate += syntheticQueue.workEstimate;
     diff += syntheticQueue.diff;
     result += syntheticQueue.result;
   }
@@ -114,9 +121,23 @@ public class SyntheticQueue extends Synthetic implements Bag<SyntheticQueue, Lon
     return i;
   }
 
+  /**
+   * Gives away tasks from the bottom of the deque. In the dynamic variant, the tasks at the bottom
+   * root the largest subtrees. Tasks are then taken until half of the {@link
+   * #getCurrentWorkEstimate() estimated work} is reached rather than half of the tasks.
+   */
   @Override
   public SyntheticQueue split(boolean takeAll) {
-    int nStolen = Math.max(tasks.size() / 2, 1);
+    return split(takeAll, 0.5);
+  }
+
+  /**
+   * Gives away the requested fraction of the tasks in the static variant, or the requested fraction
+   * of the {@link #getCurrentWorkEstimate() estimated work} in the dynamic variant.
+   */
+  @Override
+  public SyntheticQueue split(boolean takeAll, double fraction) {
+    int nStolen = Math.max((int) (tasks.size() * fraction), 1);
     if (tasks.size() < 2 && !takeAll) {
       return new SyntheticQueue(durationVariance, maxChildren, isStatic, totalDuration, customStartPlaces);
     }
@@ -127,14 +148,19 @@ public class SyntheticQueue extends Synthetic implements Bag<SyntheticQueue, Lon
       if (takeAll) {
         nStolen = tasks.size();
       }
+    } else {
+      nStolen = countForWork(workEstimate * fraction);
     }
 
     final SyntheticQueue syntheticQueue =
         new SyntheticQueue(durationVariance, maxChildren, isStatic, totalDuration, customStartPlaces);
-    final SyntheticTask[] fromFirst = tasks.getFromFirst(nStolen);
-    for (final SyntheticTask t : fromFirst) {
-      syntheticQueue.tasks.addFirst(t);
+    double stolenWork = 0;
+    for (int i = 0; i < nStolen && i < tasks.size(); i++) {
+      stolenWork += weight(tasks.get(i));
     }
+    tasks.transferFirstTo(syntheticQueue.tasks, nStolen);
+    syntheticQueue.workEstimate = stolenWork;
+    workEstimate = tasks.isEmpty() ? 0 : Math.max(0, workEstimate - stolenWork);
     if (takeAll) {
       syntheticQueue.diff = diff;
       diff = 0;
@@ -143,6 +169,27 @@ public class SyntheticQueue extends Synthetic implements Bag<SyntheticQueue, Lon
     return syntheticQueue;
   }
 
+  /**
+   * Counts how many tasks need to be taken from the bottom of the deque to gather the given amount
+   * of work. At least one task is taken and at least one task is left.
+   *
+   * @param targetWork the amount of work to gather
+   * @return the number of tasks to take from the bottom of the deque
+   */
+  private int countForWork(double targetWork) {
+    final int max = tasks.size() - 1;
+    int n = 0;
+    double work = 0;
+    for (final SyntheticTask t : tasks) {
+      if (n >= max || (n > 0 && work >= targetWork)) {
+        break;
+      }
+      work += weight(t);
+      n++;
+    }
+    return Math.max(n, 1);
+  }
+
   @Override
   public void submit(LongSum longSum) {
     longSum.sum += result;
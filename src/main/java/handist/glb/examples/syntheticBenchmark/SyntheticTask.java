@@ -10,10 +10,17 @@
  */
 package handist.glb.examples.syntheticBenchmark;
 
+import handist.glb.multiworker.bag.TaskDeque;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serializable;
 
 public class SyntheticTask implements Serializable {
 
+  /** Writes the fields and the ballast of each task without serializing the task as an object */
+  static final TaskDeque.Codec<SyntheticTask> CODEC = new Codec();
+
   private static final long serialVersionUID = 2282792464012580417L;
 
   byte[] ballast;
@@ -56,4 +63,41 @@ public class SyntheticTask implements Serializable {
     this.depth = depth;
     this.durationTree = durationTree;
   }
+
+  private static final class Codec implements TaskDeque.Codec<SyntheticTask> {
+
+    private static final long serialVersionUID = -6240315532087447329L;
+
+    @Override
+    public SyntheticTask read(ObjectInput in) throws IOException {
+      final int ballast = in.readInt();
+      final SyntheticTask t =
+          new SyntheticTask(
+              ballast,
+              in.readLong(),
+              in.readLong(),
+              in.readLong(),
+              in.readLong(),
+              in.readLong(),
+              in.readLong(),
+              in.readBoolean(),
+              in.readLong());
+      in.readFully(t.ballast);
+      return t;
+    }
+
+    @Override
+    public void write(ObjectOutput out, SyntheticTask t) throws IOException {
+      out.writeInt(t.ballast.length);
+      out.writeLong(t.seed);
+      out.writeLong(t.depth);
+      out.writeLong(t.duration);
+      out.writeLong(t.taskID);
+      out.writeLong(t.totalNumberOfTasks);
+      out.writeLong(t.realDepth);
+      out.writeBoolean(t.branch);
+      out.writeLong(t.durationTree);
+      out.write(t.ballast);
+    }
+  }
 }
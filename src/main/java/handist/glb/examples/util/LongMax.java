@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.examples.util;
+
+import handist.glb.multiworker.Fold;
+import java.io.Serializable;
+
+/**
+ * Implementation of the {@link Fold} interface that keeps the maximum of {@code long} integers. The
+ * class also implements interface {@link Serializable} in order to be used by the GLB library.
+ */
+public class LongMax implements Fold<LongMax>, Serializable {
+
+  /** Serial Version UID */
+  private static final long serialVersionUID = -1459426718127503612L;
+
+  /** Largest value folded into this instance */
+  public long max;
+
+  /**
+   * Constructor
+   *
+   * @param m initial value for the maximum
+   */
+  public LongMax(long m) {
+    max = m;
+  }
+
+  @Override
+  public void fold(LongMax f) {
+    max = Math.max(max, f.max);
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(max);
+  }
+}
@@ -196,6 +196,29 @@ public class MultiworkerUTS implements Bag<MultiworkerUTS, LongSum>, Serializabl
     return s + t;
   }
 
+  /**
+   * Estimates the number of node expansions that remain to be performed. Each node left at a given
+   * level roots a subtree whose expected size only depends on its remaining depth: with an expected
+   * number of 4 children per node, a node with remaining depth {@code d} leads to {@code (4^d - 1) /
+   * 3} expansions on average.
+   */
+  @Override
+  public double getCurrentWorkEstimate() {
+    // Local copies, the arrays may be replaced by a concurrent call to grow
+    final int[] d = depth;
+    final int[] l = lower;
+    final int[] u = upper;
+    final int top = Math.min(currentDepth, d.length);
+    double estimate = 0;
+    for (int i = 0; i < top; ++i) {
+      final int nodesRemaining = u[i] - l[i];
+      if (nodesRemaining >= 1) {
+        estimate += nodesRemaining * (Math.pow(4, d[i]) - 1) / 3;
+      }
+    }
+    return estimate;
+  }
+
   @Override
   public LongSum getResult() {
     return new LongSum(exploredNodes);
@@ -345,12 +368,30 @@ public class MultiworkerUTS implements Bag<MultiworkerUTS, LongSum>, Serializabl
     }
   }
 
+  @Override
+  public boolean reset() {
+    currentDepth = 0;
+    exploredNodes = 0;
+    return true;
+  }
+
   /**
    * Splits the tree exploration by giving half of the leaves remaining to explore to an instance
-   * which is then returned.
+   * which is then returned. As half of the nodes of every level are given away, the loot carries
+   * about half of the {@link #getCurrentWorkEstimate() estimated work}.
    */
   @Override
   public MultiworkerUTS split(boolean takeAll) {
+    return split(takeAll, 0.5);
+  }
+
+  /**
+   * Splits the tree exploration by giving the requested fraction of the leaves remaining on every
+   * level to an instance which is then returned. At least one node is given away and at least one
+   * node is kept on each level that holds two nodes or more.
+   */
+  @Override
+  public MultiworkerUTS split(boolean takeAll, double fraction) {
     int s = 0;
     int t = 0;
     for (int i = 0; i < currentDepth; ++i) {
@@ -386,7 +427,8 @@ public class MultiworkerUTS implements Bag<MultiworkerUTS, LongSum>, Serializabl
           System.arraycopy(hash, i * 20, split.hash, split.currentDepth * 20, 20);
           split.depth[split.currentDepth] = depth[i];
           split.upper[split.currentDepth] = upper[i];
-          split.lower[split.currentDepth++] = upper[i] -= p / 2;
+          final int given = Math.min(p - 1, Math.max(1, (int) (p * fraction)));
+          split.lower[split.currentDepth++] = upper[i] -= given;
         }
       }
     }
@@ -62,18 +62,24 @@ public class StartMultiworkerUTS {
     final int repetitions =
         GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_BENCHMARKREPETITIONS.get();
 
+    GLBcomputer<LongSum, MultiworkerUTS> glb = null;
     for (int i = 0; i < repetitions; i++) {
 
       final MultiworkerUTS multiworkerUTS = new MultiworkerUTS(qSize);
       multiworkerUTS.seed(seed, depth);
 
-      final GLBcomputer<LongSum, MultiworkerUTS> glb =
-          new GLBFactory<LongSum, MultiworkerUTS>().setupGLB(places());
+      glb = new GLBFactory<LongSum, MultiworkerUTS>().setupGLB(glb, places());
 
       final int _qSize = qSize;
-      final LongSum sum =
-          glb.computeDynamic(
-              multiworkerUTS, () -> new LongSum(0), () -> new MultiworkerUTS(_qSize));
+      final LongSum sum;
+      if (cmd.hasOption("resume") && i == 0) {
+        // Resumes a computation interrupted after some checkpoints were taken
+        sum = glb.resumeFromCheckpoint(() -> new LongSum(0), () -> new MultiworkerUTS(_qSize));
+      } else {
+        sum =
+            glb.computeDynamic(
+                multiworkerUTS, () -> new LongSum(0), () -> new MultiworkerUTS(_qSize));
+      }
 
       System.out.println(
           "Run "
@@ -104,6 +110,7 @@ public class StartMultiworkerUTS {
     options.addOption("s", true, "Seed (0 <= r < 2^31)");
     options.addOption("d", true, "Tree depth");
     options.addOption("q", true, "Queue Size");
+    options.addOption("resume", false, "Resume the first run from the last checkpoint");
 
     final CommandLineParser parser = new DefaultParser();
     CommandLine cmd = null;
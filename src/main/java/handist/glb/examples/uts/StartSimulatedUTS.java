@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.examples.uts;
+
+import handist.glb.examples.util.ExampleHelper;
+import handist.glb.examples.util.LongSum;
+import handist.glb.multiworker.GLBMultiWorkerConfiguration;
+import handist.glb.multiworker.lifeline.LifelineStrategy;
+import handist.glb.multiworker.simulation.GLBSimulator;
+import handist.glb.multiworker.simulation.HostNetworkModel;
+import handist.glb.multiworker.simulation.LinearNetworkModel;
+import handist.glb.multiworker.simulation.NetworkModel;
+import handist.glb.multiworker.simulation.SimulationReport;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Runs the UTS benchmark on the {@link GLBSimulator}, with all the places simulated in the current
+ * JVM. The APGAS runtime is not started. The lifeline strategy, the chunk size and the number of
+ * random steals are taken from the usual {@link GLBMultiWorkerConfiguration} properties.
+ *
+ * <p>When the simulated places are spread over hosts ({@link
+ * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_PLACESPERHOST} greater than 1), the messages
+ * exchanged within a host use the intra-host latency given with option {@code -il}. Running the
+ * same configuration with {@link handist.glb.multiworker.lifeline.KasselHypercubeStrategy} and
+ * {@link handist.glb.multiworker.lifeline.TopologyAwareStrategy} compares the lifeline steal
+ * latency of both strategies.
+ */
+public class StartSimulatedUTS {
+
+  static final double BANDWIDTH_DEFAULT = 1000;
+  static final long LATENCY_DEFAULT = 5000;
+  static final long INTRA_HOST_LATENCY_DEFAULT = 500;
+  static final int PLACES_DEFAULT = 64;
+  static final long TASK_DURATION_DEFAULT = 1000;
+  static final long SIMULATION_SEED_DEFAULT = 42;
+
+  public static void main(String[] args) throws Exception {
+    ExampleHelper.printStartMessage(StartSimulatedUTS.class.getName());
+    GLBMultiWorkerConfiguration.printAllConfigs();
+    final CommandLine cmd = parseArguments(args);
+
+    final int branching =
+        Integer.parseInt(
+            cmd.getOptionValue("b", String.valueOf(StartMultiworkerUTS.BRANCHING_DEFAULT)));
+    final int seed =
+        Integer.parseInt(cmd.getOptionValue("s", String.valueOf(StartMultiworkerUTS.SEED_DEFAULT)));
+    final int depth =
+        Integer.parseInt(
+            cmd.getOptionValue("d", String.valueOf(StartMultiworkerUTS.DEPTH_DEFAULT)));
+    final int qSize =
+        Integer.parseInt(
+            cmd.getOptionValue("q", String.valueOf(StartMultiworkerUTS.QSIZE_DEFAULT)));
+    final int places = Integer.parseInt(cmd.getOptionValue("p", String.valueOf(PLACES_DEFAULT)));
+    final int workers =
+        Integer.parseInt(
+            cmd.getOptionValue(
+                "w",
+                String.valueOf(
+                    GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_WORKERPERPLACE.get())));
+    final long latency = Long.parseLong(cmd.getOptionValue("l", String.valueOf(LATENCY_DEFAULT)));
+    final double bandwidth =
+        Double.parseDouble(cmd.getOptionValue("bw", String.valueOf(BANDWIDTH_DEFAULT)));
+    final long intraHostLatency =
+        Long.parseLong(cmd.getOptionValue("il", String.valueOf(INTRA_HOST_LATENCY_DEFAULT)));
+    final int placesPerHost = GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_PLACESPERHOST.get();
+    final long taskDuration =
+        Long.parseLong(cmd.getOptionValue("t", String.valueOf(TASK_DURATION_DEFAULT)));
+    final long simulationSeed =
+        Long.parseLong(cmd.getOptionValue("r", String.valueOf(SIMULATION_SEED_DEFAULT)));
+
+    System.out.println(
+        "Simulated UTS config:\n"
+            + "  branching="
+            + branching
+            + "\n"
+            + "  seed="
+            + seed
+            + "\n"
+            + "  depth="
+            + depth
+            + "\n"
+            + "  qSize="
+            + qSize
+            + "\n"
+            + "  places="
+            + places
+            + "\n"
+            + "  workers="
+            + workers
+            + "\n"
+            + "  latency(ns)="
+            + latency
+            + "\n"
+            + "  bandwidth(MB/s)="
+            + bandwidth
+            + "\n"
+            + "  placesPerHost="
+            + placesPerHost
+            + "\n"
+            + "  intraHostLatency(ns)="
+            + intraHostLatency
+            + "\n"
+            + "  taskDuration(ns)="
+            + taskDuration
+            + "\n"
+            + "  simulationSeed="
+            + simulationSeed
+            + "\n");
+
+    final LifelineStrategy strategy =
+        (LifelineStrategy)
+            Class.forName(GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_LIFELINESTRATEGY.get())
+                .getDeclaredConstructor()
+                .newInstance();
+
+    final NetworkModel interHost = new LinearNetworkModel(latency, bandwidth * 1e6);
+    final NetworkModel network =
+        placesPerHost > 1
+            ? new HostNetworkModel(
+                placesPerHost, new LinearNetworkModel(intraHostLatency, bandwidth * 1e6), interHost)
+            : interHost;
+
+    final int repetitions =
+        GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_BENCHMARKREPETITIONS.get();
+
+    for (int i = 0; i < repetitions; i++) {
+      final MultiworkerUTS multiworkerUTS = new MultiworkerUTS(qSize);
+      multiworkerUTS.seed(seed, depth);
+
+      final GLBSimulator<LongSum, MultiworkerUTS> simulator =
+          new GLBSimulator<>(
+              places,
+              workers,
+              strategy,
+              network,
+              taskDuration,
+              simulationSeed);
+
+      final long start = System.nanoTime();
+      final SimulationReport<LongSum> report =
+          simulator.simulate(
+              multiworkerUTS, () -> new LongSum(0), () -> new MultiworkerUTS(qSize));
+      final long elapsed = System.nanoTime() - start;
+
+      System.out.println(
+          "Run "
+              + (i + 1)
+              + "/"
+              + repetitions
+              + "; "
+              + report.result.sum
+              + "; "
+              + report.makespan / 1e9
+              + "; ");
+      System.out.println("Simulation wall-clock time: " + elapsed / 1e9 + " seconds");
+
+      report.printAll(System.out);
+      System.out.println();
+      System.out.println("#############################################################");
+      UTSResults.proveCorrectness(depth, seed, branching, report.result.sum);
+      System.out.println("#############################################################");
+      System.out.println();
+    }
+  }
+
+  private static CommandLine parseArguments(String[] args) {
+    final Options options = new Options();
+    options.addOption("b", true, "Branching factor");
+    options.addOption("s", true, "Seed (0 <= r < 2^31)");
+    options.addOption("d", true, "Tree depth");
+    options.addOption("q", true, "Queue Size");
+    options.addOption("p", true, "Number of simulated places");
+    options.addOption("w", true, "Number of workers per simulated place");
+    options.addOption("l", true, "Message latency in nanoseconds");
+    options.addOption("il", true, "Latency of the messages within a host in nanoseconds");
+    options.addOption("bw", true, "Bandwidth between places in MB/s");
+    options.addOption("t", true, "Virtual duration of a task in nanoseconds");
+    options.addOption("r", true, "Seed of the random victim selection");
+
+    final CommandLineParser parser = new DefaultParser();
+    CommandLine cmd = null;
+    try {
+      cmd = parser.parse(options, args);
+    } catch (final ParseException e) {
+      e.printStackTrace();
+    }
+    return cmd;
+  }
+}
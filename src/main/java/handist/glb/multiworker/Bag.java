@@ -76,6 +76,25 @@ public interface Bag<B extends Bag<B, R> & Serializable, R extends Fold<R> & Ser
    */
   long getCurrentTaskCount();
 
+  /**
+   * Returns an estimate of the amount of work held by this bag, expressed in task-equivalents, i.e.
+   * in number of tasks of average cost which are still to be processed, including the tasks that
+   * the current tasks will spawn if this can be anticipated.
+   *
+   * <p>Tasks of a computation can have very different costs. A node close to the root of a tree
+   * exploration holds a whole subtree whereas a leaf is processed at once. Implementations that
+   * have some knowledge of the cost of their tasks should override this method so that the load
+   * reported by {@link GetTaskLoad} reflects the actual work held by a place, and use the same
+   * estimate in {@link #split(boolean)} to give away a fraction of their work rather than a fraction
+   * of their tasks. By default, all tasks are considered to have the same cost and the value
+   * returned by {@link #getCurrentTaskCount()} is used.
+   *
+   * @return estimated work remaining in this bag, in task-equivalents
+   */
+  default double getCurrentWorkEstimate() {
+    return getCurrentTaskCount();
+  }
+
   /**
    * Returns for the result produced by this fragment of the computation
    *
@@ -116,6 +135,20 @@ public interface Bag<B extends Bag<B, R> & Serializable, R extends Fold<R> & Ser
    */
   void merge(B b);
 
+  /**
+   * Indicates if this bag wants the whole computation to stop, for instance because it found the
+   * solution that was searched for. The {@link GLBcomputer} checks this method after each call to
+   * {@link #process(int, Fold, SharedBound)} and cancels the computation on all places when it
+   * returns {@code true}, applying the {@link CancellationPolicy} configured with {@link
+   * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_CANCELPOLICY}. By default, returns {@code
+   * false}.
+   *
+   * @return {@code true} if the computation should be cancelled, {@code false} otherwise
+   */
+  default boolean isCancellationRequested() {
+    return false;
+  }
+
   /**
    * Performs a certain amount of the computation as indicated by the first parameter. If there is
    * less computation in the {@link Bag} then the requested amount of work, should complete all the
@@ -133,6 +166,25 @@ public interface Bag<B extends Bag<B, R> & Serializable, R extends Fold<R> & Ser
    */
   int process(int workAmount, R sharedObject);
 
+  /**
+   * Performs a certain amount of the computation, with access to the incumbent bound shared by all
+   * the places of the computation. This is the method called by the {@link GLBcomputer}.
+   *
+   * <p>Branch-and-bound computations should override this method to prune their search space
+   * with {@link SharedBound#isBetter(double)} and report the solutions they find with {@link
+   * SharedBound#offer(double)}. The bound instance is local to the place and should not be kept in
+   * a field of the bag as bags are relocated to other places. By default, the bound is ignored and
+   * {@link #process(int, Fold)} is called.
+   *
+   * @param workAmount the amount of computation to be done
+   * @param sharedObject instance shared between workers of one place
+   * @param bound incumbent bound shared between all the places of the computation
+   * @return the number of processed tasks
+   */
+  default int process(int workAmount, R sharedObject, SharedBound bound) {
+    return process(workAmount, sharedObject);
+  }
+
   /**
    * Takes a chunk of computation from this bag and returns it in a new instance. The computation
    * fragment this method returns will be computed by a different thread, possibly on a different
@@ -150,6 +202,41 @@ public interface Bag<B extends Bag<B, R> & Serializable, R extends Fold<R> & Ser
    */
   B split(boolean takeAll);
 
+  /**
+   * Takes the requested fraction of the work held by this bag and returns it in a new instance. The
+   * fraction is expressed relative to {@link #getCurrentWorkEstimate()}, it is a hint that
+   * implementations should follow as closely as the granularity of their tasks allows.
+   *
+   * <p>The {@link GLBcomputer} calls this method with a different, configurable fraction depending
+   * on whether the loot is meant for a new local worker, for the intra-place queue, for the
+   * inter-place queue or for a remote thief whose lifeline is being answered. The same rules as
+   * for {@link #split(boolean)} apply when this instance cannot be split or is empty. By default,
+   * the fraction is ignored and {@link #split(boolean)} is called.
+   *
+   * @param takeAll indicates if the caller wants the whole content of this instance in the event it
+   *     cannot be split
+   * @param fraction fraction of the work of this bag to give away, in the interval (0, 1]
+   * @return a fragment of the computation held in this bag in a new instance
+   */
+  default B split(boolean takeAll, double fraction) {
+    return split(takeAll);
+  }
+
+  /**
+   * Empties this bag of its tasks and of its result so that the instance can be used again for a
+   * new computation, as if it had just been created by the supplier given to the {@link
+   * GLBcomputer}. Used in session mode (see {@link
+   * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_SESSION}) to avoid allocating the bags of
+   * every place again for each computation. By default, returns {@code false} and a new instance is
+   * obtained from the supplier instead.
+   *
+   * @return {@code true} if this instance was reset and can be reused, {@code false} if it does not
+   *     support being reset
+   */
+  default boolean reset() {
+    return false;
+  }
+
   /**
    * Asks for the result produced by this fragment of the computation to be placed in the given
    * result R instance.
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Log of the load balancing decisions taken by a place, used to record a computation and to replay
+ * the same decisions in a later computation.
+ *
+ * <p>In record mode, every decision is appended to an in-memory log which is written to file {@code
+ * glb-balancing-<place>.bin} at the end of the computation. Each event is made of its type, the
+ * time elapsed since the previous event in microseconds, the place or worker concerned and the
+ * number of tasks involved, all but the type being written as variable-length integers. The events
+ * are:
+ *
+ * <ul>
+ *   <li>{@link #VICTIM}: the victim chosen for a random steal
+ *   <li>{@link #STEAL_ANSWER}: the number of tasks given to a thief, 0 if it was refused
+ *   <li>{@link #LIFELINE_ANSWER}: the lifeline thief answered by the lifeline answer thread and the
+ *       number of tasks it received
+ *   <li>{@link #SPAWN}, {@link #FEED_INTRA}, {@link #FEED_INTER}: the worker that split its bag to
+ *       spawn a new worker or to feed the intra-place or inter-place queue, and the number of tasks
+ *       split off
+ * </ul>
+ *
+ * <p>In replay mode, the log written by a previous computation on the same place is read back and
+ * the victims, the answers to each thief and the order in which lifelines are answered are taken
+ * from it. The number of tasks handed out is enforced by splitting the corresponding fraction of
+ * the inter-place queue, which requires a {@link Bag} implementing {@link Bag#split(boolean,
+ * double)}. The splits of the workers are not enforced as they depend on the scheduling of the
+ * worker threads. Decisions that could not be followed are counted as divergences.
+ *
+ * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_BALANCING_MODE
+ */
+final class BalancingRecorder {
+
+  /** Event: victim of a random steal */
+  static final byte VICTIM = 0;
+
+  /** Event: answer to a steal request received by this place */
+  static final byte STEAL_ANSWER = 1;
+
+  /** Event: answer to a lifeline given by the lifeline answer thread */
+  static final byte LIFELINE_ANSWER = 2;
+
+  /** Event: split of the bag of a worker to spawn a new worker */
+  static final byte SPAWN = 3;
+
+  /** Event: split of the bag of a worker to feed the intra-place queue */
+  static final byte FEED_INTRA = 4;
+
+  /** Event: split of the bag of a worker to feed the inter-place queue */
+  static final byte FEED_INTER = 5;
+
+  /** Value returned when the log holds no decision for the situation at hand */
+  static final long NO_DECISION = -1;
+
+  /** Marker at the start of the files */
+  private static final int MAGIC = 0x474c4242;
+
+  /** Log being recorded, {@code null} in replay mode */
+  private final ByteArrayOutputStream bytes;
+
+  private final DataOutputStream out;
+
+  /** Number of decisions that could not be replayed */
+  private long divergences;
+
+  /** Number of events recorded or replayed */
+  private long events;
+
+  /** File of the log */
+  private final Path file;
+
+  /** Time of the last event recorded */
+  private long lastEvent = System.nanoTime();
+
+  /** Replayed lifeline answers: thief and number of tasks */
+  private final ArrayDeque<long[]> lifelineAnswers = new ArrayDeque<>();
+
+  /** Replayed answers to steal requests, for each thief */
+  private final Map<Integer, ArrayDeque<Long>> stealAnswers = new HashMap<>();
+
+  /** Replayed victims of random steals */
+  private final ArrayDeque<Integer> victims = new ArrayDeque<>();
+
+  /**
+   * Constructor
+   *
+   * @param directory directory in which the log is kept
+   * @param placeId id of the place whose decisions are recorded
+   * @param replay {@code true} to replay the log previously recorded, {@code false} to record a new
+   *     one
+   * @throws IOException if the log to replay cannot be read
+   */
+  BalancingRecorder(String directory, int placeId, boolean replay) throws IOException {
+    file = Paths.get(directory, "glb-balancing-" + placeId + ".bin");
+    if (replay) {
+      bytes = null;
+      out = null;
+      load(Files.readAllBytes(file));
+    } else {
+      bytes = new ByteArrayOutputStream();
+      out = new DataOutputStream(bytes);
+      out.writeInt(MAGIC);
+    }
+  }
+
+  /**
+   * Records the answer given to a thief and compares it with the replayed answer
+   *
+   * @param thief the thief, encoded as in {@link GLBcomputer#steal(int, apgas.util.GlobalRef)}
+   * @param planned the replayed number of tasks, {@link #NO_DECISION} if none
+   * @param tasks number of tasks actually given to the thief, 0 if it was refused
+   */
+  synchronized void answered(int thief, long planned, long tasks) {
+    if (out != null) {
+      record(STEAL_ANSWER, thief, tasks);
+    } else if (planned != tasks) {
+      divergences++;
+    }
+  }
+
+  /**
+   * Number of decisions of the replayed log that could not be followed, including those left unused
+   * at the end of the computation
+   *
+   * @return number of divergences from the replayed log
+   */
+  synchronized long divergences() {
+    long unused = victims.size() + lifelineAnswers.size();
+    for (final ArrayDeque<Long> answers : stealAnswers.values()) {
+      unused += answers.size();
+    }
+    return divergences + unused;
+  }
+
+  /**
+   * Number of events recorded, or replayed in replay mode
+   *
+   * @return number of events
+   */
+  synchronized long events() {
+    return events;
+  }
+
+  /**
+   * Records the answer to a lifeline given by the lifeline answer thread and compares it with the
+   * replayed answer
+   *
+   * @param planned the replayed answer obtained with {@link #nextLifelineAnswer()}, {@code null} if
+   *     none
+   * @param thief the lifeline thief actually answered
+   * @param tasks number of tasks given to the thief
+   */
+  synchronized void lifelineAnswered(long[] planned, int thief, long tasks) {
+    if (out != null) {
+      record(LIFELINE_ANSWER, thief, tasks);
+    } else if (planned == null || planned[0] != thief || planned[1] != tasks) {
+      divergences++;
+    }
+  }
+
+  private void load(byte[] data) throws IOException {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException(file + " is not a balancing log");
+      }
+      for (; ; ) {
+        final int type = in.read();
+        if (type < 0) {
+          break;
+        }
+        readVarLong(in); // Time since previous event, only of interest to analyse the log
+        final int who = (int) readVarLong(in);
+        final long tasks = readVarLong(in);
+        switch (type) {
+          case VICTIM:
+            victims.add(who);
+            break;
+          case STEAL_ANSWER:
+            stealAnswers.computeIfAbsent(who, k -> new ArrayDeque<>()).add(tasks);
+            break;
+          case LIFELINE_ANSWER:
+            lifelineAnswers.add(new long[] {who, tasks});
+            break;
+          default:
+            // Splits of the workers are not replayed
+        }
+      }
+    }
+  }
+
+  /**
+   * Takes the next lifeline answer of the replayed log
+   *
+   * @return the lifeline thief and the number of tasks it is to receive, or {@code null} if there
+   *     is none
+   */
+  synchronized long[] nextLifelineAnswer() {
+    final long[] answer = lifelineAnswers.poll();
+    if (answer != null) {
+      events++;
+    }
+    return answer;
+  }
+
+  /**
+   * Takes the next answer of the replayed log to the given thief
+   *
+   * @param thief the thief, encoded as in {@link GLBcomputer#steal(int, apgas.util.GlobalRef)}
+   * @return the number of tasks to give to the thief, 0 to refuse it, or {@link #NO_DECISION}
+   */
+  synchronized long plannedAnswer(int thief) {
+    final ArrayDeque<Long> answers = stealAnswers.get(thief);
+    final Long answer = answers == null ? null : answers.poll();
+    if (answer == null) {
+      return NO_DECISION;
+    }
+    events++;
+    return answer;
+  }
+
+  private static long readVarLong(DataInputStream in) throws IOException {
+    long zigzag = 0;
+    int shift = 0;
+    int b;
+    do {
+      b = in.read();
+      if (b < 0) {
+        throw new EOFException("Truncated balancing log");
+      }
+      zigzag |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return (zigzag >>> 1) ^ -(zigzag & 1);
+  }
+
+  /**
+   * Appends an event to the log being recorded. Does nothing in replay mode.
+   *
+   * @param type type of the event
+   * @param who place or worker concerned
+   * @param tasks number of tasks involved
+   */
+  synchronized void record(byte type, int who, long tasks) {
+    if (out == null) {
+      return;
+    }
+    final long now = System.nanoTime();
+    try {
+      out.writeByte(type);
+      writeVarLong((now - lastEvent) / 1000);
+      writeVarLong(who);
+      writeVarLong(tasks);
+    } catch (final IOException e) {
+      // Cannot happen, the log is kept in memory
+      e.printStackTrace();
+    }
+    lastEvent = now;
+    events++;
+  }
+
+  /**
+   * Writes the log recorded to its file. Does nothing in replay mode.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  synchronized void save() throws IOException {
+    if (out != null) {
+      out.flush();
+      Files.write(file, bytes.toByteArray());
+    }
+  }
+
+  /**
+   * Chooses the victim of a random steal. In record mode, the victim chosen at random is recorded
+   * and returned. In replay mode, the victim recorded is returned if it is still valid.
+   *
+   * @param chosen the victim chosen at random
+   * @param valid test of the validity of a victim
+   * @return the victim to steal from
+   */
+  synchronized int victim(int chosen, IntPredicate valid) {
+    if (out != null) {
+      record(VICTIM, chosen, 0);
+      return chosen;
+    }
+    final Integer planned = victims.poll();
+    if (planned == null || !valid.test(planned)) {
+      divergences++;
+      return chosen;
+    }
+    events++;
+    return planned;
+  }
+
+  private void writeVarLong(long value) throws IOException {
+    long zigzag = (value << 1) ^ (value >> 63);
+    while ((zigzag & ~0x7FL) != 0) {
+      out.writeByte((int) (zigzag & 0x7F) | 0x80);
+      zigzag >>>= 7;
+    }
+    out.writeByte((int) zigzag);
+  }
+}
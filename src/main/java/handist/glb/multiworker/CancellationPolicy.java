@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker;
+
+/**
+ * Indicates what happens to the work that remains in the bags of the places when a computation is
+ * cancelled with {@link GLBcomputer#cancel(CancellationPolicy)}. In both cases, the result returned
+ * by the computation contains the contribution of all the tasks processed before the workers
+ * stopped.
+ */
+public enum CancellationPolicy {
+  /**
+   * The remaining work is dropped. It stays in the bags of each place until the next computation
+   * resets them.
+   */
+  DISCARD,
+
+  /**
+   * The remaining work is gathered into a single bag on place 0 after the result has been
+   * collected. It can be obtained with {@link GLBcomputer#getRemainingWork()} and given to a new
+   * computation to resume it.
+   */
+  KEEP
+}
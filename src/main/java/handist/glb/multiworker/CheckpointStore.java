@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker;
+
+import apgas.util.ConsolePrinter;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Local storage of the checkpoints of a place in memory-mapped files.
+ *
+ * <p>Two files are used alternately, checkpoint {@code e} being written to slot {@code e % 2}. The
+ * previous checkpoint therefore remains intact while the next one is being written. Each file
+ * starts with a header holding a marker, the epoch of the checkpoint and the length of its data.
+ * The marker is cleared before the data is written and set again once the data has been forced to
+ * the storage device, so that a checkpoint interrupted half-way is never read back.
+ */
+final class CheckpointStore {
+
+  /** Printing Helper */
+  private static final ConsolePrinter console = ConsolePrinter.getInstance();
+
+  /** Size in bytes of the header: marker, epoch and length of the data */
+  private static final int HEADER = Long.BYTES * 2 + Integer.BYTES;
+
+  /** Marker of a complete checkpoint */
+  private static final long MARKER = 0x474c42434b50544cL;
+
+  /** Files of the two slots */
+  private final Path[] slots;
+
+  /**
+   * Constructor
+   *
+   * @param directory directory in which the files are kept
+   * @param placeId id of the place whose checkpoints are stored
+   */
+  CheckpointStore(String directory, int placeId) {
+    slots = new Path[2];
+    for (int i = 0; i < slots.length; i++) {
+      slots[i] = Paths.get(directory, "glb-checkpoint-" + placeId + "-" + i + ".bin");
+    }
+  }
+
+  /** Deletes the checkpoints of this place */
+  void clear() {
+    for (final Path p : slots) {
+      try {
+        Files.deleteIfExists(p);
+      } catch (final IOException e) {
+        console.println("Could not delete checkpoint " + p);
+        e.printStackTrace(System.out);
+      }
+    }
+  }
+
+  /**
+   * Gives the epochs of the complete checkpoints held by this place
+   *
+   * @return array of length 2 containing the epoch held by each slot, or -1 if the slot does not
+   *     hold a complete checkpoint
+   */
+  long[] epochs() {
+    final long[] epochs = new long[slots.length];
+    for (int i = 0; i < slots.length; i++) {
+      epochs[i] = -1;
+      if (!Files.exists(slots[i])) {
+        continue;
+      }
+      try (FileChannel channel = FileChannel.open(slots[i], StandardOpenOption.READ)) {
+        if (channel.size() < HEADER) {
+          continue;
+        }
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+        if (buffer.getLong(0) == MARKER) {
+          epochs[i] = buffer.getLong(Long.BYTES);
+        }
+      } catch (final IOException e) {
+        console.println("Could not read the epoch of checkpoint " + slots[i]);
+        e.printStackTrace(System.out);
+      }
+    }
+    return epochs;
+  }
+
+  /**
+   * Reads back the data of a checkpoint
+   *
+   * @param epoch the epoch of the checkpoint
+   * @return the data of the checkpoint
+   * @throws IOException if the checkpoint cannot be read or is not complete
+   */
+  byte[] read(long epoch) throws IOException {
+    final Path file = slots[(int) (epoch % 2)];
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getLong(0) != MARKER || buffer.getLong(Long.BYTES) != epoch) {
+        throw new IOException("No complete checkpoint of epoch " + epoch + " in " + file);
+      }
+      final byte[] data = new byte[buffer.getInt(Long.BYTES * 2)];
+      buffer.position(HEADER);
+      buffer.get(data);
+      return data;
+    }
+  }
+
+  /**
+   * Writes a checkpoint
+   *
+   * @param epoch the epoch of the checkpoint
+   * @param data the data of the checkpoint
+   * @throws IOException if the checkpoint cannot be written
+   */
+  void write(long epoch, byte[] data) throws IOException {
+    final Path file = slots[(int) (epoch % 2)];
+    try (FileChannel channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      final MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + data.length);
+      buffer.putLong(0, 0L);
+      buffer.force();
+      buffer.position(HEADER);
+      buffer.put(data);
+      buffer.putLong(Long.BYTES, epoch);
+      buffer.putInt(Long.BYTES * 2, data.length);
+      buffer.force();
+      buffer.putLong(0, MARKER);
+      buffer.force();
+    }
+  }
+}
@@ -31,4 +31,22 @@ public final class GLBFactory<
 
     return PlaceLocalObject.make(listPlaces, GLBcomputer::new);
   }
+
+  /**
+   * Gives the computation service to use for the next computation of a program that runs several
+   * computations in a row. In session mode (see {@link
+   * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_SESSION}), the previous instance is returned
+   * so that its bags and queues are reused. Otherwise, a new instance is set up.
+   *
+   * @param previous the instance used by the previous computation, or {@code null} if there was
+   *     none
+   * @param listPlaces places on which a new instance is set up
+   * @return the computation service to use
+   */
+  public GLBcomputer<R, B> setupGLB(GLBcomputer<R, B> previous, List<? extends Place> listPlaces) {
+    if (previous != null && GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SESSION.get()) {
+      return previous;
+    }
+    return setupGLB(listPlaces);
+  }
 }
@@ -14,7 +14,9 @@ package handist.glb.multiworker;
 import apgas.Configuration;
 import apgas.Constructs;
 import apgas.Place;
+import handist.glb.multiworker.lifeline.AdaptiveHypercubeStrategy;
 import handist.glb.multiworker.lifeline.KasselHypercubeStrategy;
+import handist.glb.multiworker.lifeline.TopologyAwareStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,14 +29,80 @@ import java.util.List;
  */
 public final class GLBMultiWorkerConfiguration<T> {
 
+  public static final String GLB_MULTIWORKER_ADAPTIVE_LATENCY_PROPERTY =
+      "glb.multiworker.adaptive.latency";
+
+  public static final String GLB_MULTIWORKER_BALANCING_DIR_PROPERTY =
+      "glb.multiworker.balancing.dir";
+
+  public static final String GLB_MULTIWORKER_BALANCING_MODE_PROPERTY =
+      "glb.multiworker.balancing.mode";
+
   public static final String GLB_MULTIWORKER_BENCHMARKREPETITIONS_PROPERTY =
       "glb.multiworker.benchmarkrepetitions";
 
+  public static final String GLB_MULTIWORKER_CANCELPOLICY_PROPERTY =
+      "glb.multiworker.cancelpolicy";
+
+  public static final String GLB_MULTIWORKER_CHECKPOINT_DIR_PROPERTY =
+      "glb.multiworker.checkpoint.dir";
+
+  public static final String GLB_MULTIWORKER_CHECKPOINT_INTERVAL_PROPERTY =
+      "glb.multiworker.checkpoint.interval";
+
+  public static final String GLB_MULTIWORKER_GROW_WARMUP_ROUNDS_PROPERTY =
+      "glb.multiworker.grow.warmup.rounds";
+
+  public static final String GLB_MULTIWORKER_GROW_WARMUP_TOLERANCE_PROPERTY =
+      "glb.multiworker.grow.warmup.tolerance";
+
   public static final String GLB_MULTIWORKER_LIFELINESTRATEGY_PROPERTY =
       "glb.multiworker.lifelinestrategy";
 
+  public static final String GLB_MULTIWORKER_LOAD_ALPHA_PROPERTY = "glb.multiworker.load.alpha";
+
+  public static final String GLB_MULTIWORKER_LOAD_HYSTERESIS_PROPERTY =
+      "glb.multiworker.load.hysteresis";
+
+  public static final String GLB_MULTIWORKER_LOAD_LOG_PROPERTY = "glb.multiworker.load.log";
+
+  public static final String GLB_MULTIWORKER_LOAD_POLICY_PROPERTY = "glb.multiworker.load.policy";
+
+  public static final String GLB_MULTIWORKER_PLACESPERHOST_PROPERTY =
+      "glb.multiworker.placesperhost";
+
+  public static final String GLB_MULTIWORKER_MULTIJOB_PROPERTY = "glb.multiworker.multijob";
+
+  public static final String GLB_MULTIWORKER_MULTIJOB_POLICY_PROPERTY =
+      "glb.multiworker.multijob.policy";
+
   public static final String GLB_MULTIWORKER_N_PROPERTY = "glb.multiworker.n";
 
+  public static final String GLB_MULTIWORKER_SESSION_PROPERTY = "glb.multiworker.session";
+
+  public static final String GLB_MULTIWORKER_SHRINK_POLICY_PROPERTY =
+      "glb.multiworker.shrink.policy";
+
+  public static final String GLB_MULTIWORKER_SHRINK_SURVIVORS_PROPERTY =
+      "glb.multiworker.shrink.survivors";
+
+  public static final String GLB_MULTIWORKER_SPILL_DIR_PROPERTY = "glb.multiworker.spill.dir";
+
+  public static final String GLB_MULTIWORKER_SPILL_FRACTION_PROPERTY =
+      "glb.multiworker.spill.fraction";
+
+  public static final String GLB_MULTIWORKER_SPILL_THRESHOLD_PROPERTY =
+      "glb.multiworker.spill.threshold";
+
+  public static final String GLB_MULTIWORKER_SPLIT_INTER_PROPERTY = "glb.multiworker.split.inter";
+
+  public static final String GLB_MULTIWORKER_SPLIT_INTRA_PROPERTY = "glb.multiworker.split.intra";
+
+  public static final String GLB_MULTIWORKER_SPLIT_LIFELINE_PROPERTY =
+      "glb.multiworker.split.lifeline";
+
+  public static final String GLB_MULTIWORKER_SPLIT_SPAWN_PROPERTY = "glb.multiworker.split.spawn";
+
   public static final String GLB_MULTIWORKER_W_PROPERTY = "glb.multiworker.w";
 
   public static final String GLB_MULTIWORKER_WORKERPERPLACE_PROPERTY =
@@ -50,20 +118,210 @@ public final class GLBMultiWorkerConfiguration<T> {
   public static final GLBMultiWorkerConfiguration<Integer> GLBOPTION_SYNTH_BRANCH =
       new GLBMultiWorkerConfiguration<>(GLB_SYNTH_BRANCH_PROPERTY, 5000, Integer.class);
 
+  /**
+   * Average latency in microseconds between the establishment of a lifeline and the reception of
+   * loot through it above which {@link AdaptiveHypercubeStrategy} considers places to be starving
+   */
+  public static final GLBMultiWorkerConfiguration<Integer> GLBOPTION_MULTIWORKER_ADAPTIVE_LATENCY =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_ADAPTIVE_LATENCY_PROPERTY, 1000, Integer.class);
+
+  /** Directory in which each place keeps the log of its load balancing decisions */
+  public static final GLBMultiWorkerConfiguration<String> GLBOPTION_MULTIWORKER_BALANCING_DIR =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_BALANCING_DIR_PROPERTY,
+          System.getProperty("java.io.tmpdir"),
+          String.class);
+
+  /**
+   * Record or replay of the load balancing decisions: "off", "record" to log the decisions of each
+   * place, or "replay" to take the decisions logged by a previous computation with the same places
+   * instead.
+   *
+   * @see BalancingRecorder
+   */
+  public static final GLBMultiWorkerConfiguration<String> GLBOPTION_MULTIWORKER_BALANCING_MODE =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_BALANCING_MODE_PROPERTY, "off", String.class);
+
   public static final GLBMultiWorkerConfiguration<Integer>
       GLBOPTION_MULTIWORKER_BENCHMARKREPETITIONS =
           new GLBMultiWorkerConfiguration<>(
               GLB_MULTIWORKER_BENCHMARKREPETITIONS_PROPERTY, 1, Integer.class);
 
+  /** Name of the {@link CancellationPolicy} applied when a computation is cancelled */
+  public static final GLBMultiWorkerConfiguration<String> GLBOPTION_MULTIWORKER_CANCELPOLICY =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_CANCELPOLICY_PROPERTY, CancellationPolicy.DISCARD.name(), String.class);
+
+  /** Directory in which each place keeps the files of its checkpoints */
+  public static final GLBMultiWorkerConfiguration<String> GLBOPTION_MULTIWORKER_CHECKPOINT_DIR =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_CHECKPOINT_DIR_PROPERTY,
+          System.getProperty("java.io.tmpdir"),
+          String.class);
+
+  /**
+   * Interval in milliseconds between two checkpoints of a dynamic computation, 0 to disable
+   * checkpoints. Only read on place 0, which coordinates the checkpoints.
+   *
+   * @see GLBcomputer#resumeFromCheckpoint(SerializableSupplier, SerializableSupplier,
+   *     SerializableSupplier)
+   */
+  public static final GLBMultiWorkerConfiguration<Integer>
+      GLBOPTION_MULTIWORKER_CHECKPOINT_INTERVAL =
+          new GLBMultiWorkerConfiguration<>(
+              GLB_MULTIWORKER_CHECKPOINT_INTERVAL_PROPERTY, 0, Integer.class);
+
+  /**
+   * Maximum number of times a place added by a malleable grow computes the warm-up sample before
+   * joining the computation
+   *
+   * @see GLBcomputer#setGrowWarmup(SerializableSupplier)
+   */
+  public static final GLBMultiWorkerConfiguration<Integer>
+      GLBOPTION_MULTIWORKER_GROW_WARMUP_ROUNDS =
+          new GLBMultiWorkerConfiguration<>(
+              GLB_MULTIWORKER_GROW_WARMUP_ROUNDS_PROPERTY, 10, Integer.class);
+
+  /**
+   * Relative difference between the throughputs of two consecutive warm-up rounds under which a
+   * place added by a malleable grow is considered warm
+   *
+   * @see GLBcomputer#setGrowWarmup(SerializableSupplier)
+   */
+  public static final GLBMultiWorkerConfiguration<Double>
+      GLBOPTION_MULTIWORKER_GROW_WARMUP_TOLERANCE =
+          new GLBMultiWorkerConfiguration<>(
+              GLB_MULTIWORKER_GROW_WARMUP_TOLERANCE_PROPERTY, 0.1, Double.class);
+
   public static final GLBMultiWorkerConfiguration<String> GLBOPTION_MULTIWORKER_LIFELINESTRATEGY =
       new GLBMultiWorkerConfiguration<>(
           GLB_MULTIWORKER_LIFELINESTRATEGY_PROPERTY,
           KasselHypercubeStrategy.class.getCanonicalName(),
           String.class);
 
+  /**
+   * Weight of the latest sample in the exponentially smoothed figures of {@link SmoothedTaskLoad},
+   * between 0 (the latest sample is ignored) and 1 (no smoothing).
+   */
+  public static final GLBMultiWorkerConfiguration<Double> GLBOPTION_MULTIWORKER_LOAD_ALPHA =
+      new GLBMultiWorkerConfiguration<>(GLB_MULTIWORKER_LOAD_ALPHA_PROPERTY, 0.3, Double.class);
+
+  /**
+   * Minimum change, in points of load between 0 and 100, for {@link SmoothedTaskLoad} to report a
+   * new load to the evolving runtime. Smaller changes leave the reported load unchanged.
+   */
+  public static final GLBMultiWorkerConfiguration<Double> GLBOPTION_MULTIWORKER_LOAD_HYSTERESIS =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_LOAD_HYSTERESIS_PROPERTY, 10.0, Double.class);
+
+  /** Prints the inputs of every load estimate, to compare the load policies of evolving runs */
+  public static final GLBMultiWorkerConfiguration<Boolean> GLBOPTION_MULTIWORKER_LOAD_LOG =
+      new GLBMultiWorkerConfiguration<>(GLB_MULTIWORKER_LOAD_LOG_PROPERTY, false, Boolean.class);
+
+  /**
+   * Load measure reported to the evolving runtime when {@code apgas.evolving.mode} is "task",
+   * either "snapshot" ({@link GetTaskLoad}), "smoothed" ({@link SmoothedTaskLoad}) or the name of a
+   * class extending {@link TaskLoadEstimator}.
+   */
+  public static final GLBMultiWorkerConfiguration<String> GLBOPTION_MULTIWORKER_LOAD_POLICY =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_LOAD_POLICY_PROPERTY, "snapshot", String.class);
+
+  /**
+   * Number of consecutive place ids running on the same host, used by {@link
+   * TopologyAwareStrategy} to tell which places share a host. Place {@code p} is assumed to run on
+   * host {@code p / placesPerHost}, which matches the assignment of the launcher when each host of
+   * the host file runs the same number of places.
+   */
+  public static final GLBMultiWorkerConfiguration<Integer> GLBOPTION_MULTIWORKER_PLACESPERHOST =
+      new GLBMultiWorkerConfiguration<>(GLB_MULTIWORKER_PLACESPERHOST_PROPERTY, 1, Integer.class);
+
+  /**
+   * Multi-job mode: the {@link GLBcomputer} instances running concurrently in the same program
+   * share the worker budget of each place ({@link #GLBOPTION_MULTIWORKER_WORKERPERPLACE}) through
+   * {@link WorkerBudget} instead of each assuming it owns the whole place.
+   */
+  public static final GLBMultiWorkerConfiguration<Boolean> GLBOPTION_MULTIWORKER_MULTIJOB =
+      new GLBMultiWorkerConfiguration<>(GLB_MULTIWORKER_MULTIJOB_PROPERTY, false, Boolean.class);
+
+  /**
+   * Policy used to divide the worker budget of a place between jobs in multi-job mode, either
+   * "fair" (equal shares) or "weighted" (shares proportional to {@link
+   * GLBcomputer#setJobWeight(double)}).
+   */
+  public static final GLBMultiWorkerConfiguration<String> GLBOPTION_MULTIWORKER_MULTIJOB_POLICY =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_MULTIJOB_POLICY_PROPERTY, "fair", String.class);
+
   public static final GLBMultiWorkerConfiguration<Integer> GLBOPTION_MULTIWORKER_N =
       new GLBMultiWorkerConfiguration<>(GLB_MULTIWORKER_N_PROPERTY, 511, Integer.class);
 
+  /**
+   * Session mode: a single {@link GLBcomputer} runs many computations back to back. The bags and
+   * queues of each place are emptied in place with {@link Bag#reset()} while the result of a
+   * computation is gathered, instead of being allocated again at the start of the next one. All
+   * computations of a session must use suppliers that produce identically configured bags.
+   */
+  public static final GLBMultiWorkerConfiguration<Boolean> GLBOPTION_MULTIWORKER_SESSION =
+      new GLBMultiWorkerConfiguration<>(GLB_MULTIWORKER_SESSION_PROPERTY, false, Boolean.class);
+
+  /**
+   * Choice of the places released when the scheduler asks for a number of places to be removed,
+   * either "load" (the places holding the least pending work) or "highest" (the places at the end
+   * of the list of places). Does not apply when the scheduler designates the places to remove.
+   *
+   * @see GLBcomputer#preShrink(int)
+   */
+  public static final GLBMultiWorkerConfiguration<String> GLBOPTION_MULTIWORKER_SHRINK_POLICY =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_SHRINK_POLICY_PROPERTY, "load", String.class);
+
+  /**
+   * Maximum number of remaining places among which the work of a place released by a shrink is
+   * divided. The places are taken among the lifelines and reverse lifelines of the released place.
+   */
+  public static final GLBMultiWorkerConfiguration<Integer> GLBOPTION_MULTIWORKER_SHRINK_SURVIVORS =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_SHRINK_SURVIVORS_PROPERTY, 4, Integer.class);
+
+  /** Directory in which each place keeps the work it spills to disk */
+  public static final GLBMultiWorkerConfiguration<String> GLBOPTION_MULTIWORKER_SPILL_DIR =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_SPILL_DIR_PROPERTY, System.getProperty("java.io.tmpdir"), String.class);
+
+  /** Fraction of the bag of a worker that is spilled when the heap usage is above the threshold */
+  public static final GLBMultiWorkerConfiguration<Double> GLBOPTION_MULTIWORKER_SPILL_FRACTION =
+      new GLBMultiWorkerConfiguration<>(GLB_MULTIWORKER_SPILL_FRACTION_PROPERTY, 0.5, Double.class);
+
+  /**
+   * Fraction of the maximum heap size above which a place moves cold work to disk, 0 to disable
+   * spilling. The content of the inter-place queue is spilled first, then the bottom of the bags of
+   * the workers. Spilled work is paged back in when the workers or the thieves run out of work.
+   */
+  public static final GLBMultiWorkerConfiguration<Double> GLBOPTION_MULTIWORKER_SPILL_THRESHOLD =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_SPILL_THRESHOLD_PROPERTY, 0.0, Double.class);
+
+  /*
+   * Fractions of the work of a bag handed over on each load balancing path, passed to
+   * Bag#split(boolean, double). The default value 0 leaves the decision to the bag by calling
+   * Bag#split(boolean) instead.
+   */
+  public static final GLBMultiWorkerConfiguration<Double> GLBOPTION_MULTIWORKER_SPLIT_INTER =
+      new GLBMultiWorkerConfiguration<>(GLB_MULTIWORKER_SPLIT_INTER_PROPERTY, 0.0, Double.class);
+
+  public static final GLBMultiWorkerConfiguration<Double> GLBOPTION_MULTIWORKER_SPLIT_INTRA =
+      new GLBMultiWorkerConfiguration<>(GLB_MULTIWORKER_SPLIT_INTRA_PROPERTY, 0.0, Double.class);
+
+  public static final GLBMultiWorkerConfiguration<Double> GLBOPTION_MULTIWORKER_SPLIT_LIFELINE =
+      new GLBMultiWorkerConfiguration<>(
+          GLB_MULTIWORKER_SPLIT_LIFELINE_PROPERTY, 0.0, Double.class);
+
+  public static final GLBMultiWorkerConfiguration<Double> GLBOPTION_MULTIWORKER_SPLIT_SPAWN =
+      new GLBMultiWorkerConfiguration<>(GLB_MULTIWORKER_SPLIT_SPAWN_PROPERTY, 0.0, Double.class);
+
   public static final GLBMultiWorkerConfiguration<Integer> GLBOPTION_MULTIWORKER_W =
       new GLBMultiWorkerConfiguration<>(GLB_MULTIWORKER_W_PROPERTY, 3, Integer.class);
 
@@ -122,8 +380,33 @@ public final class GLBMultiWorkerConfiguration<T> {
     allConfigs.add(GLBOPTION_MULTIWORKER_N);
     allConfigs.add(GLBOPTION_MULTIWORKER_W);
     allConfigs.add(GLBOPTION_MULTIWORKER_LIFELINESTRATEGY);
+    allConfigs.add(GLBOPTION_MULTIWORKER_PLACESPERHOST);
+    allConfigs.add(GLBOPTION_MULTIWORKER_ADAPTIVE_LATENCY);
     allConfigs.add(GLBOPTION_MULTIWORKER_WORKERPERPLACE);
     allConfigs.add(GLBOPTION_MULTIWORKER_BENCHMARKREPETITIONS);
+    allConfigs.add(GLBOPTION_MULTIWORKER_SPLIT_SPAWN);
+    allConfigs.add(GLBOPTION_MULTIWORKER_SPLIT_INTRA);
+    allConfigs.add(GLBOPTION_MULTIWORKER_SPLIT_INTER);
+    allConfigs.add(GLBOPTION_MULTIWORKER_SPLIT_LIFELINE);
+    allConfigs.add(GLBOPTION_MULTIWORKER_CANCELPOLICY);
+    allConfigs.add(GLBOPTION_MULTIWORKER_SESSION);
+    allConfigs.add(GLBOPTION_MULTIWORKER_SHRINK_POLICY);
+    allConfigs.add(GLBOPTION_MULTIWORKER_SHRINK_SURVIVORS);
+    allConfigs.add(GLBOPTION_MULTIWORKER_GROW_WARMUP_ROUNDS);
+    allConfigs.add(GLBOPTION_MULTIWORKER_GROW_WARMUP_TOLERANCE);
+    allConfigs.add(GLBOPTION_MULTIWORKER_LOAD_POLICY);
+    allConfigs.add(GLBOPTION_MULTIWORKER_LOAD_ALPHA);
+    allConfigs.add(GLBOPTION_MULTIWORKER_LOAD_HYSTERESIS);
+    allConfigs.add(GLBOPTION_MULTIWORKER_LOAD_LOG);
+    allConfigs.add(GLBOPTION_MULTIWORKER_MULTIJOB);
+    allConfigs.add(GLBOPTION_MULTIWORKER_MULTIJOB_POLICY);
+    allConfigs.add(GLBOPTION_MULTIWORKER_CHECKPOINT_INTERVAL);
+    allConfigs.add(GLBOPTION_MULTIWORKER_CHECKPOINT_DIR);
+    allConfigs.add(GLBOPTION_MULTIWORKER_SPILL_THRESHOLD);
+    allConfigs.add(GLBOPTION_MULTIWORKER_SPILL_FRACTION);
+    allConfigs.add(GLBOPTION_MULTIWORKER_SPILL_DIR);
+    allConfigs.add(GLBOPTION_MULTIWORKER_BALANCING_MODE);
+    allConfigs.add(GLBOPTION_MULTIWORKER_BALANCING_DIR);
     allConfigs.add(GLBOPTION_SYNTH_TREE);
     if (GLBOPTION_SYNTH_TREE.get().equals("evotree")) allConfigs.add(GLBOPTION_SYNTH_BRANCH);
 
@@ -24,13 +24,21 @@ import apgas.util.ConsolePrinter;
 import apgas.util.GlobalID;
 import apgas.util.GlobalRef;
 import apgas.util.PlaceLocalObject;
+import handist.glb.multiworker.lifeline.AdaptiveLifelineStrategy;
 import handist.glb.multiworker.lifeline.LifelineStrategy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
@@ -39,6 +47,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Class {@link GLBcomputer} implements a lifeline-based work-stealing scheme between hosts with an
@@ -84,6 +95,24 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
   /** Printing Helper */
   private static final ConsolePrinter console = ConsolePrinter.getInstance();
 
+  /**
+   * Identifier given in place of a victim to {@link #deal(int, Bag, GlobalRef)} for work submitted
+   * to a running service rather than stolen from another place
+   */
+  static final int INJECTED_WORK = Integer.MIN_VALUE;
+
+  /** {@link #state} of a place on which workers are running */
+  static final int RUNNING = 0;
+
+  /** {@link #state} of a place whose last worker stopped and which is stealing from other places */
+  static final int STEALING = -1;
+
+  /** {@link #state} of a place without workers which waits on its lifelines */
+  static final int INACTIVE = -2;
+
+  /** {@link #state} of a place which malleability is about to remove, final */
+  static final int REMOVING = -3;
+
   /** Place this instance is located on */
   final Place HOME;
 
@@ -135,11 +164,30 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
 
   private final long[] lastPrint;
 
-  /** Holds the lifelineStrategy */
-  private final LifelineStrategy lifelineStrategy;
+  /**
+   * Holds the lifelineStrategy. An {@link AdaptiveLifelineStrategy} adjusted on place 0 between two
+   * computations replaces it on every place.
+   */
+  private volatile LifelineStrategy lifelineStrategy;
+
+  /**
+   * Lifeline steal figures of all the places for the last computation, gathered on place 0 by
+   * {@link #collectResult()} when an {@link AdaptiveLifelineStrategy} is used: number of lifeline
+   * steals attempted, number of successes and accumulated latency of the successes
+   */
+  private final AtomicLongArray lifelineFeedback = new AtomicLongArray(3);
+
+  /** Set containing all old removed places because of malleability */
+  private final Set<Integer> mallRemovedPlaces;
+
+  /**
+   * Places currently taking part in the computation. Replaced by a new view each time places are
+   * added or removed so that validity checks and victim selection do not need to lock.
+   */
+  private volatile MembershipView membership;
 
-  /** List containing all old removed places because of malleability */
-  private final ConcurrentLinkedQueue<Integer> mallRemovedPlaces;
+  /** Number of places of the runtime when {@link #membership} was last built */
+  private volatile int membershipPlaceCount;
 
   /**
    * Array containing a flag for each worker (the worker's id is used as index in the array). A
@@ -151,6 +199,138 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
    */
   private final AtomicIntegerArray feedInterQueueRequested;
 
+  /**
+   * Incumbent bound shared with the other places, handed to the workers in {@link
+   * Bag#process(int, Fold, SharedBound)}. A new instance is created on every {@link #reset}.
+   */
+  SharedBound bound;
+
+  /** Initial value of {@link #bound} set with {@link #setBound(boolean, double)} */
+  double boundInitialValue = Double.NEGATIVE_INFINITY;
+
+  /** Direction of the optimisation of {@link #bound} set with {@link #setBound(boolean, double)} */
+  boolean boundMaximize = true;
+
+  /** Weight of this computation in the worker budget, set with {@link #setJobWeight(double)} */
+  double jobWeight = 1.0;
+
+  /**
+   * Supplier of the work sample computed by places added by a malleable grow before they join the
+   * computation, set with {@link #setGrowWarmup(SerializableSupplier)}. {@code null} if new places
+   * join the computation right away.
+   */
+  private SerializableSupplier<B> growWarmupSupplier;
+
+  /**
+   * Share of the worker budget of this place held by this computation in multi-job mode, {@code
+   * null} otherwise
+   *
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_MULTIJOB
+   */
+  WorkerBudget.Share budgetShare;
+
+  /** Epoch of the next checkpoint taken by the coordinator on place 0 */
+  long checkpointEpoch;
+
+  /**
+   * Flag set on every place during a checkpoint. Steals are not answered while it is set so that
+   * the work in transit between places drains before the snapshot is taken.
+   */
+  volatile boolean checkpointFrozen;
+
+  /** Monitor used by the workers to park while the snapshot of this place is taken */
+  private final Object checkpointMonitor = new Object();
+
+  /** Workers parked for the current snapshot, protected by {@link #checkpointMonitor} */
+  private final List<WorkerBag> checkpointParked = new ArrayList<>();
+
+  /** Flag asking the workers of this place to park at the start of their next iteration */
+  volatile boolean checkpointPause;
+
+  /** Signals the end of the computation to the checkpoint coordinator thread on place 0 */
+  private CountDownLatch checkpointStop;
+
+  /** Local storage of the checkpoints of this place, created on first use */
+  private CheckpointStore checkpointStore;
+
+  /** Policy of the cancellation of the current computation, set together with {@link #cancelled} */
+  CancellationPolicy cancellationPolicy;
+
+  /** Time stamp at which this place received the order to cancel the current computation */
+  long cancellationTimeStamp;
+
+  /**
+   * Flag set on every place when the current computation is cancelled. Workers stop at the start of
+   * their next iteration, steals are no longer answered and loot that arrives is kept aside.
+   *
+   * @see #cancel(CancellationPolicy)
+   */
+  volatile boolean cancelled;
+
+  /**
+   * Latch on which the {@link #run(Bag)} activity waits for the answers to its current steals, or
+   * {@code null} if it is not waiting. Released by a cancellation or by the reception of work to
+   * stop the wait early.
+   */
+  volatile CountDownLatch pendingStealLatch;
+
+  /**
+   * Work left over by a computation cancelled with policy {@link CancellationPolicy#KEEP}, gathered
+   * on place 0.
+   */
+  B remainingWork;
+
+  /** Round-robin counter used by {@link #submit(Bag)} to choose the place receiving the work */
+  private final AtomicInteger nextSubmissionPlace = new AtomicInteger();
+
+  /**
+   * Flag set by {@link #drainAndFinish()}, after which no more work is accepted by the service.
+   * Protected by the monitor of {@link #submissions}.
+   */
+  private boolean serviceDraining;
+
+  /** Lock on which {@link #serviceInjector()} waits for new submissions */
+  private final Lock serviceLock = new Lock();
+
+  /** Thread driving the computation started by {@link #startService}, {@code null} if none */
+  private volatile Thread serviceThread;
+
+  /** Work submitted to the running service and not yet routed to its place */
+  private final ConcurrentLinkedQueue<InjectedWork<B>> submissions = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Flag indicating that the bags of {@link #workerBags} and both queues were emptied at the end of
+   * the previous computation and can be used as they are by the next one.
+   *
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_SESSION
+   */
+  boolean sessionBagsReady;
+
+  /**
+   * Number of loot messages received by this place, compared with {@link #lootSent} by the
+   * checkpoint coordinator to detect work in transit between places. Work submitted to a running
+   * service is counted as well.
+   */
+  final AtomicLong lootReceived = new AtomicLong();
+
+  /**
+   * Number of loot messages sent by this place to another place. On place 0, work submitted to a
+   * running service is counted when it is submitted, as it is in transit until the place it is
+   * routed to receives it.
+   */
+  final AtomicLong lootSent = new AtomicLong();
+
+  /** Time stamp before which the heap usage is not checked again for spilling */
+  private volatile long nextSpillCheck;
+
+  /**
+   * Local storage of the work moved out of the heap of this place, {@code null} if spilling is
+   * disabled
+   *
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_SPILL_THRESHOLD
+   */
+  SpillStore spillStore;
+
   /** Bag used to perform load balance between the worker within this place */
   B interPlaceQueue;
 
@@ -185,11 +365,18 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
    * back to {@code false} before the old thread could exit, resulting in multiple lifeline answer
    * thread running on the same place.
    *
-   * <p>To solve this issue, method {@link #run(Bag)} actively waits until this flag is set back to
-   * true by the exiting lifeline answer thread before spawning a new one.
+   * <p>To solve this issue, method {@link #run(Bag)} waits on {@link #workerBags} until this flag
+   * is set back to true by the exiting lifeline answer thread in {@link
+   * #lifelineAnswerThreadExit()} before spawning a new one.
    */
   volatile boolean lifelineAnswerThreadExited;
 
+  /**
+   * Time stamp in nanoseconds of the last notification on {@link #workerBags}, used to measure how
+   * long the waiting activities take to resume
+   */
+  volatile long lifecycleSignalTime;
+
   /**
    * Collection used to keep track of the lifelines this place has established on other places.
    *
@@ -200,6 +387,12 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
    */
   ConcurrentHashMap<Integer, Boolean> lifelineEstablished;
 
+  /**
+   * Time at which each lifeline of this place was last established, used to measure the latency of
+   * the lifeline steals
+   */
+  final ConcurrentHashMap<Integer, Long> lifelineEstablishedTime = new ConcurrentHashMap<>();
+
   /**
    * Collection used to record the lifeline thieves that have requested some work from this place
    * but could not be given some work straight away as part of method {@link #steal(int,
@@ -244,6 +437,14 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
   /** Random instance used to decide the victims of random steals. */
   Random random;
 
+  /**
+   * Log of the load balancing decisions of this place, {@code null} unless they are recorded or
+   * replayed
+   *
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_BALANCING_MODE
+   */
+  BalancingRecorder balancingRecorder;
+
   /**
    * Instance in which the result of the computation performed at this place is going to be stored.
    * It is initialized with the given neutral element before the computation starts in method {@link
@@ -270,14 +471,16 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
    * State of this place.
    *
    * <ul>
-   *   <li>0 running
-   *   <li>-1 stealing
-   *   <li>-2 inactive
-   *   <li>-3 inactive because malleability will remove this place
+   *   <li>{@link #RUNNING} 0 running
+   *   <li>{@link #STEALING} -1 stealing
+   *   <li>{@link #INACTIVE} -2 inactive
+   *   <li>{@link #REMOVING} -3 inactive because malleability will remove this place
    * </ul>
    *
    * <p>This member accesses are protected by synchronized blocks with member {@link #workerBags} as
-   * lock provider.
+   * lock provider. Apart from its initialization, it is only changed through {@link
+   * #transition(int)}, which rejects the transitions out of {@link #REMOVING} and wakes up the
+   * activities waiting on {@link #workerBags} for a change of state.
    */
   volatile int state;
 
@@ -345,7 +548,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
 
     lifelineStrategy = ls;
 
-    mallRemovedPlaces = new ConcurrentLinkedQueue<>();
+    mallRemovedPlaces = ConcurrentHashMap.newKeySet();
 
     POOL = (ForkJoinPool) GlobalRuntime.getRuntime().getExecutorService();
     HOME = here();
@@ -357,6 +560,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     console.println("REVERSE_LIFELINE=" + Arrays.toString(REVERSE_LIFELINE));
 
     random = new Random(HOME.id);
+    updateMembership(places());
 
     feedInterQueueRequested =
         new AtomicIntegerArray(
@@ -386,6 +590,213 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     return tasksInBags;
   }
 
+  /**
+   * Gives the estimated work held by this place, in its worker bags and in both of its queues.
+   *
+   * @return estimated pending work, in task-equivalents
+   * @see Bag#getCurrentWorkEstimate()
+   */
+  double getPendingWorkEstimate() {
+    double work = getWorkEstimateOfWorkerBags();
+    synchronized (intraPlaceQueue) {
+      work += intraPlaceQueue.getCurrentWorkEstimate();
+      work += interPlaceQueue.getCurrentWorkEstimate();
+    }
+    return work;
+  }
+
+  /**
+   * Sums the work estimates of the bags held by the workers of this place.
+   *
+   * @return estimated work held by the workers, in task-equivalents
+   * @see Bag#getCurrentWorkEstimate()
+   */
+  public double getWorkEstimateOfWorkerBags() {
+    double workInBags = 0;
+    for (WorkerBag bag : workerBags) {
+      workInBags += bag.bag.getCurrentWorkEstimate();
+    }
+    return workInBags;
+  }
+
+  /**
+   * Sends a bound improved by a worker of this place to all the other places. The messages are
+   * sent with {@code immediateAsyncAt} so that they are handled as soon as they reach the remote
+   * places rather than waiting behind the workers in the thread pool.
+   *
+   * @param value the new value of the bound
+   */
+  void broadcastBound(double value) {
+    logger.boundImprovements.incrementAndGet();
+    final long sent = System.currentTimeMillis();
+    // Places added since the last steal of this place also need the bound
+    refreshMembership();
+    for (final Place p : places()) {
+      if (!isValidRemotePlace(p.id)) {
+        continue;
+      }
+      immediateAsyncAt(p, () -> receiveBound(value, sent));
+    }
+  }
+
+  /**
+   * Returns the value of the shared bound on this place. Called after the end of a computation, it
+   * gives the best value found by the whole computation.
+   *
+   * @return the value of the shared bound
+   */
+  public double getBound() {
+    return bound.get();
+  }
+
+  /**
+   * Combines a bound received from another place with the local copy.
+   *
+   * @param value the value of the bound broadcast by the other place
+   * @param sent wall-clock time in milliseconds at which the bound was broadcast
+   */
+  void receiveBound(double value, long sent) {
+    logger.boundUpdatesReceived.incrementAndGet();
+    if (bound.combine(value)) {
+      logger.boundUpdatesAdopted.incrementAndGet();
+      logger.boundPropagationDelay.addAndGet(Math.max(0, System.currentTimeMillis() - sent));
+    }
+  }
+
+  /**
+   * Sets the direction and the initial value of the bound shared between places for the following
+   * computations. This method returns when the setting has been applied on all places.
+   *
+   * @param maximize {@code true} if larger solution values are better, {@code false} if smaller
+   *     ones are
+   * @param initialValue value of the bound at the start of a computation, typically the worst
+   *     possible value or the value of a known solution
+   * @see SharedBound
+   */
+  public void setBound(boolean maximize, double initialValue) {
+    try {
+      finish(
+          () -> {
+            for (final Place p : places()) {
+              if (!isValidPlace(p.id)) {
+                continue;
+              }
+              asyncAt(
+                  p,
+                  () -> {
+                    boundMaximize = maximize;
+                    boundInitialValue = initialValue;
+                  });
+            }
+          });
+    } catch (final Throwable t) {
+      console.println("Exception caught");
+      t.printStackTrace(System.out);
+    }
+  }
+  /**
+   * Sets the weight of the next computations of this instance in the worker budget of each place.
+   * Only used in multi-job mode with the "weighted" policy: each job is then entitled to a number
+   * of workers proportional to its weight.
+   *
+   * @param weight the weight of this job, strictly positive
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_MULTIJOB_POLICY
+   */
+  public void setJobWeight(double weight) {
+    try {
+      finish(
+          () -> {
+            for (final Place p : places()) {
+              if (!isValidPlace(p.id)) {
+                continue;
+              }
+              asyncAt(p, () -> jobWeight = weight);
+            }
+          });
+    } catch (final Throwable t) {
+      console.println("Exception caught");
+      t.printStackTrace(System.out);
+    }
+  }
+
+  /**
+   * Makes the places added by a malleable grow warm up before they join the computation. Each new
+   * place repeatedly computes the work sample given by the supplier on its own, as in {@link
+   * #warmup(SerializableSupplier, SerializableSupplier, SerializableSupplier,
+   * SerializableSupplier)}, until its throughput stabilizes. Only then do the other places link
+   * their lifelines to it. The sample should be small: the grow completes only once every new
+   * place has warmed up.
+   *
+   * <p>This method needs to be called on place 0, where the malleable changes are handled.
+   *
+   * @param warmupBagSupplier supplier of the work sample, {@code null} to let new places join the
+   *     computation right away
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_GROW_WARMUP_ROUNDS
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_GROW_WARMUP_TOLERANCE
+   */
+  public void setGrowWarmup(SerializableSupplier<B> warmupBagSupplier) {
+    growWarmupSupplier = warmupBagSupplier;
+  }
+
+  /**
+   * Cancels the running computation, applying the {@link CancellationPolicy} set with {@link
+   * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_CANCELPOLICY}.
+   *
+   * @see #cancel(CancellationPolicy)
+   */
+  public void cancel() {
+    cancel(
+        CancellationPolicy.valueOf(
+            GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_CANCELPOLICY.get()));
+  }
+
+  /**
+   * Cancels the running computation on all places. This method can be called by the caller of
+   * {@link #computeDynamic} from another thread, or on any place during the computation. It returns
+   * as soon as the order was sent, the computation method then returns the result of the tasks
+   * processed so far once all workers have stopped. Calling this method when the computation is
+   * already cancelled has no effect.
+   *
+   * @param policy what to do with the work that remains in the bags
+   */
+  public void cancel(CancellationPolicy policy) {
+    if (cancelled) {
+      return;
+    }
+    for (final Place p : places()) {
+      if (!isValidRemotePlace(p.id)) {
+        continue;
+      }
+      try {
+        immediateAsyncAt(p, () -> cancelLocally(policy));
+      } catch (final Throwable t) {
+        t.printStackTrace(System.out);
+      }
+    }
+    cancelLocally(policy);
+  }
+
+  /**
+   * Stops the computation on this place: workers stop at the start of their next iteration, the
+   * pending lifelines are forgotten and the steal this place may be waiting for is abandoned.
+   *
+   * @param policy what to do with the work that remains in the bags
+   */
+  void cancelLocally(CancellationPolicy policy) {
+    synchronized (workerBags) {
+      if (cancelled) {
+        return;
+      }
+      cancellationPolicy = policy;
+      cancellationTimeStamp = System.nanoTime();
+      cancelled = true;
+    }
+    console.println("Computation cancelled, policy=" + policy + ", workerCount=" + workerCount);
+    lifelineThieves.clear();
+    releasePendingSteals();
+    workerLock.unblock();
+  }
+
   /**
    * Sends the order to all places to gather their results in their {@link #result} member before
    * sending it to place 0. This is done asynchronously, this method will block until all places
@@ -424,8 +835,26 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       result.fold(interPlaceQueue.getResult());
       result.fold(intraPlaceQueue.getResult());
     }
+    if (budgetShare != null) {
+      budgetShare.unregister();
+      budgetShare = null;
+    }
+    if (balancingRecorder != null) {
+      logger.balancingEvents.set(balancingRecorder.events());
+      logger.balancingDivergences.set(balancingRecorder.divergences());
+      try {
+        balancingRecorder.save();
+      } catch (final IOException e) {
+        console.println("Could not write the balancing log of " + HOME);
+        e.printStackTrace(System.out);
+      }
+    }
 
     final R r = result;
+    final boolean adaptive = lifelineStrategy instanceof AdaptiveLifelineStrategy;
+    final long attempted = logger.lifelineStealsAttempted.get();
+    final long successes = logger.lifelineStealsSuccess.get();
+    final long latency = logger.lifelineStealLatency.get();
     if (HOME.id != 0) {
       asyncAt(
           place(0),
@@ -434,7 +863,55 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
               // merging/gathering on place 0
               result.fold(r);
             }
+            if (adaptive) {
+              addLifelineFeedback(attempted, successes, latency);
+            }
           });
+    } else if (adaptive) {
+      addLifelineFeedback(attempted, successes, latency);
+    }
+
+    // In session mode, the bags are prepared for the next computation while the
+    // results are being gathered
+    if (GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SESSION.get()
+        && !(cancelled && cancellationPolicy == CancellationPolicy.KEEP)) {
+      recycleBags();
+    }
+  }
+
+  /**
+   * Moves all the work left in the bags of this place into a single bag and sends it to place 0
+   * where it is merged into {@link #remainingWork}. Called after the result was collected on
+   * computations cancelled with policy {@link CancellationPolicy#KEEP}.
+   */
+  void collectRemainingWork() {
+    final B rest = queueInitializer.get();
+    for (final WorkerBag wb : workerBags) {
+      drain(wb.bag, rest);
+    }
+    drain(intraPlaceQueue, rest);
+    drain(interPlaceQueue, rest);
+    pageInAll(rest);
+
+    asyncAt(
+        place(0),
+        () -> {
+          synchronized (result) {
+            remainingWork.merge(rest);
+          }
+        });
+  }
+
+  /**
+   * Moves the content of a bag into another one. Only tasks are moved, the result held by {@code
+   * from} is left in place.
+   *
+   * @param from the bag to empty
+   * @param into the bag receiving the tasks
+   */
+  private void drain(B from, B into) {
+    while (!from.isEmpty()) {
+      into.merge(from.split(true));
     }
   }
 
@@ -477,31 +954,26 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       defineMalleableHandler(this);
     }
 
+    // Checkpoints of a previous computation must not be mixed with the ones of this computation
+    final boolean checkpoints =
+        GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_CHECKPOINT_INTERVAL.get() > 0;
+    if (checkpoints) {
+      clearCheckpoints();
+    }
+    checkpointEpoch = 0;
+
     // We launch the computation
     final long start = System.nanoTime();
     workerCount = 1;
-    state = 0;
+    transition(RUNNING);
+    final Thread checkpointer = startCheckpoints();
 
     try {
       finish(
           () -> {
             // Dirty Fix: defineEvolvingHandler must be called inside finish,
             // otherwise, tasks could be lost when shrinking.
-            // We set the evolving handler to `this` and
-            // choose a task-based load if in evolving mode.
-            if (Configuration.CONFIG_APGAS_ELASTIC
-                .get()
-                .equals(Configuration.APGAS_ELASTIC_EVOLVING)) {
-              if (Configuration.CONFIG_APGAS_EVOLVING_MODE.get().equals("cpu")) {
-                GetCpuLoad load = new GetCpuLoad();
-                defineEvolvingHandler(this, load);
-              }
-              if (Configuration.CONFIG_APGAS_EVOLVING_MODE.get().equals("task")) {
-                GetTaskLoad load = new GetTaskLoad();
-                load.setGLBcomputer(this);
-                defineEvolvingHandler(this, load);
-              }
-            }
+            defineEvolvingHandlerIfNeeded();
 
             run(work);
           });
@@ -510,42 +982,500 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       t.printStackTrace(System.out);
     }
     console.println("after finish run, workerCount=" + workerCount);
+    return completeDynamic(initStart, start, checkpointer);
+  }
 
-    if (Configuration.CONFIG_APGAS_ELASTIC.get().equals(Configuration.APGAS_ELASTIC_MALLEABLE)
-        || Configuration.CONFIG_APGAS_ELASTIC.get().equals(Configuration.APGAS_ELASTIC_EVOLVING)) {
-      disableElasticCommunicator();
-    }
-
-    final long computationFinish = System.nanoTime();
-    // We gather the result back into place 0
-    collectAllResult();
-    final long resultGathering = System.nanoTime();
-
-    // Preparation for method getLog if it is called
-    computationLog.setTimings(initStart, start, computationFinish, resultGathering);
-    return result;
+  /**
+   * Resumes a dynamic computation from the last checkpoint completed by all the places, using the
+   * same initializer for the queues and for the bags of the workers.
+   *
+   * @param initResultSupplier function that provides new empty result instances
+   * @param emptyBagSupplier function that provides new empty computation bag instances
+   * @return aggregated result of the computation
+   * @see #resumeFromCheckpoint(SerializableSupplier, SerializableSupplier, SerializableSupplier)
+   */
+  public R resumeFromCheckpoint(
+      SerializableSupplier<R> initResultSupplier, SerializableSupplier<B> emptyBagSupplier) {
+    return resumeFromCheckpoint(initResultSupplier, emptyBagSupplier, emptyBagSupplier);
   }
 
-  public R computeStatic(
+  /**
+   * Resumes a dynamic computation from the last checkpoint completed by all the places.
+   *
+   * <p>Each place restores the bags of its workers, its two queues and its partial result as they
+   * were when the checkpoint was taken, after which the computation proceeds as usual. The places
+   * must be the same as the ones of the checkpointed computation. They read their checkpoints from
+   * the directory set with {@link
+   * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_CHECKPOINT_DIR}.
+   *
+   * @param resultInitializer initializer for the result instance
+   * @param queueInitializer initializer for the queue used for load balancing purposes
+   * @param workerInitializer initializer for the workers bag
+   * @return instance of type R containing the result of the whole computation
+   * @throws IllegalStateException if no checkpoint was completed by all the places or if a place
+   *     could not restore its checkpoint
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_CHECKPOINT_INTERVAL
+   */
+  public R resumeFromCheckpoint(
       SerializableSupplier<R> resultInitializer,
       SerializableSupplier<B> queueInitializer,
       SerializableSupplier<B> workerInitializer) {
-    // We reset every place
     final long initStart = System.nanoTime();
     this.resultInitializer = resultInitializer;
     this.queueInitializer = queueInitializer;
     this.workerInitializer = workerInitializer;
-    resetAll(true);
+    resetAll(false);
 
-    // We set the malleable handler to `this` if in malleable mode
-    if (Configuration.CONFIG_APGAS_ELASTIC.get().equals(Configuration.APGAS_ELASTIC_MALLEABLE)) {
-      defineMalleableHandler(this);
+    final long epoch = latestCheckpoint();
+    if (epoch < 0) {
+      throw new IllegalStateException("No checkpoint completed by all the places");
     }
+    console.println("resuming from checkpoint " + epoch);
 
-    // We launch the computation
-    final long start = System.nanoTime();
-
-    // run(null) will do:
+    // All the places restore their state before any of them starts, so that the computation is
+    // abandoned if one of them fails rather than completed without the work it lost
+    try {
+      finish(
+          () -> {
+            for (final Place p : places()) {
+              if (!isValidPlace(p.id)) {
+                continue;
+              }
+              asyncAt(p, () -> restoreCheckpoint(epoch));
+            }
+          });
+    } catch (final Throwable t) {
+      throw new IllegalStateException("Could not restore checkpoint " + epoch, t);
+    }
+    checkpointEpoch = epoch + 1;
+
+    // We set the malleable handler to `this` if in malleable mode
+    if (Configuration.CONFIG_APGAS_ELASTIC.get().equals(Configuration.APGAS_ELASTIC_MALLEABLE)) {
+      defineMalleableHandler(this);
+    }
+
+    final long start = System.nanoTime();
+    final Thread checkpointer = startCheckpoints();
+    try {
+      finish(
+          () -> {
+            defineEvolvingHandlerIfNeeded();
+            for (final Place p : places()) {
+              if (!isValidPlace(p.id)) {
+                continue;
+              }
+              asyncAt(
+                  p,
+                  () -> {
+                    // Every worker is started on its restored bag, like in a static computation
+                    run(null);
+                  });
+            }
+          });
+    } catch (final Throwable t) {
+      console.println("Exception caught");
+      t.printStackTrace(System.out);
+    }
+    console.println("after finish run, workerCount=" + workerCount);
+    return completeDynamic(initStart, start, checkpointer);
+  }
+
+  /**
+   * Last part of a dynamic computation, called once its finish has terminated. Stops the
+   * checkpoints and gathers the result into place 0.
+   *
+   * @param initStart time stamp at which the initialization of the computation started
+   * @param start time stamp at which the computation started
+   * @param checkpointer thread coordinating the checkpoints, {@code null} if there is none
+   * @return the result of the computation
+   */
+  private R completeDynamic(long initStart, long start, Thread checkpointer) {
+    stopCheckpoints(checkpointer);
+
+    if (Configuration.CONFIG_APGAS_ELASTIC.get().equals(Configuration.APGAS_ELASTIC_MALLEABLE)
+        || Configuration.CONFIG_APGAS_ELASTIC.get().equals(Configuration.APGAS_ELASTIC_EVOLVING)) {
+      disableElasticCommunicator();
+    }
+
+    final long computationFinish = System.nanoTime();
+    // We gather the result back into place 0
+    collectAllResult();
+    final long resultGathering = System.nanoTime();
+    if (cancelled) {
+      finishCancellation();
+      computationLog.cancellationLatency = computationFinish - cancellationTimeStamp;
+    } else if (checkpointer != null) {
+      // The computation completed, its checkpoints are no longer needed
+      clearCheckpoints();
+    }
+
+    // Preparation for method getLog if it is called
+    computationLog.setTimings(initStart, start, computationFinish, resultGathering);
+    return result;
+  }
+
+  /**
+   * Gives the local storage of the checkpoints of this place
+   *
+   * @return the checkpoint store of this place
+   */
+  private synchronized CheckpointStore checkpointStore() {
+    if (checkpointStore == null) {
+      checkpointStore =
+          new CheckpointStore(
+              GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_CHECKPOINT_DIR.get(), HOME.id);
+    }
+    return checkpointStore;
+  }
+
+  /** Deletes the checkpoints kept by every place */
+  private void clearCheckpoints() {
+    try {
+      finish(
+          () -> {
+            for (final Place p : places()) {
+              if (!isValidPlace(p.id)) {
+                continue;
+              }
+              asyncAt(p, () -> checkpointStore().clear());
+            }
+          });
+    } catch (final Throwable t) {
+      console.println("Exception caught");
+      t.printStackTrace(System.out);
+    }
+  }
+
+  /**
+   * Takes a checkpoint of every place. Called periodically by the coordinator thread on place 0.
+   *
+   * <p>All places first stop answering steals. Once every loot message that was sent has been
+   * received, checked over two identical consecutive counts, no work is in transit between places
+   * and each place takes a snapshot of its own bags and partial result. Places then resume
+   * answering steals. If the work in transit does not drain within the given delay, the checkpoint
+   * is abandoned. Work submitted to a running service counts as work in transit from its submission
+   * until it reaches its place, so that it is part of the checkpoint of that place.
+   *
+   * @param epoch epoch of the checkpoint
+   * @param maxWait maximum time in milliseconds to wait for the work in transit to drain
+   * @return {@code true} if the checkpoint was taken, {@code false} if it was abandoned
+   */
+  private boolean checkpoint(long epoch, long maxWait) {
+    setCheckpointFrozen(true);
+
+    final long deadline = System.currentTimeMillis() + maxWait;
+    long[] previous = null;
+    for (; ; ) {
+      if (cancelled || checkpointStop.getCount() == 0 || System.currentTimeMillis() > deadline) {
+        setCheckpointFrozen(false);
+        logger.checkpointsSkipped.incrementAndGet();
+        return false;
+      }
+      final long[] count = new long[2];
+      for (final Place p : places()) {
+        if (!isValidPlace(p.id)) {
+          continue;
+        }
+        final long[] c = at(p, () -> new long[] {lootSent.get(), lootReceived.get()});
+        count[0] += c[0];
+        count[1] += c[1];
+      }
+      if (count[0] == count[1] && Arrays.equals(count, previous)) {
+        break;
+      }
+      previous = count;
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    try {
+      finish(
+          () -> {
+            for (final Place p : places()) {
+              if (!isValidPlace(p.id)) {
+                continue;
+              }
+              asyncAt(p, () -> takeCheckpoint(epoch));
+            }
+          });
+    } catch (final Throwable t) {
+      console.println("Exception caught");
+      t.printStackTrace(System.out);
+    }
+    setCheckpointFrozen(false);
+    return true;
+  }
+
+  /**
+   * Sets flag {@link #checkpointFrozen} on every place
+   *
+   * @param frozen new value of the flag
+   */
+  private void setCheckpointFrozen(boolean frozen) {
+    try {
+      finish(
+          () -> {
+            for (final Place p : places()) {
+              if (!isValidPlace(p.id)) {
+                continue;
+              }
+              asyncAt(p, () -> checkpointFrozen = frozen);
+            }
+          });
+    } catch (final Throwable t) {
+      console.println("Exception caught");
+      t.printStackTrace(System.out);
+    }
+  }
+
+  /**
+   * Finds the most recent checkpoint completed by all the places
+   *
+   * @return the epoch of the checkpoint, or -1 if there is none
+   */
+  private long latestCheckpoint() {
+    final List<long[]> epochs = new ArrayList<>();
+    for (final Place p : places()) {
+      if (!isValidPlace(p.id)) {
+        continue;
+      }
+      epochs.add(at(p, () -> checkpointStore().epochs()));
+    }
+    long latest = -1;
+    for (final long candidate : epochs.get(0)) {
+      boolean everywhere = candidate > latest;
+      for (final long[] e : epochs) {
+        everywhere &= e[0] == candidate || e[1] == candidate;
+      }
+      if (everywhere) {
+        latest = candidate;
+      }
+    }
+    return latest;
+  }
+
+  /**
+   * Called by a worker to wait while the snapshot of this place is being taken
+   *
+   * @param workerBag the bag of the worker
+   */
+  private void parkForCheckpoint(WorkerBag workerBag) {
+    synchronized (checkpointMonitor) {
+      checkpointParked.add(workerBag);
+      checkpointMonitor.notifyAll();
+    }
+    try {
+      ForkJoinPool.managedBlock(
+          new ForkJoinPool.ManagedBlocker() {
+            @Override
+            public boolean block() throws InterruptedException {
+              synchronized (checkpointMonitor) {
+                while (checkpointPause) {
+                  checkpointMonitor.wait();
+                }
+              }
+              return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+              return !checkpointPause;
+            }
+          });
+    } catch (final InterruptedException e) {
+      console.println("Interrupted while parked for a checkpoint");
+      e.printStackTrace(System.out);
+    }
+  }
+
+  /**
+   * Restores the state of this place saved in a checkpoint. The bags of the workers are replaced
+   * by the ones of the checkpoint, bags of workers that do not exist anymore are merged into the
+   * {@link #intraPlaceQueue}.
+   *
+   * @param epoch the epoch of the checkpoint
+   * @throws IllegalStateException if the checkpoint could not be read
+   */
+  @SuppressWarnings("unchecked")
+  void restoreCheckpoint(long epoch) {
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(checkpointStore().read(epoch)))) {
+      final int count = in.readInt();
+      final List<B> orphans = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        final int id = in.readInt();
+        final B bag = (B) in.readObject();
+        boolean found = false;
+        for (final WorkerBag wb : workerBags) {
+          if (wb.workerId == id) {
+            wb.bag = bag;
+            found = true;
+          }
+        }
+        if (!found) {
+          orphans.add(bag);
+        }
+      }
+      intraPlaceQueue = (B) in.readObject();
+      interPlaceQueue = (B) in.readObject();
+      result = (R) in.readObject();
+      for (final byte[] spilled : (List<byte[]>) in.readObject()) {
+        if (spillStore != null) {
+          spillStore.spillBytes(spilled);
+        } else {
+          orphans.add((B) SpillStore.deserialize(spilled));
+        }
+      }
+      for (final B bag : orphans) {
+        intraPlaceQueue.merge(bag);
+      }
+      intraQueueEmpty = intraPlaceQueue.isEmpty();
+      interQueueEmpty = interPlaceQueue.isEmpty();
+    } catch (final IOException | ClassNotFoundException e) {
+      console.println("Could not restore checkpoint " + epoch);
+      e.printStackTrace(System.out);
+      throw new IllegalStateException("Could not restore checkpoint " + epoch + " on " + HOME, e);
+    }
+  }
+
+  /**
+   * Starts the thread coordinating the checkpoints of the computation on place 0 if checkpoints
+   * are enabled
+   *
+   * @return the coordinator thread, or {@code null} if checkpoints are disabled
+   */
+  private Thread startCheckpoints() {
+    final int interval =
+        GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_CHECKPOINT_INTERVAL.get();
+    if (interval <= 0) {
+      return null;
+    }
+    checkpointStop = new CountDownLatch(1);
+    final Thread t =
+        new Thread(
+            () -> {
+              try {
+                while (!checkpointStop.await(interval, TimeUnit.MILLISECONDS)) {
+                  if (checkpoint(checkpointEpoch, Math.max(interval, 1000))) {
+                    checkpointEpoch++;
+                  }
+                }
+              } catch (final InterruptedException e) {
+                console.println("Checkpoint coordinator interrupted");
+                e.printStackTrace(System.out);
+              }
+            },
+            "GLB-checkpoint");
+    t.start();
+    return t;
+  }
+
+  /**
+   * Stops the checkpoint coordinator thread and waits for the checkpoint in progress to complete
+   *
+   * @param checkpointer the coordinator thread, may be {@code null}
+   */
+  private void stopCheckpoints(Thread checkpointer) {
+    if (checkpointer == null) {
+      return;
+    }
+    checkpointStop.countDown();
+    try {
+      checkpointer.join();
+    } catch (final InterruptedException e) {
+      console.println("Interrupted while waiting for the checkpoint coordinator");
+      e.printStackTrace(System.out);
+    }
+  }
+
+  /**
+   * Takes a snapshot of this place and writes it to its checkpoint store. The workers are parked
+   * only for the time needed to serialize their bags in memory, the file being written once they
+   * have resumed.
+   *
+   * @param epoch epoch of the checkpoint
+   */
+  void takeCheckpoint(long epoch) {
+    final long pauseStart = System.nanoTime();
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    boolean serialized = false;
+    synchronized (checkpointMonitor) {
+      checkpointPause = true;
+      try {
+        for (; ; ) {
+          workerLock.unblock(); // A yielding worker needs to reach its parking point
+          synchronized (workerBags) {
+            if (checkpointParked.size() >= workerCount) {
+              try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeInt(checkpointParked.size() + workerBags.size());
+                for (final WorkerBag wb : checkpointParked) {
+                  out.writeInt(wb.workerId);
+                  out.writeObject(wb.bag);
+                }
+                for (final WorkerBag wb : workerBags) {
+                  out.writeInt(wb.workerId);
+                  out.writeObject(wb.bag);
+                }
+                synchronized (intraPlaceQueue) {
+                  out.writeObject(intraPlaceQueue);
+                  out.writeObject(interPlaceQueue);
+                }
+                out.writeObject(result);
+                out.writeObject(
+                    spillStore == null
+                        ? new ArrayList<byte[]>()
+                        : new ArrayList<>(spillStore.snapshot()));
+              }
+              serialized = true;
+              break;
+            }
+          }
+          checkpointMonitor.wait(1);
+        }
+      } catch (final IOException | InterruptedException e) {
+        console.println("Could not take checkpoint " + epoch);
+        e.printStackTrace(System.out);
+      }
+      checkpointPause = false;
+      checkpointParked.clear();
+      checkpointMonitor.notifyAll();
+    }
+    final long writeStart = System.nanoTime();
+    logger.checkpointPauseTime.addAndGet(writeStart - pauseStart);
+    if (!serialized) {
+      return;
+    }
+
+    try {
+      checkpointStore().write(epoch, bytes.toByteArray());
+      logger.checkpointsTaken.incrementAndGet();
+      logger.checkpointBytes.addAndGet(bytes.size());
+      logger.checkpointWriteTime.addAndGet(System.nanoTime() - writeStart);
+    } catch (final IOException e) {
+      console.println("Could not write checkpoint " + epoch);
+      e.printStackTrace(System.out);
+    }
+  }
+
+  public R computeStatic(
+      SerializableSupplier<R> resultInitializer,
+      SerializableSupplier<B> queueInitializer,
+      SerializableSupplier<B> workerInitializer) {
+    // We reset every place
+    final long initStart = System.nanoTime();
+    this.resultInitializer = resultInitializer;
+    this.queueInitializer = queueInitializer;
+    this.workerInitializer = workerInitializer;
+    resetAll(true);
+
+    // We set the malleable handler to `this` if in malleable mode
+    if (Configuration.CONFIG_APGAS_ELASTIC.get().equals(Configuration.APGAS_ELASTIC_MALLEABLE)) {
+      defineMalleableHandler(this);
+    }
+
+    // We launch the computation
+    final long start = System.nanoTime();
+
+    // run(null) will do:
     // workerCount = 1;
     // state = 0;
     try {
@@ -553,21 +1483,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
           () -> {
             // Dirty Fix: defineEvolvingHandler must be called inside finish,
             // otherwise, tasks could be lost when shrinking.
-            // We set the evolving handler to `this` and
-            // choose a task-based load if in evolving mode.
-            if (Configuration.CONFIG_APGAS_ELASTIC
-                .get()
-                .equals(Configuration.APGAS_ELASTIC_EVOLVING)) {
-              if (Configuration.CONFIG_APGAS_EVOLVING_MODE.get().equals("cpu")) {
-                GetCpuLoad load = new GetCpuLoad();
-                defineEvolvingHandler(this, load);
-              }
-              if (Configuration.CONFIG_APGAS_EVOLVING_MODE.get().equals("task")) {
-                GetTaskLoad load = new GetTaskLoad();
-                load.setGLBcomputer(this);
-                defineEvolvingHandler(this, load);
-              }
-            }
+            defineEvolvingHandlerIfNeeded();
 
             for (final Place p : places()) {
               asyncAt(
@@ -587,17 +1503,210 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
         || Configuration.CONFIG_APGAS_ELASTIC.get().equals(Configuration.APGAS_ELASTIC_EVOLVING)) {
       disableElasticCommunicator();
     }
-
-    final long computationFinish = System.nanoTime();
-    // We gather the result back into place 0
-    collectAllResult();
-    final long resultGathering = System.nanoTime();
-
-    // Preparation for method getLog if it is called
-    computationLog.setTimings(initStart, start, computationFinish, resultGathering);
+
+    final long computationFinish = System.nanoTime();
+    // We gather the result back into place 0
+    collectAllResult();
+    final long resultGathering = System.nanoTime();
+    if (cancelled) {
+      finishCancellation();
+      computationLog.cancellationLatency = computationFinish - cancellationTimeStamp;
+    }
+
+    // Preparation for method getLog if it is called
+    computationLog.setTimings(initStart, start, computationFinish, resultGathering);
+    return result;
+  }
+
+  /**
+   * Sets the evolving handler to `this` and chooses the load measure given by the configuration if
+   * the program runs in evolving mode. Must be called inside the finish of the computation.
+   */
+  private void defineEvolvingHandlerIfNeeded() {
+    if (Configuration.CONFIG_APGAS_ELASTIC.get().equals(Configuration.APGAS_ELASTIC_EVOLVING)) {
+      if (Configuration.CONFIG_APGAS_EVOLVING_MODE.get().equals("cpu")) {
+        GetCpuLoad load = new GetCpuLoad();
+        defineEvolvingHandler(this, load);
+      }
+      if (Configuration.CONFIG_APGAS_EVOLVING_MODE.get().equals("task")) {
+        defineEvolvingHandler(this, TaskLoadEstimator.create(this));
+      }
+    }
+  }
+
+  /**
+   * Starts a computation to which work is submitted while it runs rather than given up front.
+   *
+   * <p>All places are reset and remain inactive until some work is given to them with {@link
+   * #submit(Bag)} or {@link #submit(Place, Bag)}. Submitted work goes through the same path as the
+   * loot of a steal: it is merged into the bags of a place that is already running and wakes up a
+   * place that is inactive. Idle places then obtain a share of it through the usual random and
+   * lifeline steals. The places are not reset between two submissions, which spares the cost of
+   * starting a new computation for every batch of work.
+   *
+   * <p>This method returns immediately, the computation being driven by a background thread. It
+   * ends when {@link #drainAndFinish()} is called and all the submitted work has been processed.
+   *
+   * @param resultInitializer initializer for the result instance
+   * @param queueInitializer initializer for the queue used for load balancing purposes
+   * @param workerInitializer initializer for the workers bag
+   * @throws IllegalStateException if a service is already running
+   */
+  public void startService(
+      SerializableSupplier<R> resultInitializer,
+      SerializableSupplier<B> queueInitializer,
+      SerializableSupplier<B> workerInitializer) {
+    if (serviceThread != null) {
+      throw new IllegalStateException("A service is already running on this GLBcomputer");
+    }
+    final long initStart = System.nanoTime();
+    this.resultInitializer = resultInitializer;
+    this.queueInitializer = queueInitializer;
+    this.workerInitializer = workerInitializer;
+    resetAll(false);
+    submissions.clear();
+    serviceDraining = false;
+    serviceLock.reset();
+
+    // We set the malleable handler to `this` if in malleable mode
+    if (Configuration.CONFIG_APGAS_ELASTIC.get().equals(Configuration.APGAS_ELASTIC_MALLEABLE)) {
+      defineMalleableHandler(this);
+    }
+
+    serviceThread =
+        new Thread(
+            () -> {
+              final long start = System.nanoTime();
+              try {
+                finish(
+                    () -> {
+                      defineEvolvingHandlerIfNeeded();
+                      async(() -> serviceInjector());
+                    });
+              } catch (final Throwable t) {
+                console.println("Exception caught");
+                t.printStackTrace(System.out);
+              }
+              console.println("after finish service, workerCount=" + workerCount);
+
+              if (Configuration.CONFIG_APGAS_ELASTIC
+                      .get()
+                      .equals(Configuration.APGAS_ELASTIC_MALLEABLE)
+                  || Configuration.CONFIG_APGAS_ELASTIC
+                      .get()
+                      .equals(Configuration.APGAS_ELASTIC_EVOLVING)) {
+                disableElasticCommunicator();
+              }
+
+              final long computationFinish = System.nanoTime();
+              collectAllResult();
+              final long resultGathering = System.nanoTime();
+              if (cancelled) {
+                finishCancellation();
+                computationLog.cancellationLatency = computationFinish - cancellationTimeStamp;
+              }
+              computationLog.setTimings(initStart, start, computationFinish, resultGathering);
+            },
+            "GLB-service");
+    serviceThread.start();
+  }
+
+  /**
+   * Submits some work to the running service, choosing the places in a round-robin fashion.
+   *
+   * @param work the work to process
+   * @throws IllegalStateException if no service is running or if it is being drained
+   * @see #startService(SerializableSupplier, SerializableSupplier, SerializableSupplier)
+   */
+  public void submit(B work) {
+    final List<? extends Place> candidates = places();
+    for (int i = 0; i < candidates.size(); i++) {
+      final Place p =
+          candidates.get(Math.floorMod(nextSubmissionPlace.getAndIncrement(), candidates.size()));
+      if (isValidPlace(p.id)) {
+        submit(p, work);
+        return;
+      }
+    }
+    submit(here(), work);
+  }
+
+  /**
+   * Submits some work to the given place of the running service. The work is merged into the bags
+   * of the place as if it had been stolen from another place.
+   *
+   * @param place the place that receives the work
+   * @param work the work to process
+   * @throws IllegalStateException if no service is running or if it is being drained
+   * @see #startService(SerializableSupplier, SerializableSupplier, SerializableSupplier)
+   */
+  public void submit(Place place, B work) {
+    synchronized (submissions) {
+      if (serviceThread == null || serviceDraining) {
+        throw new IllegalStateException("No service accepting work on this GLBcomputer");
+      }
+      submissions.add(new InjectedWork<>(place.id, work));
+      // In transit until it is dealt to its place, see checkpoint(long, long)
+      lootSent.incrementAndGet();
+    }
+    serviceLock.unblock();
+  }
+
+  /**
+   * Stops accepting work on the running service, waits until all the work submitted so far has been
+   * processed and returns the result of the computation.
+   *
+   * @return instance of type R containing the result of all the work submitted to the service
+   * @throws IllegalStateException if no service is running
+   */
+  public R drainAndFinish() {
+    final Thread t = serviceThread;
+    if (t == null) {
+      throw new IllegalStateException("No service running on this GLBcomputer");
+    }
+    synchronized (submissions) {
+      serviceDraining = true;
+    }
+    serviceLock.unblock();
+    try {
+      t.join();
+    } catch (final InterruptedException e) {
+      e.printStackTrace();
+    }
+    serviceThread = null;
     return result;
   }
 
+  /**
+   * Activity running on place 0 for as long as the service accepts work. It routes the submitted
+   * work to its place from within the finish of the service so that the computation cannot
+   * terminate while some work is still on its way.
+   */
+  void serviceInjector() {
+    for (; ; ) {
+      InjectedWork<B> w;
+      while ((w = submissions.poll()) != null) {
+        final B work = w.bag;
+        final int id = isValidPlace(w.place) ? w.place : HOME.id;
+        try {
+          asyncAt(place(id), () -> deal(INJECTED_WORK, work, null));
+        } catch (final Throwable t) {
+          t.printStackTrace(System.out);
+        }
+      }
+      synchronized (submissions) {
+        if (serviceDraining && submissions.isEmpty()) {
+          return;
+        }
+      }
+      try {
+        ForkJoinPool.managedBlock(serviceLock);
+      } catch (final InterruptedException e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
   /**
    * Method called on this place when a victim of steal is answering and providing some loot.
    *
@@ -614,7 +1723,8 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
    *       parameter.
    * </ul>
    *
-   * @param victim the id from place sending the loot or {@code -1} if it is a random steal
+   * @param victim the id from place sending the loot or {@code -1} if it is a random steal, or
+   *     {@link #INJECTED_WORK} if the loot was submitted to a running service
    * @param loot the work that was stolen by this place
    * @param waitLatch CountDownLatch to notify a waiting thief, can be null!
    */
@@ -623,17 +1733,38 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       console.println("intraPlaceQueue " + intraPlaceQueue);
     }
     workerLock.unblock();
-    if (victim < 0) {
+    if (cancelled) {
+      // The computation was cancelled, the loot is kept aside with the rest of the work
+      lootReceived.incrementAndGet();
+      synchronized (intraPlaceQueue) {
+        intraPlaceQueue.merge(loot);
+        intraQueueEmpty = false;
+      }
+      if (waitLatch != null) {
+        waitLatch.get().countDown();
+      }
+      return;
+    }
+    if (victim == INJECTED_WORK) {
+      logger.workInjected.incrementAndGet();
+    } else if (victim < 0) {
       logger.stealsSuccess.incrementAndGet();
     } else {
       logger.lifelineStealsSuccess.incrementAndGet();
       lifelineEstablished.put(victim, false);
+      final Long establishedTime = lifelineEstablishedTime.remove(victim);
+      if (establishedTime != null) {
+        logger.lifelineStealLatency.addAndGet(System.nanoTime() - establishedTime);
+      }
     }
 
     boolean startNewWorker = false;
     synchronized (workerBags) {
+      // Counted while holding the lock so that a snapshot cannot see the message as received
+      // before the loot is in the bags of this place
+      lootReceived.incrementAndGet();
       switch (state) {
-        case 0:
+        case RUNNING:
           /*
            * There are workers on the place -> we merge the loot into the intra-place
            * queue
@@ -652,7 +1783,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
            */
           return;
 
-        case -1:
+        case STEALING:
 
           /*
            * If the place is currently stealing, the bag is given to the head of
@@ -660,36 +1791,42 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
            * stealing stops and a new workerProcess is spawned in method run
            */
           workerBags.peek().bag.merge(loot);
-          state = 0; // Back into a running state
+          transition(RUNNING); // Back into a running state
           workerCount = 1;
 
           if (waitLatch != null) {
             waitLatch.get().countDown();
           }
+          // The run activity need not wait for the answers to its other steal requests
+          releasePendingSteals();
           return;
-        case -2:
+        case INACTIVE:
           // There are no workers on this place, it needs to be waken up
           workerCount = 1;
-          state = 0; // Possible concurrent lifeline answers will not spawn
+          transition(RUNNING); // Possible concurrent lifeline answers will not spawn
           // a new run method as this signals that this place is now "alive"
           startNewWorker = true;
           break;
 
-        case -3:
+        case REMOVING:
           // This place will be removed caused by malleability, thus the loot is
           // sent back
           System.out.println(here() + " case -3: sent loot back to " + victim);
           final Place victimP;
-          if (victim < 0) {
+          final int resendAs = victim == INJECTED_WORK ? INJECTED_WORK : -1;
+          if (victim == INJECTED_WORK) {
+            victimP = place(0);
+          } else if (victim < 0) {
             victimP = place(-victim - 1);
           } else {
             victimP = place(victim);
           }
+          lootSent.incrementAndGet();
           try {
             asyncAt(
                 victimP,
                 () -> {
-                  deal(-1, loot, null);
+                  deal(resendAs, loot, null);
                 });
           } catch (final Throwable t) {
             t.printStackTrace(System.out);
@@ -710,6 +1847,43 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     }
   }
 
+  /**
+   * Gathers the work left on every place into {@link #remainingWork} if the cancellation policy
+   * requires it.
+   */
+  private void finishCancellation() {
+    if (cancellationPolicy != CancellationPolicy.KEEP) {
+      return;
+    }
+    remainingWork = queueInitializer.get();
+    try {
+      finish(
+          () -> {
+            for (final Place p : places()) {
+              if (!isValidPlace(p.id)) {
+                continue;
+              }
+              asyncAt(p, () -> collectRemainingWork());
+            }
+          });
+    } catch (final Throwable t) {
+      console.println("Exception caught");
+      t.printStackTrace(System.out);
+    }
+  }
+
+  /**
+   * Gives the work left over by the previous computation if it was cancelled with policy {@link
+   * CancellationPolicy#KEEP}. The returned bag can be given to {@link #computeDynamic} to resume
+   * the computation.
+   *
+   * @return the remaining work, or {@code null} if the previous computation was not cancelled or
+   *     its remaining work was discarded
+   */
+  public B getRemainingWork() {
+    return remainingWork;
+  }
+
   /**
    * Gives back the log of the previous computation.
    *
@@ -746,13 +1920,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
   }
 
   private boolean isValidPlace(int id) {
-    boolean validPlace = true;
-    synchronized (lifelineLock) {
-      if (id < 0 || isDead(place(id)) || mallRemovedPlaces.contains(id)) {
-        validPlace = false;
-      }
-    }
-    return validPlace;
+    return membership.contains(id) && !isDead(place(id));
   }
 
   private boolean isValidRemotePlace(int id) {
@@ -788,8 +1956,8 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       // for mall
       if (mallShutdown.get()) {
         console.println("lifelineAnswerThread returns because of mall");
-        lifelineAnswerThreadExited = true;
         shutdown = true;
+        lifelineAnswerThreadExit();
         return;
       }
 
@@ -803,19 +1971,29 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
         /*
          * 2. Answer lifelines
          */
-        while (!lifelineThieves.isEmpty()) {
+        while (!lifelineThieves.isEmpty() && !cancelled && !checkpointFrozen) {
           B loot;
+          long[] plan = null;
           synchronized (intraPlaceQueue) {
             if (interQueueEmpty) {
               break;
             }
+            if (balancingRecorder != null) {
+              plan = balancingRecorder.nextLifelineAnswer();
+            }
             console.println(
                 "BEFORE performing interPlaceQueue.split(true) and interPlaceQueue should now contain tasks empty, interPlaceQueue.isEmpty="
                     + interQueueEmpty
                     + ", interPlaceQueue.size()="
                     + interPlaceQueue.getCurrentTaskCount()
                     + " loot.size()=0");
-            loot = interPlaceQueue.split(true);
+            loot =
+                split(
+                    interPlaceQueue,
+                    true,
+                    plan == null
+                        ? GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SPLIT_LIFELINE.get()
+                        : lootFraction(interPlaceQueue, plan[1]));
             logger.interQueueSplit.incrementAndGet();
             interQueueEmpty = interPlaceQueue.isEmpty();
             console.println(
@@ -828,12 +2006,21 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
           }
           // Send the loot
           final int h = HOME.id;
-          final int lifelineThief = lifelineThieves.poll();
+          final int lifelineThief;
+          if (plan != null && lifelineThieves.remove(Integer.valueOf((int) plan[0]))) {
+            lifelineThief = (int) plan[0]; // Answers the lifelines in the replayed order
+          } else {
+            lifelineThief = lifelineThieves.poll();
+          }
+          if (balancingRecorder != null) {
+            balancingRecorder.lifelineAnswered(plan, lifelineThief, loot.getCurrentTaskCount());
+          }
           console.println(
               "sends loot to lifeline="
                   + lifelineThief
                   + ", loot.size="
                   + loot.getCurrentTaskCount());
+          lootSent.incrementAndGet();
           try {
             asyncAt(
                 place(lifelineThief),
@@ -866,7 +2053,18 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     console.println("lifelineAnswerThread shutdown");
 
     logger.lifelineAnswerThreadEnded();
-    lifelineAnswerThreadExited = true;
+    lifelineAnswerThreadExit();
+  }
+
+  /**
+   * Marks the {@link #lifelineAnswerThread()} of this place as exited and wakes up the {@link
+   * #run(Bag)} activity which may be waiting to spawn a new one
+   */
+  private void lifelineAnswerThreadExit() {
+    synchronized (workerBags) {
+      lifelineAnswerThreadExited = true;
+      signalLifecycle();
+    }
   }
 
   /**
@@ -877,12 +2075,25 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
    * @return some loot to be sent to thieves
    */
   B loot() {
+    return loot(0);
+  }
+
+  /**
+   * Gets the given number of tasks from the inter place queue, see {@link #loot()}
+   *
+   * @param tasks number of tasks to take, or 0 or less to let the queue decide
+   * @return some loot to be sent to thieves
+   */
+  B loot(long tasks) {
     B loot = null;
     // Quick check on the other queue
     if (!interQueueEmpty) {
       synchronized (intraPlaceQueue) {
         if (!interQueueEmpty) {
-          loot = interPlaceQueue.split(true);
+          loot =
+              tasks > 0
+                  ? split(interPlaceQueue, true, lootFraction(interPlaceQueue, tasks))
+                  : interPlaceQueue.split(true);
           logger.interQueueSplit.incrementAndGet();
           interQueueEmpty = interPlaceQueue.isEmpty(); // Update flag
         }
@@ -891,10 +2102,22 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
         requestInterQueueFeed();
       }
     }
+    if (loot == null && spillStore != null && !spillStore.isEmpty()) {
+      // The thief receives some of the work this place moved to disk
+      loot = pageIn();
+    }
 
     return loot;
   }
 
+  /**
+   * Computes the fraction of the work of the given bag to split off to obtain the given number of
+   * tasks, used to replay the load balancing decisions
+   */
+  private double lootFraction(B bag, long tasks) {
+    return Math.min(1.0, (double) tasks / Math.max(1, bag.getCurrentTaskCount()));
+  }
+
   private void notifyWaitingThief(int thief, GlobalRef<CountDownLatch> waitLatch) {
     if (waitLatch == null) {
       return;
@@ -911,14 +2134,19 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
   }
 
   /**
-   * Part of the {@link #run(Bag)} procedure. Performs lifeline steals until either of two things
-   * happen:
+   * Part of the {@link #run(Bag)} procedure. Sends a steal request on every lifeline of this place
+   * that is not established yet, all at once, then waits until either of two things happen:
    *
    * <ul>
    *   <li>Some work is received through a lifeline
-   *   <li>All lifelines have been established
+   *   <li>Every lifeline either answered with work or registered this place to answer it later
    * </ul>
    *
+   * <p>The requests are answered asynchronously and the wait is performed without holding {@link
+   * #lifelineLock}, so that a place with many lifelines does not take longer to go idle and does
+   * not delay the recalculation of lifelines meanwhile. If some lifelines do not answer within 5
+   * seconds, the place stops waiting for them.
+   *
    * @return {@code true} if some work is received during the method's execution, {@code false}
    *     otherwise
    */
@@ -930,24 +2158,34 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       return false;
     }
 
-    synchronized (lifelineLock) {
-      for (int i = 0; i < LIFELINE.length; i++) {
-
-        final int lifelineID = LIFELINE[i];
-
-        boolean isLifelineEstablished = lifelineEstablished.getOrDefault(lifelineID, false);
+    if (cancelled) {
+      transition(INACTIVE);
+      return false;
+    }
 
-        if (!isLifelineEstablished
-            && isValidRemotePlace(lifelineID)) { // We check if the lifeline was
-          // previously established or not and if it is a valid place
-          logger.lifelineStealsAttempted.incrementAndGet();
+    final int h = HOME.id;
+    final List<Integer> lifelines = new ArrayList<>();
+    CountDownLatch answers = null;
+    synchronized (lifelineLock) {
+      for (final int lifelineID : LIFELINE) {
+        // We check if the lifeline was previously established or not and if it is a valid place
+        if (!lifelineEstablished.getOrDefault(lifelineID, false)
+            && isValidRemotePlace(lifelineID)) {
           lifelineEstablished.put(lifelineID, true);
+          lifelines.add(lifelineID);
+        }
+      }
 
-          final int h = HOME.id;
+      if (!lifelines.isEmpty()) {
+        answers = new CountDownLatch(lifelines.size());
+        final GlobalRef<CountDownLatch> waitLatch = new GlobalRef<>(answers);
+        pendingStealLatch = answers;
+        for (final int lifelineID : lifelines) {
+          logger.lifelineStealsAttempted.incrementAndGet();
+          lifelineEstablishedTime.put(lifelineID, System.nanoTime());
           final Place lifeline = place(lifelineID);
           console.println(
               "sends steal request to lifeline=" + lifeline + ", workerCount=" + workerCount);
-          final GlobalRef<CountDownLatch> waitLatch = new GlobalRef<>(new CountDownLatch(1));
           try {
             uncountedAsyncAt(
                 lifeline,
@@ -956,32 +2194,35 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
                 });
           } catch (final Throwable t) {
             t.printStackTrace(System.out);
-          }
-
-          try {
-            final boolean await = waitLatch.get().await(5, TimeUnit.SECONDS);
-            if (!await) {
-              console.println(
-                  "TIMEOUT: waitLatch.get().await(5, TimeUnit.SECONDS), lifeline=" + lifelineID);
-            }
-          } catch (final InterruptedException e) {
-            e.printStackTrace();
+            answers.countDown();
           }
         }
+      }
+    }
 
-        // Checks if some work was received
-        synchronized (workerBags) {
-          if (state == 0) { // State is put back to 0 in lifelineDeal when an
-            // answer is received
-            return true;
-          }
-          if (i == LIFELINE.length - 1) {
-            // If all lifelines were established and still no positive answer was
-            // received
-            state = -2;
-          }
+    if (answers != null) {
+      try {
+        final boolean await = cancelled || answers.await(5, TimeUnit.SECONDS);
+        if (!await) {
+          console.println(
+              "TIMEOUT: waitLatch.get().await(5, TimeUnit.SECONDS), lifelines="
+                  + lifelines
+                  + ", unanswered="
+                  + answers.getCount());
         }
+      } catch (final InterruptedException e) {
+        e.printStackTrace();
+      }
+      pendingStealLatch = null;
+    }
+
+    // Checks if some work was received
+    synchronized (workerBags) {
+      if (state == RUNNING) { // State is put back to RUNNING in deal when an answer is received
+        return true;
       }
+      // All lifelines were established and still no positive answer was received
+      transition(INACTIVE);
       return false;
     }
   }
@@ -1002,6 +2243,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
    *     otherwise
    */
   boolean performRandomSteals() {
+    refreshMembership();
     console.println("places()=" + places() + ", mallHighestPlaceID=" + mallHighestPlaceID.get());
     if (places().size() < 2 || places().size() > (mallHighestPlaceID.get() + 1)) {
       return false;
@@ -1012,17 +2254,22 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       return false;
     }
 
-    for (int i = 0; i < GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_W.get(); i++) {
+    for (int i = 0;
+        i < GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_W.get() && !cancelled;
+        i++) {
       logger.stealsAttempted.incrementAndGet();
       // Choose a victim
       int victimID = -1;
       final int randomTries = 20;
       for (int r = 0; r < randomTries; r++) {
-        victimID = random.nextInt(mallHighestPlaceID.get() + 1);
+        victimID = membership.sample(random, HOME.id);
         if (isValidRemotePlace(victimID)) {
           break;
         }
       }
+      if (balancingRecorder != null) {
+        victimID = balancingRecorder.victim(victimID, this::isValidRemotePlace);
+      }
       if (!isValidRemotePlace(victimID)) {
         System.err.println("No random victim found, return");
         return false;
@@ -1031,6 +2278,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       console.println("Sends steal request to random=" + victim + ", workerCount=" + workerCount);
       final int h = HOME.id;
       final GlobalRef<CountDownLatch> waitLatch = new GlobalRef<>(new CountDownLatch(1));
+      pendingStealLatch = waitLatch.get();
       try {
         uncountedAsyncAt(victim, () -> steal(-h - 1, waitLatch));
       } catch (final Throwable t) {
@@ -1038,17 +2286,18 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       }
 
       try {
-        final boolean await = waitLatch.get().await(5, TimeUnit.SECONDS);
+        final boolean await = cancelled || waitLatch.get().await(5, TimeUnit.SECONDS);
         if (!await) {
           console.println("TIMEOUT: waitLatch.get().await(5, TimeUnit.SECONDS), random=" + victim);
         }
       } catch (final InterruptedException e) {
         e.printStackTrace();
       }
+      pendingStealLatch = null;
 
       // Checks if some work was received
       synchronized (workerBags) {
-        if (state == 0) { // State is put back to 0 when an answer is received
+        if (state == RUNNING) { // State is put back to RUNNING when an answer is received
           return true;
         }
       }
@@ -1080,6 +2329,14 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     final SerializableSupplier<R> _resultInitializer = resultInitializer;
     final SerializableSupplier<B> _queueInitializer = queueInitializer;
     final SerializableSupplier<B> _workerInitializer = workerInitializer;
+    final boolean _boundMaximize = boundMaximize;
+    final double _boundInitialValue = boundInitialValue;
+    final double _boundValue = bound.get();
+    final SerializableSupplier<B> _growWarmup = growWarmupSupplier;
+    // New places construct a fresh strategy, the adjustments of an adaptive one must be carried
+    // over for their lifelines to match the ones of the other places
+    final LifelineStrategy _strategy =
+        lifelineStrategy instanceof AdaptiveLifelineStrategy ? lifelineStrategy : null;
 
     final ArrayList<Integer> newPlaceIds = new ArrayList<>();
     for (final Place p : newPlaces) {
@@ -1101,10 +2358,14 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
                 final GLBcomputer<R, B> newComputer = new GLBcomputer<>();
                 newComputer.id = globalID;
                 globalID.putHere(newComputer);
+                newComputer.boundMaximize = _boundMaximize;
+                newComputer.boundInitialValue = _boundInitialValue;
+                if (_strategy != null) {
+                  newComputer.adoptLifelineStrategy(_strategy);
+                }
 
                 // Set the new GLBComputer for loadEvaluation
-                GetTaskLoad load = new GetTaskLoad();
-                load.setGLBcomputer(newComputer);
+                TaskLoadEstimator.create(newComputer);
                 // Reset it so that it prepares the necessary data structures to start stealing
                 newComputer.reset(
                     _resultInitializer,
@@ -1113,12 +2374,29 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
                     true,
                     newPlaceIds,
                     false);
+                // New places start from the best bound currently known here
+                newComputer.bound.combine(_boundValue);
 
-                immediateAsyncAt(
-                    newPlacesCount.home(),
-                    () -> {
-                      newPlacesCount.get().countDown();
-                    });
+                if (_growWarmup == null) {
+                  immediateAsyncAt(
+                      newPlacesCount.home(),
+                      () -> {
+                        newPlacesCount.get().countDown();
+                      });
+                } else {
+                  // The lifelines of the other places are only linked to this place once it has
+                  // warmed up, the warm-up does not run in this immediate activity
+                  uncountedAsyncAt(
+                      here(),
+                      () -> {
+                        newComputer.growWarmup(_growWarmup);
+                        immediateAsyncAt(
+                            newPlacesCount.home(),
+                            () -> {
+                              newPlacesCount.get().countDown();
+                            });
+                      });
+                }
 
               } catch (final Exception e) {
                 System.err.println("Exception when initializing new GLBcomputer on " + here());
@@ -1139,10 +2417,28 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       e.printStackTrace();
     }
 
+    // Only the new places and the places whose lifelines changed recompute their lifelines, the
+    // other places refresh their view of the places the next time they steal at random. This place
+    // gathers the results and logs, its view is updated right away.
+    final List<? extends Place> allPlaces = places();
+    membershipChanged(allPlaces.get(allPlaces.size() - 1).id, new ArrayList<>());
+    final Set<Integer> affected = lifelineStrategy.affectedPlaces(continuedPlaces, allPlaces);
+    final List<Place> toRecalculate = new ArrayList<>(newPlaces);
+    for (final int id : affected) {
+      toRecalculate.add(place(id));
+    }
+    ConsolePrinter.getInstance()
+        .printlnAlways(
+            "Re-calculating lifelines on "
+                + toRecalculate.size()
+                + " of "
+                + places().size()
+                + " places");
+
     final GlobalRef<CountDownLatch> continuedPlacesCount =
-        new GlobalRef<>(new CountDownLatch(places().size()));
+        new GlobalRef<>(new CountDownLatch(toRecalculate.size()));
 
-    for (final Place p : places()) {
+    for (final Place p : toRecalculate) {
       // Recalculate the lifeline for the continued places
       try {
         immediateAsyncAt(
@@ -1187,11 +2483,19 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
    * off from the lifeline network and their work is sent back to remaining places. Their
    * intermediary result also needs to be transferred back to remaining places to be merged.
    *
-   * <p>In this implementation, we always choose the places with the largest IDs to be released.
+   * <p>With the default "load" policy, the places holding the least pending work are released so
+   * that as little work as possible needs to be moved. With the "highest" policy, the places with
+   * the largest IDs are released.
+   *
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_SHRINK_POLICY
    */
   @Override
   public List<Place> preShrink(int nbPlaces) {
     ConsolePrinter.getInstance().printlnAlways("preShrink called");
+    final long before = System.nanoTime();
+    if (GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SHRINK_POLICY.get().equals("load")) {
+      return shrink(leastLoadedPlaces(nbPlaces), before);
+    }
     // Choose the places that are going to be shut down
     final int currentNumberPlaces = places().size();
     final int numberPlacesAfterShutdown = currentNumberPlaces - nbPlaces;
@@ -1213,7 +2517,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
         toStop.add(p);
       }
     }
-    return preShrink(toStop);
+    return shrink(toStop, before);
   }
 
   /**
@@ -1226,7 +2530,168 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
   @Override
   public List<Place> preShrink(ArrayList<Place> placesToShrink) {
     System.err.println("preShrink called");
-    long before = System.nanoTime();
+    return shrink(placesToShrink, System.nanoTime());
+  }
+
+  /**
+   * Chooses the places holding the least pending work, place 0 excluded. Each place is asked for
+   * its pending work, the places holding the same amount being chosen in decreasing order of IDs.
+   *
+   * @param nbPlaces number of places to choose
+   * @return the places chosen
+   */
+  private ArrayList<Place> leastLoadedPlaces(int nbPlaces) {
+    final List<Place> candidates = new ArrayList<>();
+    for (final Place p : places()) {
+      if (p.id != 0 && isValidPlace(p.id)) {
+        candidates.add(p);
+      }
+    }
+
+    final GlobalRef<ConcurrentHashMap<Integer, Double>> loads =
+        new GlobalRef<>(new ConcurrentHashMap<>());
+    final GlobalRef<CountDownLatch> answers =
+        new GlobalRef<>(new CountDownLatch(candidates.size()));
+    for (final Place p : candidates) {
+      immediateAsyncAt(
+          p,
+          () -> {
+            final int id = HOME.id;
+            final double work = getPendingWorkEstimate();
+            immediateAsyncAt(
+                answers.home(),
+                () -> {
+                  loads.get().put(id, work);
+                  answers.get().countDown();
+                });
+          });
+    }
+    try {
+      answers.get().await();
+    } catch (final InterruptedException e) {
+      e.printStackTrace();
+    }
+
+    final Map<Integer, Double> load = loads.get();
+    candidates.sort(
+        (a, b) -> {
+          final int c = Double.compare(load.get(a.id), load.get(b.id));
+          return c != 0 ? c : Integer.compare(b.id, a.id);
+        });
+    console.println("Pending work per place=" + load);
+    return new ArrayList<>(candidates.subList(0, Math.min(nbPlaces, candidates.size())));
+  }
+
+  /**
+   * Chooses the remaining places among which the work of this place is divided when it is released
+   * by a shrink: its surviving reverse lifelines, then its surviving lifelines, up to {@link
+   * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_SHRINK_SURVIVORS} places. Place 0 is chosen
+   * if none of them survives.
+   *
+   * @param toStop the places being released
+   * @return ids of the places receiving the work
+   */
+  private List<Integer> survivors(List<Place> toStop) {
+    final int max =
+        Math.max(1, GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SHRINK_SURVIVORS.get());
+    final List<Integer> survivors = new ArrayList<>(max);
+    for (final int[] neighbours : new int[][] {REVERSE_LIFELINE, LIFELINE}) {
+      for (final int i : neighbours) {
+        if (survivors.size() < max
+            && i != HOME.id
+            && !survivors.contains(i)
+            && !toStop.contains(place(i))) {
+          survivors.add(i);
+        }
+      }
+    }
+    if (survivors.isEmpty()) {
+      survivors.add(0);
+    }
+    return survivors;
+  }
+
+  /**
+   * Asks the given places for their pending work and computes the fraction of the evacuated work
+   * each should receive so that their loads even out as much as possible. Places that do not answer
+   * within 5 seconds receive nothing. The places are reordered by increasing pending work.
+   *
+   * @param survivors ids of the places receiving the work, sorted in place
+   * @param work estimated work to divide
+   * @return the fraction of the work given to each place, in the order of {@code survivors}
+   */
+  private double[] evacuationShares(List<Integer> survivors, double work) {
+    final GlobalRef<ConcurrentHashMap<Integer, Double>> loads =
+        new GlobalRef<>(new ConcurrentHashMap<>());
+    final GlobalRef<CountDownLatch> answers = new GlobalRef<>(new CountDownLatch(survivors.size()));
+    for (final int id : survivors) {
+      immediateAsyncAt(
+          place(id),
+          () -> {
+            final double pending = getPendingWorkEstimate();
+            immediateAsyncAt(
+                answers.home(),
+                () -> {
+                  loads.get().put(id, pending);
+                  answers.get().countDown();
+                });
+          });
+    }
+    try {
+      if (!answers.get().await(5, TimeUnit.SECONDS)) {
+        console.println("TIMEOUT: pending work of " + survivors + ", answers=" + loads.get());
+      }
+    } catch (final InterruptedException e) {
+      e.printStackTrace();
+    }
+
+    final Map<Integer, Double> load = loads.get();
+    survivors.sort(
+        (a, b) ->
+            Double.compare(
+                load.getOrDefault(a, Double.MAX_VALUE), load.getOrDefault(b, Double.MAX_VALUE)));
+
+    // Water filling: the least loaded places are brought up to a common level
+    final double[] shares = new double[survivors.size()];
+    if (work <= 0) {
+      return shares;
+    }
+    double level = 0;
+    int filled = 0;
+    double sum = 0;
+    for (int i = 0; i < survivors.size(); i++) {
+      final Double pending = load.get(survivors.get(i));
+      if (pending == null) {
+        break;
+      }
+      sum += pending;
+      final double candidate = (sum + work) / (i + 1);
+      if (i > 0 && candidate <= pending) {
+        break;
+      }
+      level = candidate;
+      filled = i + 1;
+    }
+    if (filled == 0) {
+      shares[0] = 1.0;
+      return shares;
+    }
+    for (int i = 0; i < filled; i++) {
+      shares[i] = Math.max(0, level - load.get(survivors.get(i))) / work;
+    }
+    return shares;
+  }
+
+  /**
+   * Cuts the given places off from the lifeline network and sends their work and intermediary
+   * results to the remaining places
+   *
+   * @param placesToShrink the places to remove
+   * @param before time at which the shrink started, used to report its duration to the scheduler
+   * @return the places to remove
+   */
+  private List<Place> shrink(ArrayList<Place> placesToShrink, long before) {
+    console.println("Releasing " + placesToShrink);
 
     // Choose the places that are going to be shut down
     final int currentNumberPlaces = places().size();
@@ -1245,10 +2710,26 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
 
     final int largestId = largestIDRemaining;
 
+    // Only the places whose lifelines change are cut off from the places to remove, the other
+    // places have no lifeline with them. Their random steals on the places being removed are
+    // refused until they refresh their view once the places are gone. This place gathers the
+    // results and logs, its view is updated right away.
+    final List<Place> toRecalculate = new ArrayList<>();
+    for (final int id : lifelineStrategy.affectedPlaces(places(), toContinue)) {
+      toRecalculate.add(place(id));
+    }
+    membershipChanged(largestId, placesToShrink);
+    console.println(
+        "Re-calculating lifelines on "
+            + toRecalculate.size()
+            + " of "
+            + places().size()
+            + " places");
+
     final GlobalRef<CountDownLatch> lifelineCount =
-        new GlobalRef<>(new CountDownLatch(toContinue.size()));
+        new GlobalRef<>(new CountDownLatch(toRecalculate.size()));
 
-    for (final Place p : toContinue) {
+    for (final Place p : toRecalculate) {
       // For the places to be removed: stop stealing, send work and intermediary
       // results away to other places
       immediateAsyncAt(
@@ -1307,8 +2788,8 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
 
   /**
    * Procedure used to recalculate the lifeline network when places are added and/or removed from
-   * the runtime. This method is called by {@link #postGrow(int, List, List)} and {@link
-   * #preShrink(int)} on each place that is continuing execution.
+   * the runtime. This method is called by {@link #postGrow(int, List, List)} on the new places and
+   * on the continuing places whose lifelines are changed by the grow.
    *
    * @param addedPlaces places that were added as a result of the previous malleable operation (may
    *     be empty)
@@ -1320,6 +2801,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
 
     synchronized (lifelineLock) {
       mallHighestPlaceID.set(allPlaces.get(nbPlaces - 1).id);
+      updateMembership(allPlaces);
       LIFELINE = lifelineStrategy.lifeline(HOME.id, allPlaces);
       REVERSE_LIFELINE = lifelineStrategy.reverseLifeline(HOME.id, allPlaces);
 
@@ -1351,48 +2833,173 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
   }
 
   /**
-   * Routine called on the places that will remain with the runtime just before the shrink is
-   * performed. These places will re-compute their lifelines and discard any lifeline connecting to
-   * a place which is about to be removed as part of the shrink operation.
+   * Routine called on the places that will remain with the runtime and whose lifelines change just
+   * before the shrink is performed. These places will re-compute their lifelines and discard any
+   * lifeline connecting to a place which is about to be removed as part of the shrink operation.
+   *
+   * @param highestID the largest place ID for the places that remain in the runtime
+   * @param allRemainingPlaces the places that will still be participating in the runtime after the
+   *     shrink operation
+   * @param removedPlaces the list of places to be removed from the runtime
+   */
+  private void recalculateLifelinesBeforeShrink(
+      int highestID, List<Place> allRemainingPlaces, List<Place> removedPlaces) {
+    synchronized (lifelineLock) {
+      mallHighestPlaceID.set(highestID);
+      LIFELINE = lifelineStrategy.lifeline(HOME.id, allRemainingPlaces);
+      REVERSE_LIFELINE = lifelineStrategy.reverseLifeline(HOME.id, allRemainingPlaces);
+
+      console.println("New LIFELINE=" + Arrays.toString(LIFELINE));
+      console.println("New REVERSE_LIFELINE=" + Arrays.toString(REVERSE_LIFELINE));
+
+      console.println("before lifelineThieves=" + lifelineThieves);
+      for (final Place p : removedPlaces) {
+        mallRemovedPlaces.add(p.id);
+        // sometimes lifelineThieves contains duplicated entries which should never happen
+        while (lifelineThieves.contains(p.id)) {
+          lifelineThieves.remove(p.id);
+        }
+        lifelineEstablished.put(
+            p.id, true); // hack preventing the re-establishment of a lifeline on a place
+        // about to stop, the lifeline is actually not established
+      }
+      console.println("after lifelineThieves=" + lifelineThieves);
+      console.println("removedMallPlaces=" + mallRemovedPlaces);
+      updateMembership(allRemainingPlaces);
+
+      for (final int i : LIFELINE) {
+        if (!lifelineEstablished.contains(i)) {
+          lifelineEstablished.put(i, false);
+        }
+      }
+      console.println("lifelineEstablished=" + lifelineEstablished);
+
+      console.println("lifelineThieves=" + lifelineThieves);
+    }
+  }
+
+  /**
+   * Adds the lifeline steal figures of a place to {@link #lifelineFeedback}
+   *
+   * @param attempted number of lifeline steals attempted by the place
+   * @param successes number of successful lifeline steals of the place
+   * @param latency accumulated latency of the successful lifeline steals in nanoseconds
+   */
+  private void addLifelineFeedback(long attempted, long successes, long latency) {
+    lifelineFeedback.addAndGet(0, attempted);
+    lifelineFeedback.addAndGet(1, successes);
+    lifelineFeedback.addAndGet(2, latency);
+  }
+
+  /**
+   * Adjusts the {@link AdaptiveLifelineStrategy} of this place, if one is used, according to the
+   * lifeline steals of the last computation. Called on place 0 before the next computation.
+   *
+   * @return the adjusted strategy if its graph changed, {@code null} otherwise
+   */
+  private LifelineStrategy adaptLifelineStrategy() {
+    if (!(lifelineStrategy instanceof AdaptiveLifelineStrategy)) {
+      return null;
+    }
+    final long attempted = lifelineFeedback.getAndSet(0, 0);
+    final long successes = lifelineFeedback.getAndSet(1, 0);
+    final long latency = lifelineFeedback.getAndSet(2, 0);
+    final boolean changed =
+        ((AdaptiveLifelineStrategy) lifelineStrategy)
+            .adapt(membership.size(), attempted, successes, latency);
+    console.println(
+        "Lifeline steals "
+            + successes
+            + "/"
+            + attempted
+            + ", latency="
+            + latency
+            + ", strategy="
+            + lifelineStrategy
+            + ", changed="
+            + changed);
+    return changed ? lifelineStrategy : null;
+  }
+
+  /**
+   * Replaces the lifeline strategy of this place and recomputes its lifelines. Called on every
+   * place before a computation starts, the lifelines being established again by {@link
+   * #reset(SerializableSupplier, SerializableSupplier, SerializableSupplier, boolean, List,
+   * boolean)}.
+   *
+   * @param strategy the new strategy
+   */
+  private void adoptLifelineStrategy(LifelineStrategy strategy) {
+    synchronized (lifelineLock) {
+      lifelineStrategy = strategy;
+      LIFELINE = strategy.lifeline(HOME.id, places());
+      REVERSE_LIFELINE = strategy.reverseLifeline(HOME.id, places());
+      lifelineEstablished.clear();
+      lifelineEstablishedTime.clear();
+      lifelineThieves.clear();
+    }
+    console.println("Adopted " + strategy + ", LIFELINE=" + Arrays.toString(LIFELINE));
+  }
+
+  /**
+   * Updates the view of the places taking part in the computation of this place after a malleable
+   * change, without recomputing its lifelines. Called on place 0, which gathers the results, the
+   * logs and handles the cancellations and submissions of the computation.
    *
    * @param highestID the largest place ID for the places that remain in the runtime
-   * @param allRemainingPlaces the places that will still be participating in the runtime after the
-   *     shrink operation
-   * @param removedPlaces the list of places to be removed from the runtime
+   * @param removedPlaces places about to be removed from the runtime (may be empty)
    */
-  private void recalculateLifelinesBeforeShrink(
-      int highestID, List<Place> allRemainingPlaces, List<Place> removedPlaces) {
+  private void membershipChanged(int highestID, List<? extends Place> removedPlaces) {
     synchronized (lifelineLock) {
-      mallHighestPlaceID.set(highestID);
-      LIFELINE = lifelineStrategy.lifeline(HOME.id, allRemainingPlaces);
-      REVERSE_LIFELINE = lifelineStrategy.reverseLifeline(HOME.id, allRemainingPlaces);
-
-      console.println("New LIFELINE=" + Arrays.toString(LIFELINE));
-      console.println("New REVERSE_LIFELINE=" + Arrays.toString(REVERSE_LIFELINE));
-
-      console.println("before lifelineThieves=" + lifelineThieves);
       for (final Place p : removedPlaces) {
         mallRemovedPlaces.add(p.id);
-        // sometimes lifelineThieves contains duplicated entries which should never happen
-        while (lifelineThieves.contains(p.id)) {
-          lifelineThieves.remove(p.id);
-        }
-        lifelineEstablished.put(
-            p.id, true); // hack preventing the re-establishment of a lifeline on a place
-        // about to stop, the lifeline is actually not established
       }
-      console.println("after lifelineThieves=" + lifelineThieves);
-      console.println("removedMallPlaces=" + mallRemovedPlaces);
+      mallHighestPlaceID.set(highestID);
+      updateMembership(places());
+    }
+  }
 
-      for (final int i : LIFELINE) {
-        if (!lifelineEstablished.contains(i)) {
-          lifelineEstablished.put(i, false);
-        }
+  /**
+   * Rebuilds the view of the places taking part in the computation if places were added to or
+   * removed from the runtime since it was built. Places whose lifelines are not affected by a
+   * malleable change are not contacted by {@link #postGrow(int, List, List)} and {@link
+   * #preShrink(ArrayList)} and learn about the change this way.
+   */
+  private void refreshMembership() {
+    final List<? extends Place> current = places();
+    if (current.size() != membershipPlaceCount) {
+      synchronized (lifelineLock) {
+        mallHighestPlaceID.accumulateAndGet(current.get(current.size() - 1).id, Math::max);
+        updateMembership(current);
       }
-      console.println("lifelineEstablished=" + lifelineEstablished);
+    }
+  }
 
-      console.println("lifelineThieves=" + lifelineThieves);
+  /**
+   * Releases the {@link #run(Bag)} activity if it is waiting for the answers to its steal requests
+   */
+  private void releasePendingSteals() {
+    final CountDownLatch latch = pendingStealLatch;
+    if (latch != null) {
+      while (latch.getCount() > 0) {
+        latch.countDown();
+      }
+    }
+  }
+
+  /**
+   * Replaces the view of the places taking part in the computation, leaving out the places removed
+   * by malleable shrinks
+   *
+   * @param places the places of the runtime
+   */
+  private void updateMembership(List<? extends Place> places) {
+    synchronized (lifelineLock) {
+      final long version = membership == null ? 0 : membership.version() + 1;
+      membership = new MembershipView(places, mallRemovedPlaces, version);
+      membershipPlaceCount = places().size();
     }
+    console.println("membership=" + membership);
   }
 
   /**
@@ -1436,6 +3043,15 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
 
     // Resetting the field used to keep the result
     result = resultInitSupplier.get();
+    bound = new SharedBound(boundMaximize, boundInitialValue, this::broadcastBound);
+    remainingWork = null;
+    if (budgetShare != null) {
+      budgetShare.unregister();
+      budgetShare = null;
+    }
+    if (GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_MULTIJOB.get()) {
+      budgetShare = WorkerBudget.getInstance().register(jobWeight);
+    }
 
     resultInitializer = resultInitSupplier;
     this.queueInitializer = queueInitializer;
@@ -1447,32 +3063,76 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     interQueueEmpty = true;
     intraQueueEmpty = true;
     lifelineAnswerThreadExited = true;
-    state = -2;
+    state = INACTIVE;
     shutdown = false;
+    cancelled = false;
+    pendingStealLatch = null;
+    checkpointFrozen = false;
+    checkpointPause = false;
+    lootSent.set(0);
+    lootReceived.set(0);
+    if (spillStore != null) {
+      spillStore.clear();
+    }
+    if (GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SPILL_THRESHOLD.get() <= 0) {
+      spillStore = null;
+    } else if (spillStore == null) {
+      spillStore =
+          new SpillStore(
+              GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SPILL_DIR.get(), HOME.id);
+    }
+    balancingRecorder = null;
+    final String balancing = GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_BALANCING_MODE.get();
+    if (!balancing.equals("off")) {
+      // Victims are drawn from the same sequence in each recorded computation
+      random = new Random(HOME.id);
+      try {
+        balancingRecorder =
+            new BalancingRecorder(
+                GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_BALANCING_DIR.get(),
+                HOME.id,
+                balancing.equals("replay"));
+      } catch (final IOException e) {
+        console.println("Could not read the balancing log to replay, decisions are not replayed");
+        e.printStackTrace(System.out);
+      }
+    }
     mallShutdown = new AtomicBoolean(false);
     mallHighestPlaceID = new AtomicInteger(places().get(places().size() - 1).id);
+    updateMembership(places());
 
-    // Removing old bags and getting some new ones
-    workerBags.clear();
-    for (int i = 0;
-        i < GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_WORKERPERPLACE.get();
-        i++) {
-      // We put as many new bags as there are possible concurrent workers called by
-      // computeDynamic: bags are empty
-      // called by computeStatic: bags already contain tasks
-      final WorkerBag workerBag = new WorkerBag(i, workerInitializer);
-      if (staticTasks) {
-        workerBag.initStaticTasks();
+    if (sessionBagsReady && GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SESSION.get()) {
+      // The bags and queues were emptied when the previous result was collected
+      for (final WorkerBag workerBag : workerBags) {
+        if (staticTasks) {
+          workerBag.initStaticTasks();
+        }
+        feedInterQueueRequested.set(workerBag.workerId, 1);
+      }
+    } else {
+      // Removing old bags and getting some new ones
+      workerBags.clear();
+      for (int i = 0;
+          i < GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_WORKERPERPLACE.get();
+          i++) {
+        // We put as many new bags as there are possible concurrent workers called by
+        // computeDynamic: bags are empty
+        // called by computeStatic: bags already contain tasks
+        final WorkerBag workerBag = new WorkerBag(i, workerInitializer);
+        if (staticTasks) {
+          workerBag.initStaticTasks();
+        }
+        workerBags.add(workerBag);
+        feedInterQueueRequested.set(i, 1);
       }
-      workerBags.add(workerBag);
-      feedInterQueueRequested.set(i, 1);
-    }
 
-    // Resetting the queues
-    // important: currently, this must be done after the initialization of the
-    // workerbags because of computeStatic (BC)
-    interPlaceQueue = queueInitializer.get();
-    intraPlaceQueue = queueInitializer.get();
+      // Resetting the queues
+      // important: currently, this must be done after the initialization of the
+      // workerbags because of computeStatic (BC)
+      interPlaceQueue = queueInitializer.get();
+      intraPlaceQueue = queueInitializer.get();
+    }
+    sessionBagsReady = false;
 
     // We reset the established lifelines trackers
     final boolean lifelinesOn = (HOME.id != 0) && !staticTasks;
@@ -1485,6 +3145,9 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
         setLifeline = false;
       }
       lifelineEstablished.put(i, setLifeline);
+      if (setLifeline) {
+        lifelineEstablishedTime.put(i, System.nanoTime());
+      }
     }
     console.println("lifelineEstablished=" + lifelineEstablished);
 
@@ -1510,6 +3173,26 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     console.println("lifelineThieves=" + lifelineThieves);
   }
 
+  /**
+   * Empties the bags of the workers and both queues in place with {@link Bag#reset()} so that the
+   * next computation of the session does not need to allocate them again. Bags that do not support
+   * being reset are replaced by new instances.
+   */
+  private void recycleBags() {
+    for (final WorkerBag wb : workerBags) {
+      if (!wb.bag.reset()) {
+        wb.bag = workerInitializer.get();
+      }
+    }
+    if (!intraPlaceQueue.reset()) {
+      intraPlaceQueue = queueInitializer.get();
+    }
+    if (!interPlaceQueue.reset()) {
+      interPlaceQueue = queueInitializer.get();
+    }
+    sessionBagsReady = true;
+  }
+
   /**
    * Resets all instances of GLBcomputer in the system.
    *
@@ -1522,20 +3205,25 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     final SerializableSupplier<R> _resultInitializer = resultInitializer;
     final SerializableSupplier<B> _queueInitializer = queueInitializer;
     final SerializableSupplier<B> _workerInitializer = workerInitializer;
+    final LifelineStrategy _lifelineStrategy = adaptLifelineStrategy();
     try {
       finish(
           () -> {
             for (final Place p : places()) {
               asyncAt(
                   p,
-                  () ->
-                      reset(
-                          _resultInitializer,
-                          _queueInitializer,
-                          _workerInitializer,
-                          false,
-                          null,
-                          staticTasks));
+                  () -> {
+                    if (_lifelineStrategy != null) {
+                      adoptLifelineStrategy(_lifelineStrategy);
+                    }
+                    reset(
+                        _resultInitializer,
+                        _queueInitializer,
+                        _workerInitializer,
+                        false,
+                        null,
+                        staticTasks);
+                  });
             }
           });
     } catch (final Throwable t) {
@@ -1566,15 +3254,25 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     console.println("New worker starts, workerCount=" + workerCount);
 
     // Wait until the previous lifeline exited
-    while (!lifelineAnswerThreadExited) {
-      console.println("while (!lifelineAnswerThreadExited)");
-      try {
-        TimeUnit.MILLISECONDS.sleep(500);
-      } catch (InterruptedException e) {
-        throw new RuntimeException(e);
+    synchronized (workerBags) {
+      if (!lifelineAnswerThreadExited) {
+        console.println("while (!lifelineAnswerThreadExited)");
+        final long waitStart = System.nanoTime();
+        while (!lifelineAnswerThreadExited) {
+          try {
+            workerBags.wait();
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+        }
+        final long resumed = System.nanoTime();
+        logger.restartWaitTime.addAndGet(resumed - waitStart);
+        logger.wakeUpLatency.addAndGet(resumed - lifecycleSignalTime);
+        logger.wakeUps.incrementAndGet();
+        console.println("while (!lifelineAnswerThreadExited) After");
       }
+      logger.restarts.incrementAndGet();
     }
-    console.println("while (!lifelineAnswerThreadExited) After");
 
     // Reset the flags and the locks
     lifelineAnswerThreadExited = false;
@@ -1602,12 +3300,15 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
                 if (!isStaticInner[0]) { // called from computeDynamic and deal
                   // Spawn a first worker (which will spawn the others)
                   final WorkerBag workerBag = workerBags.poll();
+                  if (budgetShare != null) {
+                    budgetShare.acquireFirst();
+                  }
                   async(
                       () -> {
                         workerProcess(workerBag); // Working
                       });
                 } else if (b == null && isStaticInner[0]) {
-                  state = 0;
+                  transition(RUNNING);
                   // Spawn all workers
                   // (called from computeStatic)
                   while (!workerBags.isEmpty()) {
@@ -1620,6 +3321,9 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
                       console.println(
                           "starting new worker because of staticTasks, workerCount=" + workerCount);
                     }
+                    if (budgetShare != null) {
+                      budgetShare.acquireFirst();
+                    }
                     async(() -> workerProcess(wb));
                   }
                   isStaticInner[0] = false;
@@ -1644,6 +3348,9 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     }
 
     console.println("going to sleep, workerCount=" + workerCount);
+    if (cancelled) {
+      logger.cancellationStopTime = System.nanoTime() - cancellationTimeStamp;
+    }
 
     // Shutdown the lifelineAnswerThread and the tuner thread
     shutdown = true; // Flag used to signal to the activities they need to
@@ -1663,8 +3370,28 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
   synchronized void steal(int thief, GlobalRef<CountDownLatch> waitLatch) {
     workerLock.unblock();
 
+    if (cancelled || checkpointFrozen || mallShutdown.get()) {
+      // No work is handed out anymore. During a checkpoint, a lifeline thief is registered to be
+      // answered once the checkpoint is complete. A place being removed hands its work over to
+      // the remaining places instead, thieves which did not notice its removal yet are turned
+      // away.
+      if (thief >= 0 && !cancelled && !mallShutdown.get()) {
+        lifelineThieves.offer(thief);
+      }
+      notifyWaitingThief(thief >= 0 ? thief : -thief - 1, waitLatch);
+      return;
+    }
+
     final int h = HOME.id;
-    final B loot = loot();
+    final B loot;
+    if (balancingRecorder == null) {
+      loot = loot();
+    } else {
+      // A recorded refusal is replayed by not looking for loot at all
+      final long planned = balancingRecorder.plannedAnswer(thief);
+      loot = planned == 0 ? null : loot(planned);
+      balancingRecorder.answered(thief, planned, loot == null ? 0 : loot.getCurrentTaskCount());
+    }
     console.println(
         "Received steal request from "
             + thief
@@ -1684,6 +3411,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
         notifyWaitingThief(thief, waitLatch);
       } else {
         logger.lifelineStealsSuffered.incrementAndGet();
+        lootSent.incrementAndGet();
         try {
           uncountedAsyncAt(
               place(thief),
@@ -1699,6 +3427,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       logger.stealsReceived.incrementAndGet();
       if (loot != null) {
         logger.stealsSuffered.incrementAndGet();
+        lootSent.incrementAndGet();
         try {
           uncountedAsyncAt(
               place(-thief - 1),
@@ -1714,12 +3443,208 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     }
   }
 
+  /**
+   * Splits the given bag, handing over the given fraction of its work if one was configured for the
+   * load balancing path at hand, falling back to {@link Bag#split(boolean)} otherwise.
+   *
+   * @param bag the bag to split
+   * @param takeAll whether the whole bag should be taken if it cannot be split
+   * @param fraction configured fraction of the work to take, 0 or less if none was configured
+   * @return the loot taken from {@code bag}
+   */
+  private B split(B bag, boolean takeAll, double fraction) {
+    return fraction > 0 ? bag.split(takeAll, fraction) : bag.split(takeAll);
+  }
+
+  /**
+   * Pages the most recently spilled bag of this place back in
+   *
+   * @return the bag, or {@code null} if there is no spilled bag or it could not be read
+   */
+  @SuppressWarnings("unchecked")
+  private B pageIn() {
+    try {
+      final B bag = (B) spillStore.pageIn();
+      if (bag != null) {
+        logger.pagedInBags.incrementAndGet();
+      }
+      return bag;
+    } catch (final IOException e) {
+      console.println("Could not page in spilled work");
+      e.printStackTrace(System.out);
+      return null;
+    }
+  }
+
+  /**
+   * Pages all the spilled bags of this place back in
+   *
+   * @param into the bag receiving the spilled work
+   */
+  private void pageInAll(B into) {
+    if (spillStore == null) {
+      return;
+    }
+    B bag;
+    while ((bag = pageIn()) != null) {
+      into.merge(bag);
+    }
+  }
+
+  /**
+   * Moves some cold work of this place to disk. The content of the {@link #interPlaceQueue} is
+   * spilled first as it is not being worked on. If it is empty, the bottom of the bag of the
+   * calling worker is spilled instead. Should the work fail to be written, it is kept in the {@link
+   * #intraPlaceQueue}.
+   *
+   * @param bag bag of the calling worker
+   */
+  private void spillColdWork(B bag) {
+    B cold = null;
+    synchronized (intraPlaceQueue) {
+      if (!interQueueEmpty) {
+        cold = queueInitializer.get();
+        drain(interPlaceQueue, cold);
+        interQueueEmpty = true;
+      }
+    }
+    if (cold == null && bag.isSplittable()) {
+      cold =
+          split(
+              bag, false, GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SPILL_FRACTION.get());
+    }
+    if (cold == null || cold.isEmpty()) {
+      return;
+    }
+    try {
+      logger.spilledBytes.addAndGet(spillStore.spill(cold));
+      logger.spilledBags.incrementAndGet();
+    } catch (final IOException e) {
+      console.println("Could not spill work to disk");
+      e.printStackTrace(System.out);
+      synchronized (intraPlaceQueue) {
+        intraPlaceQueue.merge(cold);
+        intraQueueEmpty = false;
+      }
+    }
+  }
+
+  /**
+   * Indicates if the heap usage of this place is above the spill threshold. The heap is checked at
+   * most once every 10 milliseconds, in between this method returns {@code false}.
+   *
+   * @return {@code true} if some work should be moved to disk
+   */
+  private boolean spillNeeded() {
+    final long now = System.nanoTime();
+    if (now < nextSpillCheck) {
+      return false;
+    }
+    nextSpillCheck = now + TimeUnit.MILLISECONDS.toNanos(10);
+    final Runtime runtime = Runtime.getRuntime();
+    final long used = runtime.totalMemory() - runtime.freeMemory();
+    return used
+        > GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SPILL_THRESHOLD.get()
+            * runtime.maxMemory();
+  }
+
+  /**
+   * Obtains an additional worker from the worker budget of this place in multi-job mode. Always
+   * succeeds otherwise.
+   *
+   * @return {@code true} if a new worker can be spawned
+   */
+  private boolean acquireWorker() {
+    if (budgetShare == null || budgetShare.tryAcquire()) {
+      return true;
+    }
+    logger.budgetDenied.incrementAndGet();
+    return false;
+  }
+
+  /**
+   * Stops a worker so that another job of the place can use its thread. The work held by the
+   * worker is moved into the {@link #intraPlaceQueue} where the remaining workers of this
+   * computation pick it up. The last worker of the place is never stopped.
+   *
+   * @param workerBag the worker to stop
+   * @return {@code true} if the worker was stopped, {@code false} if it must continue
+   */
+  private boolean returnWorker(final WorkerBag workerBag) {
+    synchronized (workerBags) {
+      if (workerCount <= 1) {
+        return false;
+      }
+      synchronized (intraPlaceQueue) {
+        drain(workerBag.bag, intraPlaceQueue);
+        logger.intraQueueFed.incrementAndGet();
+        intraQueueEmpty = intraPlaceQueue.isEmpty();
+      }
+      logger.workersReturned.incrementAndGet();
+      logger.workerStealing();
+      stopWorker(workerBag, STEALING);
+    }
+    return true;
+  }
+
+  /**
+   * Wakes up the activities waiting on {@link #workerBags} for a change in the lifecycle of this
+   * place. Must be called while holding the lock of {@link #workerBags}.
+   */
+  private void signalLifecycle() {
+    lifecycleSignalTime = System.nanoTime();
+    workerBags.notifyAll();
+  }
+
+  /**
+   * Changes the {@link #state} of this place. The allowed transitions are:
+   *
+   * <ul>
+   *   <li>{@link #INACTIVE} to {@link #RUNNING} when work is received or a computation starts
+   *   <li>{@link #RUNNING} to {@link #STEALING} when the last worker stops
+   *   <li>{@link #STEALING} to {@link #RUNNING} when a steal brings some work
+   *   <li>{@link #STEALING} or {@link #RUNNING} to {@link #INACTIVE} when the steals failed or the
+   *       computation is cancelled
+   *   <li>any state to {@link #REMOVING} when malleability removes this place
+   * </ul>
+   *
+   * <p>A place being removed never leaves state {@link #REMOVING}, the transitions out of it are
+   * rejected. Other transitions are reported but performed.
+   *
+   * @param next the new state of this place
+   * @return {@code true} if the state was changed, {@code false} if the transition was rejected
+   */
+  private boolean transition(int next) {
+    synchronized (workerBags) {
+      final int current = state;
+      if (current == next) {
+        return true;
+      }
+      if (current == REMOVING) {
+        console.println("rejected state transition " + current + " -> " + next);
+        return false;
+      }
+      if (next == STEALING && current != RUNNING) {
+        console.println("unexpected state transition " + current + " -> " + next);
+      }
+      state = next;
+      signalLifecycle();
+      return true;
+    }
+  }
+
   private void stopWorker(final WorkerBag workerBag, final int newState) {
     synchronized (workerBags) {
       workerBags.add(workerBag);
       workerCount--;
-      if (workerCount == 0 && state != -3) {
-        state = newState; // No more workers, we are now in stealing mode
+      if (budgetShare != null) {
+        budgetShare.release();
+      }
+      if (workerCount == 0) {
+        if (state != REMOVING) {
+          transition(newState); // No more workers, we are now in stealing mode
+        }
+        signalLifecycle(); // The evacuation of this place may proceed
       }
       logger.workerStopped();
       workerLock.unblock(); // A yielding worker can be unlocked.
@@ -1746,28 +3671,31 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
     final B dealBag = queueInitializer.get();
 
     synchronized (workerBags) {
-      state = -3;
-    }
-
-    int myWorkerCount = workerCount;
-    while (myWorkerCount > 0) {
-      workerLock.unblock();
-      synchronized (workerBags) {
-        myWorkerCount = workerCount;
-      }
-      console.println(
-          "synchronized (workerBags): while (this.workerCount > 0): waiting, myWorkerCount="
-              + myWorkerCount
-              + ", workerAvailableLocks.size="
-              + workerAvailableLocks.size()
-              + ", lifelineAnswerThreadExited="
-              + lifelineAnswerThreadExited);
-      console.println("" + POOL);
-      if (myWorkerCount > 0) {
+      transition(REMOVING);
+      // Woken up by stopWorker as soon as the last worker stops. The timeout only serves to unblock
+      // again a worker which yielded after the previous unblock.
+      final long waitStart = System.nanoTime();
+      boolean waited = false;
+      while (workerCount > 0) {
+        console.println(
+            "synchronized (workerBags): while (this.workerCount > 0): waiting, workerCount="
+                + workerCount
+                + ", workerAvailableLocks.size="
+                + workerAvailableLocks.size()
+                + ", lifelineAnswerThreadExited="
+                + lifelineAnswerThreadExited);
+        workerLock.unblock();
         try {
-          TimeUnit.MILLISECONDS.sleep(100);
+          workerBags.wait(100);
         } catch (InterruptedException e) {
         }
+        waited = true;
+      }
+      final long resumed = System.nanoTime();
+      logger.evacuationWaitTime.set(resumed - waitStart);
+      if (waited && lifecycleSignalTime - waitStart > 0) {
+        logger.wakeUpLatency.addAndGet(resumed - lifecycleSignalTime);
+        logger.wakeUps.incrementAndGet();
       }
     }
 
@@ -1795,6 +3723,7 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
           console.println("successful waited for stop all workers");
         }
 
+        pageInAll(dealBag);
         for (final WorkerBag wb : workerBags) {
           dealBag.merge(wb.bag);
           console.println(
@@ -1812,27 +3741,38 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
 
     final PlaceLogger l = logger;
 
-    int target = 0;
-    for (final int i : REVERSE_LIFELINE) {
-      if (!toStop.contains(place(i))) {
-        target = i;
-        break;
+    // The work is divided between several remaining places so that no single place becomes a
+    // hotspot after the shrink. The least loaded of them receives the partial result.
+    final List<Integer> survivors = survivors(toStop);
+    final double[] shares = evacuationShares(survivors, dealBag.getCurrentWorkEstimate());
+    console.println(
+        "dividing remaining tasks between " + survivors + ", shares=" + Arrays.toString(shares));
+    double remaining = 1.0;
+    for (int s = survivors.size() - 1; s >= 0; s--) {
+      final B part;
+      if (s == 0) {
+        part = dealBag;
+      } else if (shares[s] > 0 && dealBag.isSplittable()) {
+        part = dealBag.split(false, shares[s] / remaining);
+        remaining -= shares[s];
+      } else {
+        continue;
       }
+      lootSent.incrementAndGet();
+      asyncAt(
+          place(survivors.get(s)),
+          () -> {
+            console.println(
+                "(in asyncAt) (before deal), part.result="
+                    + part.getResult()
+                    + ", taskCount="
+                    + part.getCurrentTaskCount());
+
+            console.println("(in asyncAt) (before deal), state=" + state);
+            deal(-42, part, null);
+            console.println("(in asyncAt) (after deal), state=" + state);
+          });
     }
-    console.println("found target for sending remaining tasks: " + target);
-    asyncAt(
-        place(target),
-        () -> {
-          console.println(
-              "(in asyncAt) (before deal), dealBag.result="
-                  + dealBag.getResult()
-                  + ", taskCount="
-                  + dealBag.getCurrentTaskCount());
-
-          console.println("(in asyncAt) (before deal), state=" + state);
-          deal(-42, dealBag, null);
-          console.println("(in asyncAt) (after deal), state=" + state);
-        });
 
     immediateAsyncAt(
         toStopCount.home(),
@@ -1842,6 +3782,107 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
         });
   }
 
+  /**
+   * Warms up this place, newly added by a malleable grow, before it joins the computation. The
+   * work sample is computed by the workers of this place without any steal, until the throughput
+   * of two consecutive rounds differs by at most {@link
+   * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_GROW_WARMUP_TOLERANCE} or {@link
+   * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_GROW_WARMUP_ROUNDS} rounds were computed. The
+   * cost and the throughputs of the warm-up are recorded in {@link #logger}.
+   *
+   * @param warmupBagSupplier supplier of the work sample computed in each round
+   */
+  private void growWarmup(SerializableSupplier<B> warmupBagSupplier) {
+    final int maxRounds =
+        GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_GROW_WARMUP_ROUNDS.get();
+    final double tolerance =
+        GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_GROW_WARMUP_TOLERANCE.get();
+    final long start = System.nanoTime();
+    double previous = -1;
+    int rounds = 0;
+    try {
+      while (rounds < maxRounds) {
+        final double throughput = warmupRound(warmupBagSupplier.get());
+        rounds++;
+        console.println("grow warm-up round " + rounds + ": " + throughput + " tasks/s");
+        if (rounds == 1) {
+          logger.growWarmupFirstThroughput = throughput;
+        }
+        logger.growWarmupLastThroughput = throughput;
+        if (previous > 0 && Math.abs(throughput - previous) <= tolerance * previous) {
+          break;
+        }
+        previous = throughput;
+      }
+    } catch (final Throwable t) {
+      console.println("Exception caught during the grow warm-up");
+      t.printStackTrace(System.out);
+    }
+    logger.growWarmupRounds = rounds;
+    logger.growWarmupTime = System.nanoTime() - start;
+  }
+
+  /**
+   * Computes a work sample with the workers of this place. The sample is split between the workers
+   * once at the start, no load balancing takes place afterwards. The result is discarded.
+   *
+   * @param sample the work to compute
+   * @return number of tasks processed per second
+   */
+  private double warmupRound(B sample) {
+    final R sampleResult = resultInitializer.get();
+    final SharedBound sampleBound = new SharedBound(boundMaximize, bound.get(), v -> {});
+    final int workers = GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_WORKERPERPLACE.get();
+    final List<B> parts = new ArrayList<>();
+    parts.add(sample);
+    for (int i = 0; i < parts.size() && parts.size() < workers; i++) {
+      if (parts.get(i).isSplittable()) {
+        parts.add(parts.get(i).split(false));
+      }
+    }
+    // Each part is computed by a worker of the budget of this place, the parts for which no worker
+    // is granted are merged into the first one
+    final WorkerBudget.Share share = budgetShare;
+    if (share != null) {
+      share.acquireFirst();
+      for (int i = 1; i < parts.size(); ) {
+        if (acquireWorker()) {
+          i++;
+        } else {
+          parts.get(0).merge(parts.remove(i));
+        }
+      }
+    }
+
+    final AtomicLong tasks = new AtomicLong();
+    final long start = System.nanoTime();
+    finish(
+        () -> {
+          for (final B part : parts) {
+            async(
+                () -> {
+                  long processed = 0;
+                  try {
+                    while (!part.isEmpty()) {
+                      processed +=
+                          part.process(
+                              GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_N.get(),
+                              sampleResult,
+                              sampleBound);
+                    }
+                  } finally {
+                    if (share != null) {
+                      share.release();
+                    }
+                  }
+                  tasks.addAndGet(processed);
+                });
+          }
+        });
+    final long elapsed = Math.max(1, System.nanoTime() - start);
+    return tasks.get() * 1e9 / elapsed;
+  }
+
   /**
    * Launches a distributed warm-up on each process in the distributed cluster.
    *
@@ -1944,23 +3985,47 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
           console.println("This worker (" + workerBag.workerId + ") stops now because of mall");
           // mall: dirty fix
           logger.workerStealing(); // The worker is now stealing
-          stopWorker(workerBag, -3);
+          stopWorker(workerBag, REMOVING);
+          return;
+        }
+        if (cancelled) {
+          console.println("This worker (" + workerBag.workerId + ") stops now because of cancel");
+          logger.workerStealing();
+          stopWorker(workerBag, STEALING);
+          return;
+        }
+        if (budgetShare != null && budgetShare.shouldReturnWorker() && returnWorker(workerBag)) {
           return;
         }
+        if (checkpointPause) {
+          parkForCheckpoint(workerBag);
+        }
 
         /*
          * 1. Checking if a new worker can be spawned
          */
-        if (!workerBags.isEmpty() && bag.isSplittable()) {
+        if (!workerBags.isEmpty() && bag.isSplittable() && acquireWorker()) {
           final WorkerBag wb = workerBags.poll();
           // polling of workerBags may yield null if a concurrent worker polled
           // the last bag, check is necessary.
+          if (wb == null && budgetShare != null) {
+            budgetShare.release();
+          }
           if (wb != null) {
             // We can spawn a new worker
             synchronized (workerBags) {
               workerCount++;
             }
-            wb.bag.merge(bag.split(false));
+            final B spawnLoot =
+                split(
+                    bag,
+                    false,
+                    GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SPLIT_SPAWN.get());
+            if (balancingRecorder != null) {
+              balancingRecorder.record(
+                  BalancingRecorder.SPAWN, myWorkerID, spawnLoot.getCurrentTaskCount());
+            }
+            wb.bag.merge(spawnLoot);
             // important! new apgas: same as asyncAt(here(), f)
             async(() -> workerProcess(wb));
           }
@@ -1976,7 +4041,16 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
               // other workers with work to pile up on
               // the entrance of this synchronized
               // block
-              intraPlaceQueue.merge(bag.split(false));
+              final B intraLoot =
+                  split(
+                      bag,
+                      false,
+                      GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SPLIT_INTRA.get());
+              if (balancingRecorder != null) {
+                balancingRecorder.record(
+                    BalancingRecorder.FEED_INTRA, myWorkerID, intraLoot.getCurrentTaskCount());
+              }
+              intraPlaceQueue.merge(intraLoot);
               logger.intraQueueFed.incrementAndGet();
               intraQueueEmpty = intraPlaceQueue.isEmpty();
             }
@@ -1989,7 +4063,16 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
         if (feedInterQueueRequested.get(workerBag.workerId) == 1) {
           if (bag.isSplittable()) {
             synchronized (intraPlaceQueue) {
-              interPlaceQueue.merge(bag.split(false));
+              final B interLoot =
+                  split(
+                      bag,
+                      false,
+                      GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_SPLIT_INTER.get());
+              if (balancingRecorder != null) {
+                balancingRecorder.record(
+                    BalancingRecorder.FEED_INTER, myWorkerID, interLoot.getCurrentTaskCount());
+              }
+              interPlaceQueue.merge(interLoot);
               logger.interQueueFed.incrementAndGet();
               interQueueEmpty = interPlaceQueue.isEmpty();
             }
@@ -1998,6 +4081,13 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
           }
         }
 
+        /*
+         * 3b. Moving cold work to disk if the heap is running short
+         */
+        if (spillStore != null && spillNeeded()) {
+          spillColdWork(bag);
+        }
+
         /*
          * 4. Checking if waiting lifelines can be answered
          */
@@ -2010,8 +4100,12 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
         /*
          * 5. Yield if need be
          */
-        if (workerCount == GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_WORKERPERPLACE.get()
-            && (POOL.hasQueuedSubmissions() || lifelineToAnswer)) {
+        final boolean allWorkersBusy =
+            budgetShare != null
+                ? budgetShare.isBudgetExhausted()
+                : workerCount
+                    == GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_WORKERPERPLACE.get();
+        if (allWorkersBusy && (POOL.hasQueuedSubmissions() || lifelineToAnswer)) {
           final Lock l = workerAvailableLocks.poll();
           if (l != null) {
             logger.workerYieldStart();
@@ -2033,9 +4127,12 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
          * 6. Process its bag
          */
         final int processedTasks =
-            bag.process(GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_N.get(), result);
+            bag.process(GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_N.get(), result, bound);
 
         final long allProcessedTasks = logger.processedTasks.addAndGet(processedTasks);
+        if (bag.isCancellationRequested()) {
+          cancel();
+        }
 
         if (Configuration.CONFIG_APGAS_CONSOLEPRINTER.get()) {
           // print only every XX seconds
@@ -2111,8 +4208,14 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
             bag.merge(loot);
           }
 
+        } else if (spillStore != null && !spillStore.isEmpty()) {
+          // Both queues were empty but some work was moved to disk, it is paged back in
+          final B loot = pageIn();
+          if (loot != null) {
+            bag.merge(loot);
+          }
         } else { // Both queues were empty. The worker stops.
-          stopWorker(workerBag, -1);
+          stopWorker(workerBag, STEALING);
           return;
         }
       } // synchronized stealing block
@@ -2155,4 +4258,22 @@ public class GLBcomputer<R extends Fold<R> & Serializable, B extends Bag<B, R> &
       bag.initStaticTasks(workerId);
     }
   }
+
+  /**
+   * Work submitted to a running service along with the place it is destined to.
+   *
+   * @param <B> type of the computation bag
+   */
+  private static final class InjectedWork<B> {
+    /** Id of the place that receives the work */
+    final int place;
+
+    /** The submitted work */
+    final B bag;
+
+    InjectedWork(int place, B bag) {
+      this.place = place;
+      this.bag = bag;
+    }
+  }
 }
@@ -1,34 +1,19 @@
 package handist.glb.multiworker;
 
-import apgas.impl.elastic.GetLoad;
-import java.io.Serializable;
-
 /**
  * Class in charge of obtaining the task-based load on a place.
  *
+ * <p>The load is computed from the work estimates of the bags and queues of the place (see {@link
+ * Bag#getCurrentWorkEstimate()}), which default to their task count.
+ *
  * @author Ashatar
  */
-public class GetTaskLoad implements GetLoad, Serializable {
+public class GetTaskLoad extends TaskLoadEstimator {
   /** Max duration in seconds for a place to have zero tasks. */
   private final long timeTillRemove = 10;
 
-  /** The number of workers per place */
-  private final int worker = GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_WORKERPERPLACE.get();
-
-  /** GLBcomputer object to collect task numbers on a place. */
-  GLBcomputer glbComputer;
-
-  /** The number of tasks in the workerBags of this place at the moment. */
-  private int workerBags;
-
-  /** The number of tasks in the intra-queue of this place at the moment. */
-  private long intraQ;
-
-  /** The number of tasks in the inter-queue of this place at the moment. */
-  private long interQ;
-
-  /** Total task number from bags and queues of this place. */
-  private long totalTasks;
+  /** Total estimated work from bags and queues of this place, in task-equivalents. */
+  private double totalTasks;
 
   /**
    * Elapsed time since this place has zero tasks. Defaults to -1 if place has tasks. Gets reset to
@@ -45,19 +30,17 @@ public class GetTaskLoad implements GetLoad, Serializable {
   /** The current tasks in relation to the number of workers. */
   private double tasksPerWorker;
 
-  public void setGLBcomputer(GLBcomputer glbComputer) {
-    this.glbComputer = glbComputer;
-  }
-
   @Override
   public double getLoad() {
-    workerBags = glbComputer.getTaskCountOfWorkerBags();
-    intraQ = glbComputer.intraPlaceQueue.getCurrentTaskCount();
-    interQ = glbComputer.interPlaceQueue.getCurrentTaskCount();
-    totalTasks = interQ + intraQ + workerBags + glbComputer.workerCount;
-    tasksPerWorker = (double) totalTasks / worker;
+    totalTasks = tasks();
+    tasksPerWorker = totalTasks / worker;
     now = System.nanoTime();
+    final double load = load();
+    log("tasks=" + totalTasks + " inactive=" + inactive, load);
+    return load;
+  }
 
+  private double load() {
     // Shrinking
     if (totalTasks == 0) {
       if (noTasksSince == -1) {
@@ -74,6 +57,7 @@ public class GetTaskLoad implements GetLoad, Serializable {
 
     // Reset inactivity
     noTasksSince = -1;
+    inactive = 0;
 
     // Medium Load / Growing
     if (tasksPerWorker < 1) {
@@ -23,6 +23,12 @@ import java.util.Map;
  */
 public class Logger {
 
+  /**
+   * Time in nanoseconds between the reception of the cancellation order on place 0 and the end of
+   * the computation, or -1 if the computation was not cancelled.
+   */
+  public long cancellationLatency = -1;
+
   /** Elapsed computation time in nanosecond */
   public long computationTime;
 
@@ -84,6 +90,9 @@ public class Logger {
     out.println("Initialization time (s); " + initializationTime / 1e9);
     out.println("Computation time (s); " + computationTime / 1e9);
     out.println("Result gathering (s); " + resultGatheringTime / 1e9);
+    if (cancellationLatency >= 0) {
+      out.println("Cancellation latency (s); " + cancellationLatency / 1e9);
+    }
 
     // Print the general counters for each place
     out.println(
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker;
+
+import apgas.Place;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the places taking part in a computation, as seen by one place.
+ *
+ * <p>A new snapshot with a higher {@link #version()} is built each time places are added or
+ * removed, and replaces the previous one atomically. The steal paths can then check the validity
+ * of a place in constant time and draw random victims without holding any lock.
+ */
+final class MembershipView {
+
+  /** Ids of the places of this view, in increasing order */
+  private final int[] live;
+
+  /** Flag for each place id, set if the place is part of this view */
+  private final boolean[] member;
+
+  /** Version of this view, incremented with each change of the places */
+  private final long version;
+
+  /**
+   * Builds the view of the given places
+   *
+   * @param places places taking part in the computation
+   * @param removed ids of the places removed from the computation, excluded from the view even if
+   *     they are part of {@code places}
+   * @param version version of the new view
+   */
+  MembershipView(List<? extends Place> places, Set<Integer> removed, long version) {
+    this.version = version;
+    int highest = -1;
+    for (final Place p : places) {
+      highest = Math.max(highest, p.id);
+    }
+    member = new boolean[highest + 1];
+    int count = 0;
+    for (final Place p : places) {
+      if (!removed.contains(p.id) && !member[p.id]) {
+        member[p.id] = true;
+        count++;
+      }
+    }
+    live = new int[count];
+    for (int id = 0, i = 0; id < member.length; id++) {
+      if (member[id]) {
+        live[i++] = id;
+      }
+    }
+  }
+
+  /**
+   * Indicates if the given place is part of this view
+   *
+   * @param id id of the place
+   * @return {@code true} if the place takes part in the computation
+   */
+  boolean contains(int id) {
+    return id >= 0 && id < member.length && member[id];
+  }
+
+  /**
+   * Draws a place of this view uniformly at random, excluding the given place
+   *
+   * @param random random generator to use
+   * @param exclude id of the place which cannot be drawn, usually the calling place
+   * @return the id of the place drawn, or -1 if there is no other place in this view
+   */
+  int sample(Random random, int exclude) {
+    final int excluded = contains(exclude) ? Arrays.binarySearch(live, exclude) : live.length;
+    final int candidates = excluded < live.length ? live.length - 1 : live.length;
+    if (candidates <= 0) {
+      return -1;
+    }
+    final int i = random.nextInt(candidates);
+    return live[i < excluded ? i : i + 1];
+  }
+
+  /**
+   * Number of places in this view
+   *
+   * @return number of places taking part in the computation
+   */
+  int size() {
+    return live.length;
+  }
+
+  @Override
+  public String toString() {
+    return "v" + version + Arrays.toString(live);
+  }
+
+  /**
+   * Version of this view
+   *
+   * @return the version, higher than the one of all the previous views of this place
+   */
+  long version() {
+    return version;
+  }
+}
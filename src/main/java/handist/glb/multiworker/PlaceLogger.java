@@ -32,6 +32,63 @@ public class PlaceLogger implements Serializable {
   /** Integer identifier of the place this logger is responsible for */
   public final int place;
 
+  /** Number of times a worker of this place improved the shared bound */
+  public AtomicLong boundImprovements = new AtomicLong(0);
+
+  /**
+   * Accumulated delay in milliseconds between the broadcast of a bound by another place and its
+   * adoption on this place. Only updates that improved the local copy are counted.
+   */
+  public AtomicLong boundPropagationDelay = new AtomicLong(0);
+
+  /** Number of bounds received from other places that improved the local copy */
+  public AtomicLong boundUpdatesAdopted = new AtomicLong(0);
+
+  /** Number of bounds received from other places */
+  public AtomicLong boundUpdatesReceived = new AtomicLong(0);
+
+  /** Number of load balancing decisions recorded, or replayed, by this place */
+  public AtomicLong balancingEvents = new AtomicLong(0);
+
+  /** Number of load balancing decisions of the replayed log that this place could not follow */
+  public AtomicLong balancingDivergences = new AtomicLong(0);
+
+  /** Total size in bytes of the checkpoints written by this place */
+  public AtomicLong checkpointBytes = new AtomicLong(0);
+
+  /** Time in nanoseconds during which the workers were parked for checkpoints */
+  public AtomicLong checkpointPauseTime = new AtomicLong(0);
+
+  /** Number of checkpoints abandoned because the work in transit did not drain in time */
+  public AtomicLong checkpointsSkipped = new AtomicLong(0);
+
+  /** Number of checkpoints written by this place */
+  public AtomicLong checkpointsTaken = new AtomicLong(0);
+
+  /** Time in nanoseconds spent writing checkpoints to their file */
+  public AtomicLong checkpointWriteTime = new AtomicLong(0);
+
+  /** Number of times a worker could not be spawned because of the worker budget */
+  public AtomicLong budgetDenied = new AtomicLong(0);
+
+  /**
+   * Time in nanoseconds between the reception of a cancellation order by this place and the moment
+   * its last worker stopped, or -1 if the computation was not cancelled.
+   */
+  public long cancellationStopTime = -1;
+
+  /** Throughput in tasks per second of the first grow warm-up round of this place */
+  public double growWarmupFirstThroughput;
+
+  /** Throughput in tasks per second of the last grow warm-up round of this place */
+  public double growWarmupLastThroughput;
+
+  /** Number of rounds of the grow warm-up of this place, 0 if it did not warm up */
+  public int growWarmupRounds = 0;
+
+  /** Time in nanoseconds this place spent warming up after being added by a malleable grow */
+  public long growWarmupTime = 0;
+
   /** Records the number of times some work was put into the inter queue */
   public AtomicLong interQueueFed = new AtomicLong(0);
 
@@ -50,6 +107,12 @@ public class PlaceLogger implements Serializable {
   /** Time stamp of the last event regarding worker stealing was recorded */
   public long lastWorkerStealingTimeStamp;
 
+  /**
+   * Accumulated time in nanoseconds between the establishment of a lifeline by this place and the
+   * reception of loot through it
+   */
+  public AtomicLong lifelineStealLatency = new AtomicLong(0);
+
   /** Number of lifeline steals attempted by this place */
   public AtomicLong lifelineStealsAttempted = new AtomicLong(0);
 
@@ -90,6 +153,39 @@ public class PlaceLogger implements Serializable {
   /** Records the number of times some work was put into the inter queue */
   public AtomicLong processedTasks = new AtomicLong(0);
 
+  /**
+   * Time in nanoseconds this place waited for its workers to stop before its work could be
+   * evacuated, or -1 if the place was not removed
+   */
+  public AtomicLong evacuationWaitTime = new AtomicLong(-1);
+
+  /** Number of times the lifeline answer thread of this place was spawned */
+  public AtomicLong restarts = new AtomicLong(0);
+
+  /**
+   * Accumulated time in nanoseconds new lifeline answer threads waited for the previous one to
+   * exit
+   */
+  public AtomicLong restartWaitTime = new AtomicLong(0);
+
+  /**
+   * Accumulated time in nanoseconds between the notification of a change in the lifecycle of this
+   * place and the resumption of the activity waiting for it
+   */
+  public AtomicLong wakeUpLatency = new AtomicLong(0);
+
+  /** Number of times an activity waiting for a change in the lifecycle of this place resumed */
+  public AtomicLong wakeUps = new AtomicLong(0);
+
+  /** Number of spilled bags paged back in by this place */
+  public AtomicLong pagedInBags = new AtomicLong(0);
+
+  /** Number of bags this place moved to disk */
+  public AtomicLong spilledBags = new AtomicLong(0);
+
+  /** Total size in bytes of the bags this place moved to disk */
+  public AtomicLong spilledBytes = new AtomicLong(0);
+
   /** Number of random steals attempted by this place */
   public AtomicLong stealsAttempted = new AtomicLong(0);
 
@@ -102,6 +198,12 @@ public class PlaceLogger implements Serializable {
   /** Number of random steals that other places successfully attempted on this place */
   public AtomicLong stealsSuffered = new AtomicLong(0);
 
+  /** Number of workers stopped to give their thread to another job in multi-job mode */
+  public AtomicLong workersReturned = new AtomicLong(0);
+
+  /** Number of bags submitted to this place while the computation was running */
+  public AtomicLong workInjected = new AtomicLong(0);
+
   /**
    * Array that Tracks the time spent by the place running 'index' number of workers. This
    * information is gathered by computing the difference between timestamps obtained by calling
@@ -224,17 +326,82 @@ public class PlaceLogger implements Serializable {
         "This place succeeded     " + lifelineStealsSuccess + "/" + lifelineStealsAttempted);
     out.println(
         "Other places succeeded   " + lifelineStealsSuffered + "/" + lifelineStealsReceived);
+    out.println(
+        "Average latency (ms)     "
+            + (lifelineStealsSuccess.get() == 0
+                ? 0
+                : lifelineStealLatency.get() / 1e6 / lifelineStealsSuccess.get()));
     out.println("------------- Lifeline Thread ----------------");
     out.println("Active   (s) " + lifelineThreadActive / 1e9);
     out.println("Inactive (s) " + lifelineThreadInactive / 1e9);
     out.println("On Hold  (s) " + lifelineThreadHold / 1e9);
     out.println("Woken up a total of " + lifelineThreadWokenUp + " times");
+    out.println("--------------- Shared Bound -----------------");
+    out.println("Improvements found     " + boundImprovements);
+    out.println("Updates adopted        " + boundUpdatesAdopted + "/" + boundUpdatesReceived);
+    out.println(
+        "Average delay (ms)     "
+            + (boundUpdatesAdopted.get() == 0
+                ? 0
+                : (double) boundPropagationDelay.get() / boundUpdatesAdopted.get()));
+    if (GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_MULTIJOB.get()) {
+      out.println("--------------- Worker Budget ----------------");
+      out.println("Spawns denied          " + budgetDenied);
+      out.println("Workers returned       " + workersReturned);
+    }
+    if (checkpointsTaken.get() > 0 || checkpointsSkipped.get() > 0) {
+      out.println("---------------- Checkpoints -----------------");
+      out.println("Taken/skipped          " + checkpointsTaken + "/" + checkpointsSkipped);
+      out.println("Bytes written          " + checkpointBytes);
+      out.println("Workers parked (s)     " + checkpointPauseTime.get() / 1e9);
+      out.println("Writing (s)            " + checkpointWriteTime.get() / 1e9);
+    }
+    if (balancingEvents.get() > 0 || balancingDivergences.get() > 0) {
+      out.println("------------- Balancing Log ------------------");
+      out.println("Decisions logged       " + balancingEvents);
+      out.println("Replay divergences     " + balancingDivergences);
+    }
+    if (spilledBags.get() > 0) {
+      out.println("------------------- Spill --------------------");
+      out.println("Bags spilled/paged in  " + spilledBags + "/" + pagedInBags);
+      out.println("Bytes spilled          " + spilledBytes);
+    }
+    if (growWarmupRounds > 0) {
+      out.println("--------------- Grow Warm-up -----------------");
+      out.println("Rounds                 " + growWarmupRounds);
+      out.println("Time (s)               " + growWarmupTime / 1e9);
+      out.println(
+          "Throughput (tasks/s)   "
+              + growWarmupFirstThroughput
+              + " -> "
+              + growWarmupLastThroughput);
+      out.println(
+          "Speed-up               "
+              + (growWarmupFirstThroughput == 0
+                  ? 0
+                  : growWarmupLastThroughput / growWarmupFirstThroughput));
+    }
+    out.println("------------------ Lifecycle -----------------");
+    out.println("Restarts               " + restarts);
+    out.println("Waiting on restart (s) " + restartWaitTime.get() / 1e9);
+    if (evacuationWaitTime.get() >= 0) {
+      out.println("Waiting on evacuation (s) " + evacuationWaitTime.get() / 1e9);
+    }
+    out.println(
+        "Average wake-up (ms)   "
+            + (wakeUps.get() == 0 ? 0 : wakeUpLatency.get() / 1e6 / wakeUps.get()));
     out.println("------------------ Runtime -------------------");
     for (int i = 0; i < time.length; i++) {
       out.println("Time spent with " + i + " workers (s): " + (time[i] / 1e9));
     }
     out.println("Time spent yielding (s) " + yieldingTime / 1e9);
+    if (cancellationStopTime >= 0) {
+      out.println("Stopped after cancellation (s) " + cancellationStopTime / 1e9);
+    }
     out.println("Number of processed tasks " + processedTasks);
+    if (workInjected.get() > 0) {
+      out.println("Number of bags injected   " + workInjected);
+    }
     out.println("----------------------------------------------");
   }
 
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Incumbent bound of a branch-and-bound computation shared by all the places of the computation.
+ *
+ * <p>Each place holds its own copy of the bound, which the workers read through {@link #get()} at
+ * the cost of a volatile read. When a worker finds a better solution, it calls {@link
+ * #offer(double)}. If the offered value improves the local copy, the {@link GLBcomputer} broadcasts
+ * it asynchronously to all the other places where it is combined with their own copy. Values are
+ * combined monotonically: a copy only ever moves in the direction of the optimisation, so that
+ * messages arriving late or out of order are harmless.
+ *
+ * <p>The direction of the optimisation and the initial value of the bound are set on all places
+ * with method {@link GLBcomputer#setBound(boolean, double)} prior to the computation.
+ */
+public final class SharedBound {
+
+  /** Indicates if larger values are better ({@code true}) or smaller ones ({@code false}) */
+  private final boolean maximize;
+
+  /** Bits of the current value of the bound as given by {@link Double#doubleToLongBits(double)} */
+  private final AtomicLong value;
+
+  /** Called with the new value whenever a local {@link #offer(double)} improves the bound */
+  private final DoubleConsumer onImprovement;
+
+  /**
+   * Constructor (package visibility)
+   *
+   * @param maximize {@code true} if larger values are better, {@code false} otherwise
+   * @param initialValue initial value of the bound
+   * @param onImprovement called with the new value when a local offer improves the bound
+   */
+  SharedBound(boolean maximize, double initialValue, DoubleConsumer onImprovement) {
+    this.maximize = maximize;
+    this.value = new AtomicLong(Double.doubleToLongBits(initialValue));
+    this.onImprovement = onImprovement;
+  }
+
+  /**
+   * Combines the given value with the local copy of the bound without propagating it further.
+   *
+   * @param candidate the value to combine with the bound
+   * @return {@code true} if the local copy was improved, {@code false} otherwise
+   */
+  boolean combine(double candidate) {
+    for (; ; ) {
+      final long current = value.get();
+      if (!isBetter(candidate, Double.longBitsToDouble(current))) {
+        return false;
+      }
+      if (value.compareAndSet(current, Double.doubleToLongBits(candidate))) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Returns the local copy of the bound. It may lag behind the best value known on other places by
+   * the time needed for an improvement to be broadcast.
+   *
+   * @return the best value known on this place
+   */
+  public double get() {
+    return Double.longBitsToDouble(value.get());
+  }
+
+  /**
+   * Indicates if the given value is strictly better than the current bound. Bags use this method to
+   * prune the parts of the search space whose optimistic estimate cannot beat the incumbent.
+   *
+   * @param candidate the value to compare to the bound
+   * @return {@code true} if {@code candidate} improves the bound
+   */
+  public boolean isBetter(double candidate) {
+    return isBetter(candidate, get());
+  }
+
+  private boolean isBetter(double candidate, double current) {
+    return maximize ? candidate > current : candidate < current;
+  }
+
+  /**
+   * Indicates the direction of the optimisation
+   *
+   * @return {@code true} if larger values are better, {@code false} if smaller ones are
+   */
+  public boolean isMaximize() {
+    return maximize;
+  }
+
+  /**
+   * Offers a new solution value. If it improves the bound of this place, it is broadcast to all the
+   * other places of the computation.
+   *
+   * @param candidate value of a solution found by the caller
+   * @return {@code true} if the bound was improved, {@code false} otherwise
+   */
+  public boolean offer(double candidate) {
+    if (combine(candidate)) {
+      onImprovement.accept(candidate);
+      return true;
+    }
+    return false;
+  }
+}
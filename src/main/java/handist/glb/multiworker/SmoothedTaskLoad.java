@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker;
+
+/**
+ * Task-based load measure which follows the trend of the load of a place rather than its state at
+ * the moment of the request, so that bursty computations do not make the evolving runtime add and
+ * remove places back and forth.
+ *
+ * <p>Each estimate updates exponentially smoothed figures of the work held by the place, of the
+ * ratio of its workers which are idle and of the number of tasks it processes per second. The load
+ * is the work held per worker, capped at one, times the ratio of busy workers. The place is only
+ * reported as removable once it held no work and processed no task for {@link #TIME_TILL_REMOVE}
+ * seconds. A new load is only reported if it differs from the last one reported by at least {@link
+ * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_LOAD_HYSTERESIS}, or if it is one of the bounds
+ * 0 and 100.
+ *
+ * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_LOAD_ALPHA
+ */
+public class SmoothedTaskLoad extends TaskLoadEstimator {
+
+  /** Duration in seconds for which a place must be idle before it is reported as removable */
+  public static final long TIME_TILL_REMOVE = 10;
+
+  /** Serial Version UID */
+  private static final long serialVersionUID = -2243957164810392306L;
+
+  /** Weight of the latest sample in the smoothed figures */
+  private final double alpha = GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_LOAD_ALPHA.get();
+
+  /** Minimum change of load reported */
+  private final double hysteresis =
+      GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_LOAD_HYSTERESIS.get();
+
+  /** Time stamp since which the place is idle, -1 if it is not */
+  private long idleSince = -1;
+
+  /** Number of tasks processed at the previous estimate */
+  private long lastProcessed;
+
+  /** Time stamp of the previous estimate, -1 before the first one */
+  private long lastTime = -1;
+
+  /** Last load reported, -1 before the first estimate */
+  private double reported = -1;
+
+  /** Smoothed ratio of idle workers */
+  private double smoothedIdle;
+
+  /** Smoothed work held by the place, in task-equivalents */
+  private double smoothedTasks;
+
+  /** Smoothed number of tasks processed per second */
+  private double smoothedThroughput;
+
+  @Override
+  public synchronized double getLoad() {
+    final long now = System.nanoTime();
+    final double tasks = tasks();
+    final int busy = busyWorkers();
+    final long processed = processedTasks();
+    final double idle = 1 - (double) Math.min(busy, worker) / worker;
+
+    if (lastTime < 0) {
+      smoothedTasks = tasks;
+      smoothedIdle = idle;
+      smoothedThroughput = 0;
+    } else {
+      // The task counter starts over with each computation
+      final long done = processed < lastProcessed ? processed : processed - lastProcessed;
+      final double elapsed = (now - lastTime) / 1e9;
+      smoothedTasks = smooth(smoothedTasks, tasks);
+      smoothedIdle = smooth(smoothedIdle, idle);
+      if (elapsed > 0) {
+        smoothedThroughput = smooth(smoothedThroughput, done / elapsed);
+      }
+    }
+    lastTime = now;
+    lastProcessed = processed;
+
+    double load;
+    if (tasks == 0 && smoothedTasks < 1 && smoothedThroughput < 1) {
+      if (idleSince == -1) {
+        idleSince = now;
+      }
+      load = (now - idleSince) / 1e9 > TIME_TILL_REMOVE ? 0 : 0.01;
+    } else {
+      idleSince = -1;
+      load = 100 * Math.min(1, smoothedTasks / worker) * (1 - smoothedIdle);
+    }
+
+    final double raw = load;
+    if (reported >= 0 && load != 0 && load != 100 && Math.abs(load - reported) < hysteresis) {
+      load = reported;
+    }
+    reported = load;
+
+    log(
+        "tasks="
+            + tasks
+            + " smoothedTasks="
+            + smoothedTasks
+            + " idle="
+            + idle
+            + " smoothedIdle="
+            + smoothedIdle
+            + " throughput="
+            + smoothedThroughput
+            + " raw="
+            + raw,
+        load);
+    return load;
+  }
+
+  private double smooth(double smoothed, double sample) {
+    return alpha * sample + (1 - alpha) * smoothed;
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker;
+
+import apgas.util.ConsolePrinter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Local storage for the work a place moves out of its heap when it runs short of memory.
+ *
+ * <p>Each spilled bag is serialized into its own memory-mapped file and the file is deleted when
+ * the bag is paged back in. Bags are paged back in the reverse order in which they were spilled.
+ *
+ * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_SPILL_THRESHOLD
+ */
+final class SpillStore {
+
+  /** Printing Helper */
+  private static final ConsolePrinter console = ConsolePrinter.getInstance();
+
+  /** Directory holding the files */
+  private final String directory;
+
+  /** Prefix of the names of the files of this place */
+  private final String prefix;
+
+  /** Files of the bags currently spilled, the most recent last */
+  private final Deque<Path> segments = new ArrayDeque<>();
+
+  /** Sequence number of the next file */
+  private long sequence;
+
+  /**
+   * Constructor
+   *
+   * @param directory directory in which the files are kept
+   * @param placeId id of the place whose work is spilled
+   */
+  SpillStore(String directory, int placeId) {
+    this.directory = directory;
+    prefix = "glb-spill-" + placeId + "-" + System.nanoTime() + "-";
+  }
+
+  /** Deletes all the bags currently spilled */
+  synchronized void clear() {
+    for (final Path p : segments) {
+      delete(p);
+    }
+    segments.clear();
+  }
+
+  private void delete(Path p) {
+    try {
+      Files.deleteIfExists(p);
+    } catch (final IOException e) {
+      console.println("Could not delete spilled bag " + p);
+      e.printStackTrace(System.out);
+    }
+  }
+
+  /**
+   * Indicates if no bag is currently spilled
+   *
+   * @return {@code true} if there is nothing to page in
+   */
+  synchronized boolean isEmpty() {
+    return segments.isEmpty();
+  }
+
+  /**
+   * Pages the most recently spilled bag back in
+   *
+   * @return the bag, or {@code null} if no bag is spilled
+   * @throws IOException if the bag cannot be read back
+   */
+  Object pageIn() throws IOException {
+    final byte[] data = pageInBytes();
+    return data == null ? null : deserialize(data);
+  }
+
+  /**
+   * Deserializes a bag spilled by this class
+   *
+   * @param data the serialized bag
+   * @return the bag
+   * @throws IOException if the data cannot be deserialized
+   */
+  static Object deserialize(byte[] data) throws IOException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+      return in.readObject();
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * Pages the most recently spilled bag back in without deserializing it
+   *
+   * @return the serialized bag, or {@code null} if no bag is spilled
+   * @throws IOException if the bag cannot be read back
+   */
+  byte[] pageInBytes() throws IOException {
+    final Path file;
+    synchronized (this) {
+      file = segments.pollLast();
+    }
+    if (file == null) {
+      return null;
+    }
+    final byte[] data = read(file);
+    delete(file);
+    return data;
+  }
+
+  private static byte[] read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      final byte[] data = new byte[buffer.capacity()];
+      buffer.get(data);
+      return data;
+    }
+  }
+
+  /**
+   * Gives a copy of all the bags currently spilled without paging them in
+   *
+   * @return the serialized bags
+   * @throws IOException if a bag cannot be read
+   */
+  synchronized List<byte[]> snapshot() throws IOException {
+    final List<byte[]> all = new ArrayList<>(segments.size());
+    for (final Path p : segments) {
+      all.add(read(p));
+    }
+    return all;
+  }
+
+  /**
+   * Moves a bag to disk
+   *
+   * @param bag the bag to spill
+   * @return the number of bytes written
+   * @throws IOException if the bag cannot be written
+   */
+  int spill(Serializable bag) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(bag);
+    }
+    spillBytes(bytes.toByteArray());
+    return bytes.size();
+  }
+
+  /**
+   * Moves an already serialized bag to disk
+   *
+   * @param data the serialized bag
+   * @throws IOException if the bag cannot be written
+   */
+  void spillBytes(byte[] data) throws IOException {
+    final Path file;
+    synchronized (this) {
+      file = Paths.get(directory, prefix + sequence++ + ".bin");
+    }
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      channel.map(FileChannel.MapMode.READ_WRITE, 0, data.length).put(data);
+    }
+    synchronized (this) {
+      segments.addLast(file);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker;
+
+import apgas.impl.elastic.GetLoad;
+import apgas.util.ConsolePrinter;
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Task-based load measure reported by a place to the evolving runtime, between 0 (the place can be
+ * released) and 100 (the place has more work than its workers can process).
+ *
+ * <p>Implementations read the state of the place through the sampling methods of this class and
+ * report the inputs of each of their estimates with {@link #log(String, double)}. The
+ * implementation used is chosen with {@link
+ * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_LOAD_POLICY}.
+ */
+public abstract class TaskLoadEstimator implements GetLoad, Serializable {
+
+  /** Printing Helper */
+  private static final ConsolePrinter console = ConsolePrinter.getInstance();
+
+  /** Serial Version UID */
+  private static final long serialVersionUID = 3527086950416921583L;
+
+  /**
+   * Creates the load estimator selected by the configuration for the given computer
+   *
+   * @param computer the computer whose load is to be estimated
+   * @return a new load estimator bound to {@code computer}
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_LOAD_POLICY
+   */
+  public static TaskLoadEstimator create(GLBcomputer<?, ?> computer) {
+    final String policy = GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_LOAD_POLICY.get();
+    TaskLoadEstimator estimator;
+    switch (policy) {
+      case "snapshot":
+        estimator = new GetTaskLoad();
+        break;
+      case "smoothed":
+        estimator = new SmoothedTaskLoad();
+        break;
+      default:
+        try {
+          estimator =
+              (TaskLoadEstimator) Class.forName(policy).getDeclaredConstructor().newInstance();
+        } catch (NoSuchMethodException
+            | InvocationTargetException
+            | InstantiationException
+            | IllegalAccessException
+            | ClassNotFoundException e) {
+          console.println("Unknown load policy " + policy + ", using the snapshot policy");
+          e.printStackTrace(System.out);
+          estimator = new GetTaskLoad();
+        }
+    }
+    estimator.setGLBcomputer(computer);
+    return estimator;
+  }
+
+  /** GLBcomputer object to collect task numbers on a place. */
+  GLBcomputer<?, ?> glbComputer;
+
+  /** Prints the inputs of every estimate if set */
+  private final boolean log = GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_LOAD_LOG.get();
+
+  /** The number of workers per place */
+  protected final int worker =
+      GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_WORKERPERPLACE.get();
+
+  /**
+   * Gives the number of workers currently running on the place
+   *
+   * @return number of running workers
+   */
+  protected int busyWorkers() {
+    return glbComputer.workerCount;
+  }
+
+  /**
+   * Prints the inputs of an estimate if {@link
+   * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_LOAD_LOG} is set
+   *
+   * @param inputs description of the figures the estimate was computed from
+   * @param load the load reported
+   */
+  protected void log(String inputs, double load) {
+    if (log) {
+      console.printlnAlways(
+          "load "
+              + getClass().getSimpleName()
+              + " "
+              + glbComputer.HOME
+              + " t="
+              + System.nanoTime()
+              + " "
+              + inputs
+              + " load="
+              + load);
+    }
+  }
+
+  /**
+   * Gives the total number of tasks processed by the place during the current computation
+   *
+   * @return number of processed tasks
+   */
+  protected long processedTasks() {
+    final PlaceLogger logger = glbComputer.logger;
+    return logger == null ? 0 : logger.processedTasks.get();
+  }
+
+  /**
+   * Binds this estimator to the computer whose load it estimates
+   *
+   * @param glbComputer the computer of this place
+   */
+  public void setGLBcomputer(GLBcomputer<?, ?> glbComputer) {
+    this.glbComputer = glbComputer;
+  }
+
+  /**
+   * Gives the work held by the place, counting each running worker as one task
+   *
+   * @return estimated work of the place, in task-equivalents
+   * @see Bag#getCurrentWorkEstimate()
+   */
+  protected double tasks() {
+    return glbComputer.getPendingWorkEstimate() + glbComputer.workerCount;
+  }
+}
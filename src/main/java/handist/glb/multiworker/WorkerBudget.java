@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Worker budget of a place shared by all the {@link GLBcomputer} instances (jobs) running
+ * concurrently on it in multi-job mode.
+ *
+ * <p>The budget holds {@link GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_WORKERPERPLACE}
+ * workers. Each job that currently has workers on the place, or is waiting for one, is entitled to
+ * a share of the budget proportional to its weight (policy "weighted") or to an equal share (policy
+ * "fair"), with a minimum of one worker. A job may borrow the workers other jobs do not use, but it
+ * gives them back as soon as a job under its share asks for a worker: {@link
+ * Share#shouldReturnWorker()} then tells the workers of the borrowing job to stop. The first worker
+ * of a job is always granted, even beyond the budget, so that every job keeps progressing.
+ *
+ * <p>Jobs with different {@link Bag} types cannot exchange work. Work stealing therefore remains
+ * internal to each job, the budget only moving workers between them.
+ *
+ * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_MULTIJOB
+ */
+public final class WorkerBudget {
+
+  /** Budget of this place, created on first use */
+  private static WorkerBudget instance;
+
+  /**
+   * Returns the budget of this place
+   *
+   * @return the worker budget shared by the jobs of this place
+   */
+  static synchronized WorkerBudget getInstance() {
+    if (instance == null) {
+      instance =
+          new WorkerBudget(
+              GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_WORKERPERPLACE.get(),
+              GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_MULTIJOB_POLICY
+                  .get()
+                  .equals("weighted"));
+    }
+    return instance;
+  }
+
+  /** Number of workers this place can run concurrently */
+  private final int capacity;
+
+  /** Number of workers currently running on this place, all jobs included */
+  private volatile int inUse;
+
+  /** Shares of the jobs registered on this place */
+  private final List<Share> shares = new ArrayList<>();
+
+  /** Number of jobs waiting for a worker they are entitled to */
+  private volatile int waitingJobs;
+
+  /** {@code true} if shares are proportional to the weights of the jobs */
+  private final boolean weighted;
+
+  /**
+   * Constructor (package visibility)
+   *
+   * @param capacity number of workers shared by the jobs
+   * @param weighted {@code true} for shares proportional to the weights of the jobs, {@code false}
+   *     for equal shares
+   */
+  WorkerBudget(int capacity, boolean weighted) {
+    this.capacity = capacity;
+    this.weighted = weighted;
+  }
+
+  /**
+   * Computes the number of workers the given job is entitled to, considering the jobs that are
+   * active. Must be called while holding the monitor of this instance.
+   */
+  private int entitlement(Share s) {
+    double total = 0;
+    for (final Share other : shares) {
+      if (other == s || other.used > 0 || other.waiting) {
+        total += weighted ? other.weight : 1;
+      }
+    }
+    final double mine = weighted ? s.weight : 1;
+    return Math.max(1, (int) (capacity * mine / total));
+  }
+
+  /**
+   * Registers a new job on this place
+   *
+   * @param weight weight of the job, only used with policy "weighted"
+   * @return the share of the job
+   */
+  synchronized Share register(double weight) {
+    final Share s = new Share(weight);
+    shares.add(s);
+    return s;
+  }
+
+  private void setWaiting(Share s, boolean w) {
+    if (s.waiting != w) {
+      s.waiting = w;
+      waitingJobs += w ? 1 : -1;
+    }
+  }
+
+  /** Share of the worker budget held by a job (package visibility) */
+  final class Share {
+
+    /** Number of workers of this job running on this place */
+    private volatile int used;
+
+    /** Flag set when this job was refused a worker it is entitled to */
+    private volatile boolean waiting;
+
+    /** Weight of the job */
+    final double weight;
+
+    private Share(double weight) {
+      this.weight = weight;
+    }
+
+    /** Accounts for the first worker of a job on this place, which is always granted */
+    void acquireFirst() {
+      synchronized (WorkerBudget.this) {
+        used++;
+        inUse++;
+        setWaiting(this, false);
+      }
+    }
+
+    /**
+     * Indicates if all the workers of the budget are in use, in which case workers yield their
+     * thread to the other activities of the place
+     *
+     * @return {@code true} if no more workers can be granted
+     */
+    boolean isBudgetExhausted() {
+      return inUse >= capacity;
+    }
+
+    /** Gives back a worker of this job to the budget */
+    void release() {
+      synchronized (WorkerBudget.this) {
+        used--;
+        inUse--;
+        if (used == 0) {
+          setWaiting(this, false);
+        }
+      }
+    }
+
+    /**
+     * Indicates if a worker of this job should stop to let a job under its share run. The last
+     * worker of a job is never asked to stop.
+     *
+     * @return {@code true} if a worker of this job should be given back to the budget
+     */
+    boolean shouldReturnWorker() {
+      if (waitingJobs == 0 || used <= 1) {
+        return false;
+      }
+      synchronized (WorkerBudget.this) {
+        return !waiting && used > entitlement(this);
+      }
+    }
+
+    /**
+     * Attempts to obtain an additional worker for this job
+     *
+     * @return {@code true} if the worker was granted, {@code false} otherwise
+     */
+    boolean tryAcquire() {
+      if (inUse >= capacity && waiting) {
+        return false; // Already known to be waiting, avoids contention on the budget
+      }
+      synchronized (WorkerBudget.this) {
+        final boolean entitled = used < entitlement(this);
+        if (inUse < capacity && (entitled || waitingJobs == 0)) {
+          used++;
+          inUse++;
+          setWaiting(this, false);
+          return true;
+        }
+        setWaiting(this, entitled);
+        return false;
+      }
+    }
+
+    /** Removes this job from the budget at the end of its computation on this place */
+    void unregister() {
+      synchronized (WorkerBudget.this) {
+        setWaiting(this, false);
+        inUse -= used;
+        used = 0;
+        shares.remove(this);
+      }
+    }
+  }
+}
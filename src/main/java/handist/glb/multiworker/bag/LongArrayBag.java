@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker.bag;
+
+import handist.glb.multiworker.Bag;
+import handist.glb.multiworker.Fold;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * Abstract {@link Bag} whose tasks are records of a fixed number of {@code long} fields, all
+ * stored in a single array. Counterpart of {@link IntArrayBag} for tasks whose fields do not fit in
+ * an {@code int}.
+ *
+ * <p>The records form a stack: {@link #pushRecord()} adds a record on top and {@link #popRecord()}
+ * removes the record on top, both returning the offset in {@link #tasks} of the first field of the
+ * record. Splits take the requested fraction of the records from the bottom of the stack, which
+ * for depth-first workloads holds the tasks closest to the root, and move them in a single array
+ * copy. Merges append the records of the other bag on top of this one in the same manner.
+ *
+ * <p>Only the records currently held are serialized. Implementations whose fields are mostly small
+ * values can override {@link #isCompactSerialization()} to encode each field on as few bytes as its
+ * value needs.
+ *
+ * @param <B> the implementing class itself
+ * @param <R> result type of the computation
+ */
+public abstract class LongArrayBag<B extends LongArrayBag<B, R>, R extends Fold<R> & Serializable>
+    implements Bag<B, R>, Serializable {
+
+  private static final long serialVersionUID = 5870283126740913541L;
+
+  /**
+   * Storage of the records. Record {@code i} from the bottom of the stack starts at index {@code
+   * (head + i) * width}.
+   */
+  protected transient long[] tasks;
+
+  /** Index of the record at the bottom of the stack */
+  private transient int head;
+
+  /** Number of records currently held */
+  private transient int size;
+
+  /** Number of {@code long} fields of each record */
+  protected final int width;
+
+  /**
+   * Constructor
+   *
+   * @param width number of {@code long} fields of each record
+   * @param initialCapacity number of records that can be held before the storage needs to grow
+   */
+  protected LongArrayBag(int width, int initialCapacity) {
+    if (width < 1) {
+      throw new IllegalArgumentException("Records need at least one field, got " + width);
+    }
+    this.width = width;
+    tasks = new long[Math.max(1, initialCapacity) * width];
+  }
+
+  /**
+   * Makes sure the given number of records can be held without the storage growing. Records are
+   * moved to the start of the storage if need be.
+   *
+   * @param records number of records to make room for
+   */
+  protected final void ensureCapacity(int records) {
+    final int needed = records * width;
+    if (head > 0 && needed <= tasks.length) {
+      if ((head + records) * width > tasks.length) {
+        System.arraycopy(tasks, head * width, tasks, 0, size * width);
+        head = 0;
+      }
+      return;
+    }
+    if (needed > tasks.length) {
+      final long[] bigger = new long[Math.max(needed, tasks.length * 2)];
+      System.arraycopy(tasks, head * width, bigger, 0, size * width);
+      tasks = bigger;
+      head = 0;
+    }
+  }
+
+  @Override
+  public long getCurrentTaskCount() {
+    return size;
+  }
+
+  /**
+   * Indicates if the fields of the records are written using a variable-length encoding when this
+   * bag is serialized, {@code false} by default. The encoding uses a single byte for values between
+   * -64 and 63 and up to ten bytes for the largest values, making it worthwhile for records made
+   * of small values such as counters or packed indices.
+   *
+   * @return {@code true} to use the compact encoding
+   */
+  protected boolean isCompactSerialization() {
+    return false;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean isSplittable() {
+    return size > 1;
+  }
+
+  @Override
+  public void merge(B other) {
+    final LongArrayBag<B, R> o = other;
+    if (o.size > 0) {
+      ensureCapacity(size + o.size);
+      System.arraycopy(o.tasks, o.head * width, tasks, (head + size) * width, o.size * width);
+      size += o.size;
+    }
+    mergeResult(other);
+  }
+
+  /**
+   * Called by {@link #merge(LongArrayBag)} once the records of the other bag have been added to
+   * this one, so that implementations can merge any other state they hold. Does nothing by default.
+   *
+   * @param other the bag being merged into this one
+   */
+  protected void mergeResult(B other) {}
+
+  /**
+   * Creates a new empty instance with the same parameters as this one, used to hold the records
+   * given away by a split.
+   *
+   * @return a new empty bag
+   */
+  protected abstract B newEmpty();
+
+  /**
+   * Gives the offset of the first field of the record on top of the stack without removing it. Must
+   * not be called when this bag is empty.
+   *
+   * @return index in {@link #tasks} of the first field of the record on top
+   */
+  protected final int peekRecord() {
+    return (head + size - 1) * width;
+  }
+
+  /**
+   * Removes the record on top of the stack. Its fields can be read at the returned offset until the
+   * next record is pushed. Must not be called when this bag is empty.
+   *
+   * @return index in {@link #tasks} of the first field of the removed record
+   */
+  protected final int popRecord() {
+    final int offset = (head + --size) * width;
+    if (size == 0) {
+      head = 0;
+    }
+    return offset;
+  }
+
+  /**
+   * Adds a new record on top of the stack. The fields of the record hold unspecified values and are
+   * to be set by the caller.
+   *
+   * @return index in {@link #tasks} of the first field of the new record
+   */
+  protected final int pushRecord() {
+    if ((head + size + 1) * width > tasks.length) {
+      ensureCapacity(size + 1 + (head > 0 ? 0 : size));
+    }
+    return (head + size++) * width;
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    size = in.readInt();
+    final boolean compact = in.readBoolean();
+    head = 0;
+    tasks = new long[Math.max(1, size) * width];
+    final int length = size * width;
+    if (compact) {
+      for (int i = 0; i < length; i++) {
+        long zigzag = 0;
+        int shift = 0;
+        int b;
+        do {
+          b = in.readByte();
+          zigzag |= (long) (b & 0x7F) << shift;
+          shift += 7;
+        } while ((b & 0x80) != 0);
+        tasks[i] = (zigzag >>> 1) ^ -(zigzag & 1);
+      }
+    } else {
+      for (int i = 0; i < length; i++) {
+        tasks[i] = in.readLong();
+      }
+    }
+  }
+
+  /**
+   * Empties this bag of its records. Implementations holding a partial result should override this
+   * method to reset it as well and return the value of this method.
+   *
+   * @return {@code true}
+   */
+  @Override
+  public boolean reset() {
+    head = 0;
+    size = 0;
+    return true;
+  }
+
+  /** Splits off half of the records, see {@link #split(boolean, double)} */
+  @Override
+  public B split(boolean takeAll) {
+    return split(takeAll, 0.5);
+  }
+
+  /**
+   * Gives away the requested fraction of the records, taken from the bottom of the stack. At least
+   * one record is given away if this bag is splittable. If it is not, its only record is given away
+   * if {@code takeAll} is set. The partial result of this bag is not given away.
+   *
+   * @param takeAll indicates if the whole content should be given away if this bag cannot be split
+   * @param fraction fraction of the records to give away
+   * @return a new bag holding the records given away
+   */
+  @Override
+  public B split(boolean takeAll, double fraction) {
+    final B loot = newEmpty();
+    final LongArrayBag<B, R> l = loot;
+    int n = Math.min(size, (int) (size * fraction));
+    if (n == 0) {
+      if (isSplittable()) {
+        n = 1;
+      } else if (takeAll) {
+        n = size;
+      }
+    }
+    if (n > 0) {
+      l.ensureCapacity(n);
+      System.arraycopy(tasks, head * width, l.tasks, 0, n * width);
+      l.head = 0;
+      l.size = n;
+      size -= n;
+      head = size == 0 ? 0 : head + n;
+    }
+    return loot;
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    final boolean compact = isCompactSerialization();
+    out.writeInt(size);
+    out.writeBoolean(compact);
+    final int end = (head + size) * width;
+    if (compact) {
+      for (int i = head * width; i < end; i++) {
+        long zigzag = (tasks[i] << 1) ^ (tasks[i] >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+          out.writeByte((int) (zigzag & 0x7F) | 0x80);
+          zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+      }
+    } else {
+      for (int i = head * width; i < end; i++) {
+        out.writeLong(tasks[i]);
+      }
+    }
+  }
+}
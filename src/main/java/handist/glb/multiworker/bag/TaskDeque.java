@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker.bag;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Double-ended queue of tasks for {@link handist.glb.multiworker.Bag} implementations whose tasks
+ * are objects.
+ *
+ * <p>The tasks are held in a circular array whose capacity is a power of two. Besides the usual
+ * operations at both ends, the deque supports moving a number of tasks from one end of a deque to
+ * the opposite end of another deque with {@link #transferFirstTo(TaskDeque, int)} and {@link
+ * #transferLastTo(TaskDeque, int)}. These transfers copy the tasks directly from one array to the
+ * other with at most three calls to {@link System#arraycopy(Object, int, Object, int, int)} and are
+ * meant for the split and merge operations of bags.
+ *
+ * <p>When serialized, each task is written with Java serialization unless a {@link Codec} was given
+ * to the constructor, in which case the codec writes the fields of each task. A codec avoids the
+ * class descriptor and object header written for every task and is worthwhile for deques holding
+ * many small tasks.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @param <T> type of the tasks
+ */
+public final class TaskDeque<T> implements Iterable<T>, Serializable {
+
+  /**
+   * Compact encoding of the tasks of a deque
+   *
+   * @param <T> type of the tasks
+   */
+  public interface Codec<T> extends Serializable {
+
+    /**
+     * Reads a task written by {@link #write(ObjectOutput, Object)}
+     *
+     * @param in the stream to read from
+     * @return the task read
+     * @throws IOException if thrown by the stream
+     */
+    T read(ObjectInput in) throws IOException;
+
+    /**
+     * Writes the given task
+     *
+     * @param out the stream to write to
+     * @param task the task to write
+     * @throws IOException if thrown by the stream
+     */
+    void write(ObjectOutput out, T task) throws IOException;
+  }
+
+  /** Smallest capacity of a deque */
+  private static final int MIN_CAPACITY = 16;
+
+  private static final long serialVersionUID = -1849286750397218264L;
+
+  /** Copies the given number of elements from one circular array to another */
+  private static void ringCopy(Object[] src, int srcPos, Object[] dst, int dstPos, int n) {
+    while (n > 0) {
+      final int chunk = Math.min(n, Math.min(src.length - srcPos, dst.length - dstPos));
+      System.arraycopy(src, srcPos, dst, dstPos, chunk);
+      srcPos = srcPos + chunk == src.length ? 0 : srcPos + chunk;
+      dstPos = dstPos + chunk == dst.length ? 0 : dstPos + chunk;
+      n -= chunk;
+    }
+  }
+
+  /** Codec used to serialize the tasks, {@code null} to use Java serialization */
+  private final Codec<T> codec;
+
+  /** Circular array holding the tasks */
+  private transient Object[] elements;
+
+  /** Index of the first task */
+  private transient int head;
+
+  /** Number of tasks held */
+  private transient int size;
+
+  /** Constructs an empty deque */
+  public TaskDeque() {
+    this(MIN_CAPACITY, null);
+  }
+
+  /**
+   * Constructs an empty deque able to hold the given number of tasks before growing
+   *
+   * @param capacity initial capacity of the deque
+   */
+  public TaskDeque(int capacity) {
+    this(capacity, null);
+  }
+
+  /**
+   * Constructs an empty deque whose tasks are serialized with the given codec
+   *
+   * @param capacity initial capacity of the deque
+   * @param codec codec used when the deque is serialized, {@code null} to use Java serialization
+   */
+  public TaskDeque(int capacity, Codec<T> codec) {
+    elements = new Object[capacityFor(capacity)];
+    this.codec = codec;
+  }
+
+  /**
+   * Adds the given tasks at the end of this deque, in the order of the array
+   *
+   * @param tasks the tasks to add
+   */
+  public void addAllLast(T[] tasks) {
+    ensureCapacity(size + tasks.length);
+    ringCopy(tasks, 0, elements, (head + size) & (elements.length - 1), tasks.length);
+    size += tasks.length;
+  }
+
+  /**
+   * Adds a task at the start of this deque
+   *
+   * @param task the task to add
+   */
+  public void addFirst(T task) {
+    ensureCapacity(size + 1);
+    head = (head - 1) & (elements.length - 1);
+    elements[head] = task;
+    size++;
+  }
+
+  /**
+   * Adds a task at the end of this deque
+   *
+   * @param task the task to add
+   */
+  public void addLast(T task) {
+    ensureCapacity(size + 1);
+    elements[(head + size) & (elements.length - 1)] = task;
+    size++;
+  }
+
+  private static int capacityFor(int n) {
+    return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, n - 1)) << 1);
+  }
+
+  /** Removes all the tasks of this deque */
+  public void clear() {
+    clearRange(head, size);
+    head = 0;
+    size = 0;
+  }
+
+  /** Sets the given range of the circular array to {@code null} so that tasks can be collected */
+  private void clearRange(int from, int n) {
+    while (n > 0) {
+      final int chunk = Math.min(n, elements.length - from);
+      Arrays.fill(elements, from, from + chunk, null);
+      from = (from + chunk) & (elements.length - 1);
+      n -= chunk;
+    }
+  }
+
+  /**
+   * Makes sure this deque can hold the given number of tasks without growing
+   *
+   * @param capacity number of tasks to make room for
+   */
+  public void ensureCapacity(int capacity) {
+    if (capacity > elements.length) {
+      final Object[] bigger = new Object[capacityFor(capacity)];
+      ringCopy(elements, head, bigger, 0, size);
+      elements = bigger;
+      head = 0;
+    }
+  }
+
+  /**
+   * Returns the task at the given position, counting from the start of this deque
+   *
+   * @param index position of the task, between 0 and {@link #size()} excluded
+   * @return the task at the given position
+   */
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " in deque of size " + size);
+    }
+    return (T) elements[(head + index) & (elements.length - 1)];
+  }
+
+  /**
+   * Indicates if this deque holds no task
+   *
+   * @return {@code true} if this deque is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Iterates over the tasks from the start to the end of this deque */
+  @Override
+  public Iterator<T> iterator() {
+    return new Iterator<T>() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @Override
+      public T next() {
+        if (index >= size) {
+          throw new NoSuchElementException();
+        }
+        return get(index++);
+      }
+    };
+  }
+
+  /**
+   * Returns the task at the start of this deque without removing it
+   *
+   * @return the first task, or {@code null} if this deque is empty
+   */
+  public T peekFirst() {
+    return size == 0 ? null : get(0);
+  }
+
+  /**
+   * Returns the task at the end of this deque without removing it
+   *
+   * @return the last task, or {@code null} if this deque is empty
+   */
+  public T peekLast() {
+    return size == 0 ? null : get(size - 1);
+  }
+
+  /**
+   * Removes the task at the start of this deque
+   *
+   * @return the first task, or {@code null} if this deque is empty
+   */
+  @SuppressWarnings("unchecked")
+  public T pollFirst() {
+    if (size == 0) {
+      return null;
+    }
+    final T task = (T) elements[head];
+    elements[head] = null;
+    head = (head + 1) & (elements.length - 1);
+    size--;
+    return task;
+  }
+
+  /**
+   * Removes the task at the end of this deque
+   *
+   * @return the last task, or {@code null} if this deque is empty
+   */
+  @SuppressWarnings("unchecked")
+  public T pollLast() {
+    if (size == 0) {
+      return null;
+    }
+    final int last = (head + size - 1) & (elements.length - 1);
+    final T task = (T) elements[last];
+    elements[last] = null;
+    size--;
+    return task;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    size = in.readInt();
+    head = 0;
+    elements = new Object[capacityFor(size)];
+    for (int i = 0; i < size; i++) {
+      elements[i] = codec == null ? in.readObject() : codec.read(in);
+    }
+  }
+
+  /**
+   * Returns the number of tasks held by this deque
+   *
+   * @return number of tasks
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Moves the first {@code n} tasks of this deque to the end of the given deque, keeping their
+   * order. If this deque holds less than {@code n} tasks, all of them are moved.
+   *
+   * @param into the deque receiving the tasks
+   * @param n number of tasks to move
+   * @return the number of tasks moved
+   */
+  public int transferFirstTo(TaskDeque<T> into, int n) {
+    n = Math.min(n, size);
+    if (n <= 0 || into == this) {
+      return 0;
+    }
+    into.ensureCapacity(into.size + n);
+    final int to = (into.head + into.size) & (into.elements.length - 1);
+    ringCopy(elements, head, into.elements, to, n);
+    into.size += n;
+    clearRange(head, n);
+    head = (head + n) & (elements.length - 1);
+    size -= n;
+    return n;
+  }
+
+  /**
+   * Moves the last {@code n} tasks of this deque to the start of the given deque, keeping their
+   * order. If this deque holds less than {@code n} tasks, all of them are moved.
+   *
+   * @param into the deque receiving the tasks
+   * @param n number of tasks to move
+   * @return the number of tasks moved
+   */
+  public int transferLastTo(TaskDeque<T> into, int n) {
+    n = Math.min(n, size);
+    if (n <= 0 || into == this) {
+      return 0;
+    }
+    into.ensureCapacity(into.size + n);
+    final int from = (head + size - n) & (elements.length - 1);
+    into.head = (into.head - n) & (into.elements.length - 1);
+    ringCopy(elements, from, into.elements, into.head, n);
+    into.size += n;
+    clearRange(from, n);
+    size -= n;
+    return n;
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(size);
+    for (int i = 0; i < size; i++) {
+      if (codec == null) {
+        out.writeObject(get(i));
+      } else {
+        codec.write(out, get(i));
+      }
+    }
+  }
+}
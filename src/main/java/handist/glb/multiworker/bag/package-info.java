@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+/**
+ * Abstract {@link handist.glb.multiworker.Bag} implementations storing their tasks in primitive
+ * arrays. Tasks are fixed-width records of {@code int} ({@link
+ * handist.glb.multiworker.bag.IntArrayBag}) or {@code long} ({@link
+ * handist.glb.multiworker.bag.LongArrayBag}) fields. The base classes take care of the storage,
+ * task counting, bulk split and merge and serialization, leaving only the processing of tasks and
+ * the result to the implementing class.
+ */
+package handist.glb.multiworker.bag;
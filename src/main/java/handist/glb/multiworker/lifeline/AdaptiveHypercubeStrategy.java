@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker.lifeline;
+
+import apgas.Place;
+import handist.glb.multiworker.GLBMultiWorkerConfiguration;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Hypercube lifeline strategy whose number of dimensions is adjusted between computations.
+ *
+ * <p>The graph starts as the one of {@link KasselHypercubeStrategy}. Each place has one lifeline
+ * per dimension of the hypercube, so adding a dimension makes the graph denser and removing one
+ * makes it sparser, the length of the edges being chosen as the smallest that still spans all the
+ * places. After each computation:
+ *
+ * <ul>
+ *   <li>if less than {@link #WASTED_RATIO} of the lifeline steals brought some loot, most of the
+ *       lifeline traffic was wasted and a dimension is removed
+ *   <li>if more than {@link #STARVING_RATIO} of the lifeline steals brought some loot and the loot
+ *       took longer than {@link GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_ADAPTIVE_LATENCY}
+ *       on average to arrive, places starved waiting on their lifelines and a dimension is added
+ * </ul>
+ *
+ * <p>The adjustment is kept relative to the number of dimensions {@link KasselHypercubeStrategy}
+ * would use, so that it carries over when places are added or removed.
+ */
+public class AdaptiveHypercubeStrategy implements AdaptiveLifelineStrategy, Serializable {
+
+  /** Fraction of successful lifeline steals above which places are considered starving */
+  public static final double STARVING_RATIO = 0.75;
+
+  /** Fraction of successful lifeline steals below which lifeline traffic is considered wasted */
+  public static final double WASTED_RATIO = 0.25;
+
+  /** Serial Version UID */
+  private static final long serialVersionUID = -7113054312296101735L;
+
+  /** Computes the default number of dimensions */
+  private final KasselHypercubeStrategy kassel = new KasselHypercubeStrategy();
+
+  /**
+   * Average latency of the lifeline steals in nanoseconds above which places are considered
+   * starving
+   */
+  private final long latencyTarget;
+
+  /** Number of dimensions added to the ones of {@link KasselHypercubeStrategy} */
+  private int offset = 0;
+
+  /**
+   * Constructor reading the latency target from the configuration
+   *
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_ADAPTIVE_LATENCY
+   */
+  public AdaptiveHypercubeStrategy() {
+    this(GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_ADAPTIVE_LATENCY.get() * 1000L);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param latencyTargetNanos average latency of the lifeline steals in nanoseconds above which
+   *     places are considered starving
+   */
+  public AdaptiveHypercubeStrategy(long latencyTargetNanos) {
+    latencyTarget = latencyTargetNanos;
+  }
+
+  @Override
+  public synchronized boolean adapt(int nbPlaces, long attempted, long successes, long latency) {
+    if (attempted == 0 || nbPlaces < 3) {
+      return false;
+    }
+    final double ratio = (double) successes / attempted;
+    final int before = dimensions(nbPlaces);
+    if (ratio < WASTED_RATIO) {
+      offset = before - 1 - defaultDimensions(nbPlaces);
+    } else if (ratio > STARVING_RATIO && latency / successes > latencyTarget) {
+      offset = before + 1 - defaultDimensions(nbPlaces);
+    }
+    final int after = dimensions(nbPlaces);
+    offset = after - defaultDimensions(nbPlaces);
+    return after != before;
+  }
+
+  /**
+   * Gives the hypercube used for the given number of places
+   *
+   * @param nbPlaces number of places in the system
+   * @return hypercube with {@link #dimensions(int)} dimensions
+   */
+  private synchronized ConfigurableHypercubeStrategy hypercube(int nbPlaces) {
+    final int z = dimensions(nbPlaces);
+    int l = 2;
+    while (power(l, z) < nbPlaces) {
+      l++;
+    }
+    final ConfigurableHypercubeStrategy chs = new ConfigurableHypercubeStrategy();
+    chs.setL(l);
+    chs.setZ(z);
+    return chs;
+  }
+
+  /**
+   * Number of dimensions of {@link KasselHypercubeStrategy} for the given number of places
+   *
+   * @param nbPlaces number of places in the system
+   * @return the default number of dimensions
+   */
+  private int defaultDimensions(int nbPlaces) {
+    return kassel.computeZ(kassel.computeL(nbPlaces), nbPlaces);
+  }
+
+  /**
+   * Gives the number of dimensions currently used for the given number of places, between 1 and
+   * the number of dimensions of a hypercube whose edges link 2 places
+   *
+   * @param nbPlaces number of places in the system
+   * @return number of dimensions, i.e. number of lifelines of each place
+   */
+  public synchronized int dimensions(int nbPlaces) {
+    int max = 1;
+    while (power(2, max) < nbPlaces) {
+      max++;
+    }
+    return Math.max(1, Math.min(max, defaultDimensions(nbPlaces) + offset));
+  }
+
+  @Override
+  public int[] lifeline(int thief, List<? extends Place> placesList) {
+    return hypercube(placesList.size()).lifeline(thief, placesList);
+  }
+
+  private static long power(int base, int exponent) {
+    long result = 1;
+    for (int i = 0; i < exponent && result <= Integer.MAX_VALUE; i++) {
+      result *= base;
+    }
+    return result;
+  }
+
+  @Override
+  public int[] reverseLifeline(int target, List<? extends Place> placesList) {
+    return hypercube(placesList.size()).reverseLifeline(target, placesList);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return getClass().getSimpleName() + "(offset=" + offset + ")";
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker.lifeline;
+
+/**
+ * {@link LifelineStrategy} whose graph can be adjusted between two computations according to how
+ * the lifelines were used during the last one.
+ *
+ * <p>At the end of each computation, the lifeline steal figures of all the places are added up and
+ * handed to {@link #adapt(int, long, long, long)} on place 0. If the strategy changes its graph, it
+ * is sent to every place before the next computation starts.
+ */
+public interface AdaptiveLifelineStrategy extends LifelineStrategy {
+
+  /**
+   * Adjusts the lifeline graph according to the lifeline steals of the last computation
+   *
+   * @param nbPlaces number of places taking part in the computation
+   * @param attempted number of lifeline steals attempted by all the places
+   * @param successes number of lifeline steals through which some loot was received
+   * @param latency accumulated time in nanoseconds between the establishment of a lifeline and the
+   *     reception of loot through it, over all the successful lifeline steals
+   * @return {@code true} if the graph changed, {@code false} otherwise
+   */
+  boolean adapt(int nbPlaces, long attempted, long successes, long latency);
+}
@@ -24,17 +24,42 @@ import java.util.List;
  */
 public class KasselHypercubeStrategy implements LifelineStrategy, Serializable {
 
+  /** Hypercube configuration computed for a given number of places */
+  private static final class Hypercube {
+    final int nbPlaces;
+    final ConfigurableHypercubeStrategy strategy;
+
+    Hypercube(int nbPlaces, ConfigurableHypercubeStrategy strategy) {
+      this.nbPlaces = nbPlaces;
+      this.strategy = strategy;
+    }
+  }
+
   /** Serial Version UID */
   private static final long serialVersionUID = 5106410194659222967L;
 
+  /**
+   * Configuration used by the last call, kept as the number of places rarely changes between calls
+   */
+  private transient volatile Hypercube last;
+
   public int computeL(int numPlaces) {
     int l = 1;
-    while (Math.pow(l, l) < numPlaces) {
+    while (selfPower(l) < numPlaces) {
       l++;
     }
     return l;
   }
 
+  /** Computes l to the power of l, stopping as soon as it exceeds the largest int */
+  private static long selfPower(int l) {
+    long result = 1;
+    for (int i = 0; i < l && result <= Integer.MAX_VALUE; i++) {
+      result *= l;
+    }
+    return result;
+  }
+
   public int computeZ(int l, int numPlaces) {
     int z0 = 1;
     int zz = l;
@@ -45,6 +70,22 @@ public class KasselHypercubeStrategy implements LifelineStrategy, Serializable {
     return z0;
   }
 
+  /**
+   * Gives the hypercube configuration for the given number of places, reusing the one of the last
+   * call if the number of places is the same
+   */
+  private ConfigurableHypercubeStrategy hypercube(int nbPlaces) {
+    Hypercube h = last;
+    if (h == null || h.nbPlaces != nbPlaces) {
+      final ConfigurableHypercubeStrategy chs = new ConfigurableHypercubeStrategy();
+      chs.setL(computeL(nbPlaces));
+      chs.setZ(computeZ(chs.getL(), nbPlaces));
+      h = new Hypercube(nbPlaces, chs);
+      last = h;
+    }
+    return h.strategy;
+  }
+
   /*
    * (non-Javadoc)
    *
@@ -52,11 +93,7 @@ public class KasselHypercubeStrategy implements LifelineStrategy, Serializable {
    */
   @Override
   public int[] lifeline(final int home, List<? extends Place> placesList) {
-    final int nbPlaces = placesList.size();
-    final ConfigurableHypercubeStrategy chs = new ConfigurableHypercubeStrategy();
-    chs.setL(computeL(nbPlaces));
-    chs.setZ(computeZ(chs.getL(), nbPlaces));
-    return chs.lifeline(home, placesList);
+    return hypercube(placesList.size()).lifeline(home, placesList);
   }
 
   /*
@@ -66,10 +103,6 @@ public class KasselHypercubeStrategy implements LifelineStrategy, Serializable {
    */
   @Override
   public int[] reverseLifeline(int target, List<? extends Place> placesList) {
-    final int nbPlaces = placesList.size();
-    final ConfigurableHypercubeStrategy chs = new ConfigurableHypercubeStrategy();
-    chs.setL(computeL(nbPlaces));
-    chs.setZ(computeZ(chs.getL(), nbPlaces));
-    return chs.reverseLifeline(target, placesList);
+    return hypercube(placesList.size()).reverseLifeline(target, placesList);
   }
 }
@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker.lifeline;
+
+import apgas.Place;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * Offline analysis of the lifeline graphs produced by {@link LifelineStrategy} implementations.
+ * The APGAS runtime is not needed, the analyser builds lists of {@link Place} itself.
+ *
+ * <p>The graph analysed has an edge from {@code A} to {@code B} if {@code B} is part of the
+ * lifelines of {@code A}. The analyser reports:
+ *
+ * <ul>
+ *   <li>the minimum, average and maximum out-degree (number of lifelines) and in-degree
+ *   <li>whether the graph is strongly connected, i.e. whether work can reach every place
+ *   <li>the diameter of the graph, i.e. the maximum number of lifeline hops needed for work to
+ *       reach a place, or -1 if the graph is not strongly connected
+ *   <li>the number of asymmetric entries, i.e. {@code B} in {@code lifeline(A)} without {@code A}
+ *       in {@code reverseLifeline(B)} or conversely
+ *   <li>the number of invalid entries: self-loops, duplicates and ids of places not in the list
+ *   <li>the time taken to compute the lifelines and reverse lifelines of every place
+ * </ul>
+ *
+ * <p>Besides the graphs obtained for a fixed number of places, the analyser can follow a sequence
+ * of grow and shrink operations. Like in {@link handist.glb.multiworker.GLBcomputer}, new places
+ * receive ids above the highest id ever used and a shrink removes the places at the end of the
+ * list.
+ */
+public class LifelineGraphAnalyser {
+
+  /** Metrics of the lifeline graph for a given list of places */
+  public static class GraphMetrics {
+    /** Number of places in the graph */
+    public int places;
+    /** Minimum number of lifelines of a place */
+    public int minOutDegree;
+    /** Maximum number of lifelines of a place */
+    public int maxOutDegree;
+    /** Average number of lifelines of a place */
+    public double avgOutDegree;
+    /** Minimum number of places having a lifeline on a given place */
+    public int minInDegree;
+    /** Maximum number of places having a lifeline on a given place */
+    public int maxInDegree;
+    /** True if every place can be reached from every other place */
+    public boolean stronglyConnected;
+    /** Longest shortest path in the graph, -1 if not strongly connected */
+    public int diameter;
+    /** Number of entries which are not mirrored between lifelines and reverse lifelines */
+    public int asymmetries;
+    /** Number of self-loops, duplicated ids and unknown ids */
+    public int invalidEntries;
+    /** Time taken to compute all the lifelines in nanoseconds */
+    public long lifelineTime;
+    /** Time taken to compute all the reverse lifelines in nanoseconds */
+    public long reverseLifelineTime;
+
+    static final String HEADER =
+        "Places;OutMin;OutAvg;OutMax;InMin;InMax;StronglyConnected;Diameter;Asymmetries;"
+            + "Invalid;Lifeline(ms);ReverseLifeline(ms);";
+
+    @Override
+    public String toString() {
+      return places
+          + ";"
+          + minOutDegree
+          + ";"
+          + String.format("%.2f", avgOutDegree)
+          + ";"
+          + maxOutDegree
+          + ";"
+          + minInDegree
+          + ";"
+          + maxInDegree
+          + ";"
+          + stronglyConnected
+          + ";"
+          + diameter
+          + ";"
+          + asymmetries
+          + ";"
+          + invalidEntries
+          + ";"
+          + lifelineTime / 1e6
+          + ";"
+          + reverseLifelineTime / 1e6
+          + ";";
+    }
+  }
+
+  /**
+   * Computes the metrics of the lifeline graph built by the given strategy.
+   *
+   * @param strategy the strategy to analyse
+   * @param placesList list of places participating in the computation
+   * @return metrics of the graph
+   */
+  public static GraphMetrics analyse(LifelineStrategy strategy, List<? extends Place> placesList) {
+    final int n = placesList.size();
+    final Map<Integer, Integer> index = new HashMap<>(n * 2);
+    for (int i = 0; i < n; i++) {
+      index.put(placesList.get(i).id, i);
+    }
+
+    final int[][] lifelines = new int[n][];
+    final int[][] reverse = new int[n][];
+    final GraphMetrics m = new GraphMetrics();
+    m.places = n;
+
+    long start = System.nanoTime();
+    for (int i = 0; i < n; i++) {
+      lifelines[i] = strategy.lifeline(placesList.get(i).id, placesList);
+    }
+    m.lifelineTime = System.nanoTime() - start;
+    start = System.nanoTime();
+    for (int i = 0; i < n; i++) {
+      reverse[i] = strategy.reverseLifeline(placesList.get(i).id, placesList);
+    }
+    m.reverseLifelineTime = System.nanoTime() - start;
+
+    // Forward adjacency (thief -> victim) with indices in the list, invalid entries dropped
+    final int[][] out = new int[n][];
+    final int[] inDegree = new int[n];
+    final List<Set<Integer>> lifelineSets = new ArrayList<>(n);
+    long totalOut = 0;
+    m.minOutDegree = Integer.MAX_VALUE;
+    for (int i = 0; i < n; i++) {
+      final Set<Integer> seen = new HashSet<>();
+      final int[] edges = new int[lifelines[i].length];
+      int e = 0;
+      for (final int id : lifelines[i]) {
+        final Integer j = index.get(id);
+        if (j == null || j == i || !seen.add(j)) {
+          m.invalidEntries++;
+          continue;
+        }
+        edges[e++] = j;
+        inDegree[j]++;
+      }
+      out[i] = Arrays.copyOf(edges, e);
+      lifelineSets.add(seen);
+      totalOut += e;
+      m.minOutDegree = Math.min(m.minOutDegree, e);
+      m.maxOutDegree = Math.max(m.maxOutDegree, e);
+    }
+    m.avgOutDegree = n == 0 ? 0 : (double) totalOut / n;
+    m.minInDegree = Integer.MAX_VALUE;
+    for (final int d : inDegree) {
+      m.minInDegree = Math.min(m.minInDegree, d);
+      m.maxInDegree = Math.max(m.maxInDegree, d);
+    }
+    if (n == 0) {
+      m.minOutDegree = 0;
+      m.minInDegree = 0;
+    }
+
+    // Symmetry between lifelines and reverse lifelines
+    final List<Set<Integer>> reverseSets = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      final Set<Integer> thieves = new HashSet<>();
+      for (final int id : reverse[i]) {
+        final Integer j = index.get(id);
+        if (j == null || j == i || !thieves.add(j)) {
+          m.invalidEntries++;
+        }
+      }
+      reverseSets.add(thieves);
+    }
+    for (int i = 0; i < n; i++) {
+      for (final int j : lifelineSets.get(i)) {
+        if (!reverseSets.get(j).contains(i)) {
+          m.asymmetries++;
+        }
+      }
+      for (final int j : reverseSets.get(i)) {
+        if (!lifelineSets.get(j).contains(i)) {
+          m.asymmetries++;
+        }
+      }
+    }
+
+    // Work travels from victim to thief, i.e. against the edges. The diameter is the same in
+    // both directions, so the eccentricity is computed on the forward graph.
+    int diameter = 0;
+    final int[] distance = new int[n];
+    final ArrayDeque<Integer> queue = new ArrayDeque<>();
+    boolean connected = true;
+    for (int s = 0; s < n && connected; s++) {
+      Arrays.fill(distance, -1);
+      distance[s] = 0;
+      queue.add(s);
+      int reached = 1;
+      while (!queue.isEmpty()) {
+        final int v = queue.poll();
+        for (final int w : out[v]) {
+          if (distance[w] < 0) {
+            distance[w] = distance[v] + 1;
+            diameter = Math.max(diameter, distance[w]);
+            reached++;
+            queue.add(w);
+          }
+        }
+      }
+      connected = reached == n;
+    }
+    m.stronglyConnected = connected;
+    m.diameter = connected ? diameter : -1;
+    return m;
+  }
+
+  /**
+   * Creates a list of places with ids 0 to {@code nbPlaces - 1}.
+   *
+   * @param nbPlaces number of places in the list
+   * @return the list of places
+   */
+  public static List<Place> placeList(int nbPlaces) {
+    final List<Place> list = new ArrayList<>(nbPlaces);
+    for (int i = 0; i < nbPlaces; i++) {
+      list.add(new Place(i));
+    }
+    return list;
+  }
+
+  /**
+   * Analyses the graphs obtained after each step of an elastic sequence. A step is written
+   * {@code +k} for the addition of {@code k} places and {@code -k} for the removal of {@code k}
+   * places.
+   *
+   * @param strategy strategy to analyse
+   * @param initialPlaces number of places at the start of the sequence
+   * @param steps grow and shrink steps
+   * @param out stream on which the metrics of each step are printed
+   * @return {@code true} if the graph was strongly connected after each step
+   */
+  public static boolean analyseSequence(
+      LifelineStrategy strategy, int initialPlaces, String[] steps, PrintStream out) {
+    final List<Place> places = placeList(initialPlaces);
+    int nextId = initialPlaces;
+    final GraphMetrics initial = analyse(strategy, places);
+    boolean connected = initial.stronglyConnected;
+    out.println("Step;" + GraphMetrics.HEADER);
+    out.println("start;" + initial);
+    for (final String step : steps) {
+      final int k = Integer.parseInt(step.trim().substring(1));
+      if (step.trim().startsWith("+")) {
+        for (int i = 0; i < k; i++) {
+          places.add(new Place(nextId++));
+        }
+      } else {
+        // Place 0 is never released
+        for (int i = 0; i < k && places.size() > 1; i++) {
+          places.remove(places.size() - 1);
+        }
+      }
+      final GraphMetrics m = analyse(strategy, places);
+      connected &= m.stronglyConnected;
+      out.println(step.trim() + ";" + m);
+    }
+    return connected;
+  }
+
+  public static void main(String[] args) throws Exception {
+    final CommandLine cmd = parseArguments(args);
+    final int min = Integer.parseInt(cmd.getOptionValue("min", "1"));
+    final int max = Integer.parseInt(cmd.getOptionValue("max", "4096"));
+    final String[] strategies =
+        cmd.getOptionValue(
+                "s",
+                KasselHypercubeStrategy.class.getName()
+                    + ","
+                    + KobeHypercubeStrategy.class.getName()
+                    + ","
+                    + ConfigurableHypercubeStrategy.class.getName()
+                    + ","
+                    + TopologyAwareStrategy.class.getName())
+            .split(",");
+
+    for (final String name : strategies) {
+      final LifelineStrategy strategy =
+          (LifelineStrategy) Class.forName(name.trim()).getDeclaredConstructor().newInstance();
+      if (strategy instanceof ConfigurableHypercubeStrategy) {
+        ((ConfigurableHypercubeStrategy) strategy)
+            .setL(Integer.parseInt(cmd.getOptionValue("l", "2")));
+        ((ConfigurableHypercubeStrategy) strategy)
+            .setZ(Integer.parseInt(cmd.getOptionValue("z", "2")));
+      }
+
+      System.out.println("#############################################################");
+      System.out.println(name.trim());
+      System.out.println(GraphMetrics.HEADER);
+      // Powers of two and the sizes right below and above them
+      final Set<Integer> sizes = new TreeSet<>();
+      for (int p = 1; p <= max; p *= 2) {
+        for (final int s : new int[] {p - 1, p, p + 1}) {
+          if (s >= min && s <= max) {
+            sizes.add(s);
+          }
+        }
+      }
+      sizes.add(max);
+      for (final int p : sizes) {
+        System.out.println(analyse(strategy, placeList(p)));
+      }
+
+      if (cmd.hasOption("seq")) {
+        for (final String seq : cmd.getOptionValues("seq")) {
+          final String[] parts = seq.split(",");
+          System.out.println("Elastic sequence " + seq);
+          final boolean ok =
+              analyseSequence(
+                  strategy,
+                  Integer.parseInt(parts[0].trim()),
+                  Arrays.copyOfRange(parts, 1, parts.length),
+                  System.out);
+          System.out.println("Strongly connected throughout the sequence: " + ok);
+        }
+      }
+      System.out.println();
+    }
+  }
+
+  private static CommandLine parseArguments(String[] args) {
+    final Options options = new Options();
+    options.addOption("s", true, "Comma-separated lifeline strategy classes");
+    options.addOption("min", true, "Smallest number of places analysed (Default 1)");
+    options.addOption("max", true, "Largest number of places analysed (Default 4096)");
+    options.addOption("l", true, "l of the ConfigurableHypercubeStrategy (Default 2)");
+    options.addOption("z", true, "z of the ConfigurableHypercubeStrategy (Default 2)");
+    options.addOption(
+        "seq", true, "Elastic sequence, e.g. 64,+16,-8,+32 (initial places then steps)");
+
+    final CommandLineParser parser = new DefaultParser();
+    CommandLine cmd = null;
+    try {
+      cmd = parser.parse(options, args);
+    } catch (final ParseException e) {
+      e.printStackTrace();
+    }
+    return cmd;
+  }
+}
@@ -11,7 +11,11 @@
 package handist.glb.multiworker.lifeline;
 
 import apgas.Place;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Work stealing preferred channel for a GLBProcessor. When a place runs out of work, the {@link
@@ -35,6 +39,36 @@ import java.util.List;
  */
 public interface LifelineStrategy {
 
+  /**
+   * Gives the places whose lifelines or reverse lifelines are not the same in both lists of places.
+   * This is used after a malleable grow or shrink so that only the places whose edges in the
+   * lifeline graph changed need to recompute them. Only the places present in both lists are
+   * returned, places that are added or removed need to be handled by the caller.
+   *
+   * <p>The default implementation compares the lifelines and reverse lifelines of each place in
+   * both lists. Implementations able to tell which places are affected in a cheaper way may
+   * override it.
+   *
+   * @param before list of places before the change
+   * @param after list of places after the change
+   * @return ids of the places present in both lists whose lifelines or reverse lifelines changed
+   */
+  default Set<Integer> affectedPlaces(List<? extends Place> before, List<? extends Place> after) {
+    final Set<Integer> previous = new HashSet<>();
+    for (final Place p : before) {
+      previous.add(p.id);
+    }
+    final Set<Integer> affected = new TreeSet<>();
+    for (final Place p : after) {
+      if (previous.contains(p.id)
+          && (!Arrays.equals(lifeline(p.id, before), lifeline(p.id, after))
+              || !Arrays.equals(reverseLifeline(p.id, before), reverseLifeline(p.id, after)))) {
+        affected.add(p.id);
+      }
+    }
+    return affected;
+  }
+
   /**
    * Needed for malleability for determine the temporary inside the placesList
    *
@@ -43,6 +77,24 @@ public interface LifelineStrategy {
    * @return the index in the list of places of the "home" place
    */
   default int findMyIdInList(final int home, final List<? extends Place> placesList) {
+    // Place lists are usually sorted by id, without gaps unless places were removed
+    if (home >= 0 && home < placesList.size() && placesList.get(home).id == home) {
+      return home;
+    }
+    int low = 0;
+    int high = placesList.size() - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int id = placesList.get(middle).id;
+      if (id == home) {
+        return middle;
+      } else if (id < home) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    // The list is not sorted, fall back on a linear search
     for (int i = 0; i < placesList.size(); i++) {
       if (placesList.get(i).id == home) {
         return i;
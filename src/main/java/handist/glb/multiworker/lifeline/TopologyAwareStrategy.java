@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker.lifeline;
+
+import apgas.Place;
+import handist.glb.multiworker.GLBMultiWorkerConfiguration;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lifeline strategy building a two-level graph which keeps most lifelines between places running on
+ * the same host.
+ *
+ * <p>The places are grouped by host, place {@code p} running on host {@code p / placesPerHost}.
+ * Within a host, the place at position {@code i} of the group has a lifeline on the places at
+ * positions {@code i + 1}, {@code i + 2}, {@code i + 4}, ... modulo the size of the group, which
+ * gives every place of the host a path of at most log2 hops to every other. The first place of each
+ * group represents its host: the representatives of hosts {@code h} and {@code h'} have lifelines
+ * on each other if the indices of both hosts differ by exactly one bit, forming a hypercube among
+ * hosts.
+ *
+ * <p>The graph is strongly connected for any list of places: each group is strongly connected by
+ * its {@code +1} edges, and every host other than the first is linked in both directions to the
+ * host whose index is its own without its highest bit, and so on down to the first host. As the
+ * graph is recomputed from the list of places, it remains so after places are added or removed,
+ * the next place of a group taking over as its representative if need be.
+ *
+ * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_PLACESPERHOST
+ */
+public class TopologyAwareStrategy implements LifelineStrategy, Serializable {
+
+  /** Serial Version UID */
+  private static final long serialVersionUID = -4012786452196843745L;
+
+  /** Number of consecutive place ids running on each host */
+  private final int placesPerHost;
+
+  /**
+   * Constructor reading the number of places per host from the configuration
+   *
+   * @see GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_PLACESPERHOST
+   */
+  public TopologyAwareStrategy() {
+    this(GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_PLACESPERHOST.get());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param placesPerHost number of consecutive place ids running on each host
+   */
+  public TopologyAwareStrategy(int placesPerHost) {
+    this.placesPerHost = Math.max(1, placesPerHost);
+  }
+
+  /**
+   * Computes the edges of the given place
+   *
+   * @param home id of the place
+   * @param placesList list of places in the system
+   * @param reverse {@code false} for the lifelines of the place, {@code true} for its reverse
+   *     lifelines
+   * @return ids of the places linked to {@code home}
+   */
+  private int[] edges(int home, List<? extends Place> placesList, boolean reverse) {
+    // Groups the places by host, the hosts being numbered in their order of appearance
+    final Map<Integer, List<Integer>> hosts = new LinkedHashMap<>();
+    for (final Place p : placesList) {
+      hosts.computeIfAbsent(p.id / placesPerHost, k -> new ArrayList<>()).add(p.id);
+    }
+    final List<Integer> group = hosts.get(home / placesPerHost);
+    final int position = group == null ? -1 : group.indexOf(home);
+    if (position < 0) {
+      return new int[0];
+    }
+
+    final List<Integer> result = new ArrayList<>();
+    final int n = group.size();
+    for (int offset = 1; offset < n; offset *= 2) {
+      result.add(group.get(Math.floorMod(position + (reverse ? -offset : offset), n)));
+    }
+
+    if (position == 0) {
+      final List<Integer> representatives = new ArrayList<>(hosts.size());
+      int hostIndex = -1;
+      for (final List<Integer> g : hosts.values()) {
+        if (g == group) {
+          hostIndex = representatives.size();
+        }
+        representatives.add(g.get(0));
+      }
+      // Hypercube edges are symmetric, lifelines and reverse lifelines are the same
+      for (int bit = 1; bit < representatives.size(); bit *= 2) {
+        final int neighbour = hostIndex ^ bit;
+        if (neighbour < representatives.size()) {
+          result.add(representatives.get(neighbour));
+        }
+      }
+    }
+
+    final int[] toReturn = new int[result.size()];
+    for (int i = 0; i < toReturn.length; i++) {
+      toReturn[i] = result.get(i);
+    }
+    return toReturn;
+  }
+
+  /**
+   * Gives the lifelines of place {@code thief}. The lifelines on places of the same host come
+   * first.
+   */
+  @Override
+  public int[] lifeline(int thief, List<? extends Place> placesList) {
+    return edges(thief, placesList, false);
+  }
+
+  @Override
+  public int[] reverseLifeline(int target, List<? extends Place> placesList) {
+    return edges(target, placesList, true);
+  }
+}
@@ -0,0 +1,661 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker.simulation;
+
+import apgas.Place;
+import handist.glb.multiworker.Bag;
+import handist.glb.multiworker.Fold;
+import handist.glb.multiworker.GLBMultiWorkerConfiguration;
+import handist.glb.multiworker.GLBcomputer;
+import handist.glb.multiworker.SerializableSupplier;
+import handist.glb.multiworker.lifeline.LifelineStrategy;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Discrete-event model of the {@link GLBcomputer} load balancing scheme in which many logical
+ * places are simulated inside a single Java process.
+ *
+ * <p>The simulator runs the actual {@link Bag} implementation of the computation: tasks are really
+ * processed, split and merged, so that the result of the simulated computation can be checked
+ * against the expected value. Only the passage of time is virtual. Processing a task costs a fixed
+ * amount of virtual time and every message exchanged between places is delayed according to the
+ * {@link NetworkModel} given to the constructor. As the events are ordered by their virtual time
+ * and by their creation order, two simulations run with the same parameters produce exactly the
+ * same steal schedule.
+ *
+ * <p>The protocol mirrors the one of {@link GLBcomputer}:
+ *
+ * <ul>
+ *   <li>each place runs up to {@code workersPerPlace} workers which process chunks of {@code n}
+ *       tasks, spawn new workers, feed an intra-place and an inter-place queue and answer pending
+ *       lifeline thieves between two chunks
+ *   <li>when all the workers of a place have stopped, the place attempts up to {@code w} random
+ *       steals, one at a time, on the inter-place queue of a victim
+ *   <li>if the random steals failed, the place then establishes its lifelines one after the other
+ *       before becoming inactive
+ *   <li>as in {@link GLBcomputer}, place 0 initially holds all the work and every other place
+ *       starts with its lifelines established
+ * </ul>
+ *
+ * <p>The simulation ends when no event remains, i.e. when all places are inactive and no message
+ * is in transit.
+ *
+ * @param <R> type of the result produced by the computation
+ * @param <B> type of the computation bag
+ */
+public class GLBSimulator<R extends Fold<R> & Serializable, B extends Bag<B, R> & Serializable> {
+
+  /** Size in bytes assumed for the messages that do not carry any loot */
+  public static final long CONTROL_MESSAGE_BYTES = 64;
+
+  /** State of a place whose workers are running, same numbering as in {@link GLBcomputer} */
+  private static final int RUNNING = 0;
+
+  /** State of a place performing steals */
+  private static final int STEALING = -1;
+
+  /** State of a place waiting for work on its lifelines */
+  private static final int INACTIVE = -2;
+
+  /** Number of tasks processed by a worker before it performs load balancing operations */
+  private final int chunkSize;
+
+  /** Lifeline strategy used to build the lifeline graph of the simulated places */
+  private final LifelineStrategy lifelineStrategy;
+
+  /** Flag indicating if the size of the loot is measured by serializing it */
+  private boolean measureLoot = true;
+
+  /** Number of simulated places */
+  private final int nbPlaces;
+
+  /** Model used to compute the delay of each message */
+  private final NetworkModel network;
+
+  /** Virtual duration of the processing of a single task in nanoseconds */
+  private final long nanosPerTask;
+
+  /** Number of random steals attempted by a place before it turns to its lifelines */
+  private final int randomSteals;
+
+  /** Seed from which the random generator of each place is derived */
+  private final long seed;
+
+  /** Maximum number of workers on each simulated place */
+  private final int workersPerPlace;
+
+  /** Pending events ordered by virtual time and then by creation order */
+  private PriorityQueue<Event> events;
+
+  /** Virtual time of the last task processed in the simulation */
+  private long lastTaskTime;
+
+  /** Current virtual time in nanoseconds */
+  private long now;
+
+  /** Simulated places */
+  private ArrayList<SimulatedPlace> places;
+
+  /** Supplier of new empty bags */
+  private SerializableSupplier<B> bagSupplier;
+
+  /** Counter used to order the events scheduled at the same virtual time */
+  private long sequence;
+
+  /**
+   * Constructor
+   *
+   * <p>The chunk size and the number of random steals are taken from {@link
+   * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_N} and {@link
+   * GLBMultiWorkerConfiguration#GLBOPTION_MULTIWORKER_W}.
+   *
+   * @param nbPlaces number of places to simulate
+   * @param workersPerPlace maximum number of concurrent workers on each place
+   * @param lifelineStrategy lifeline strategy of the simulated places
+   * @param network model of the communication cost between places
+   * @param nanosPerTask virtual time needed to process a single task
+   * @param seed seed of the random victim selection
+   */
+  public GLBSimulator(
+      int nbPlaces,
+      int workersPerPlace,
+      LifelineStrategy lifelineStrategy,
+      NetworkModel network,
+      long nanosPerTask,
+      long seed) {
+    this(
+        nbPlaces,
+        workersPerPlace,
+        GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_N.get(),
+        GLBMultiWorkerConfiguration.GLBOPTION_MULTIWORKER_W.get(),
+        lifelineStrategy,
+        network,
+        nanosPerTask,
+        seed);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param nbPlaces number of places to simulate
+   * @param workersPerPlace maximum number of concurrent workers on each place
+   * @param chunkSize number of tasks processed by a worker between two load balancing checks
+   * @param randomSteals number of random steals attempted before establishing lifelines
+   * @param lifelineStrategy lifeline strategy of the simulated places
+   * @param network model of the communication cost between places
+   * @param nanosPerTask virtual time needed to process a single task
+   * @param seed seed of the random victim selection
+   */
+  public GLBSimulator(
+      int nbPlaces,
+      int workersPerPlace,
+      int chunkSize,
+      int randomSteals,
+      LifelineStrategy lifelineStrategy,
+      NetworkModel network,
+      long nanosPerTask,
+      long seed) {
+    this.nbPlaces = nbPlaces;
+    this.workersPerPlace = workersPerPlace;
+    this.chunkSize = chunkSize;
+    this.randomSteals = randomSteals;
+    this.lifelineStrategy = lifelineStrategy;
+    this.network = network;
+    this.nanosPerTask = nanosPerTask;
+    this.seed = seed;
+  }
+
+  /**
+   * Creates the list of places handed to the {@link LifelineStrategy}.
+   *
+   * @param nbPlaces number of places in the list
+   * @return list of places with ids 0 to {@code nbPlaces - 1}
+   */
+  public static List<Place> placeList(int nbPlaces) {
+    final List<Place> list = new ArrayList<>(nbPlaces);
+    for (int i = 0; i < nbPlaces; i++) {
+      list.add(new Place(i));
+    }
+    return list;
+  }
+
+  /**
+   * Indicates whether the size of each loot should be obtained by serializing it. When disabled,
+   * loot is accounted as a control message. Measuring is enabled by default.
+   *
+   * @param measure {@code true} to serialize the loot to measure its size
+   */
+  public void setMeasureLoot(boolean measure) {
+    measureLoot = measure;
+  }
+
+  /**
+   * Simulates the computation of the given bag and returns the report of the simulation.
+   *
+   * @param work initial work, placed on place 0
+   * @param resultInitializer initializer for the result instance of each place
+   * @param bagInitializer initializer for the queues and the bags of the workers
+   * @return report containing the result of the computation and the statistics of each place
+   */
+  public SimulationReport<R> simulate(
+      B work, SerializableSupplier<R> resultInitializer, SerializableSupplier<B> bagInitializer) {
+    bagSupplier = bagInitializer;
+    events = new PriorityQueue<>();
+    now = 0;
+    lastTaskTime = 0;
+    sequence = 0;
+
+    final List<Place> list = placeList(nbPlaces);
+    places = new ArrayList<>(nbPlaces);
+    for (int i = 0; i < nbPlaces; i++) {
+      places.add(
+          new SimulatedPlace(
+              i,
+              lifelineStrategy.lifeline(i, list),
+              lifelineStrategy.reverseLifeline(i, list),
+              resultInitializer.get()));
+    }
+
+    // Same initial conditions as GLBcomputer#reset
+    for (final SimulatedPlace p : places) {
+      if (p.id != 0) {
+        for (final int l : p.lifeline) {
+          p.lifelineEstablished[l] = true;
+        }
+      }
+      for (final int t : p.reverseLifeline) {
+        if (t != 0) {
+          p.lifelineThieves.add(t);
+        }
+      }
+    }
+    places.get(0).wakeUp(work);
+
+    while (!events.isEmpty()) {
+      final Event e = events.poll();
+      now = e.time;
+      e.action.run();
+    }
+
+    // Gather the result like GLBcomputer#collectResult
+    final R result = resultInitializer.get();
+    final SimulationReport<R> report = new SimulationReport<>(nbPlaces, workersPerPlace);
+    for (final SimulatedPlace p : places) {
+      for (final B b : p.idleBags) {
+        b.submit(p.result);
+      }
+      p.result.fold(p.interQueue.getResult());
+      p.result.fold(p.intraQueue.getResult());
+      result.fold(p.result);
+      p.report(report);
+    }
+    report.result = result;
+    report.makespan = now;
+    report.lastTaskTime = lastTaskTime;
+    return report;
+  }
+
+  /**
+   * Schedules an action after the given delay.
+   *
+   * @param delay virtual delay in nanoseconds
+   * @param action the action to perform
+   */
+  private void schedule(long delay, Runnable action) {
+    events.add(new Event(now + delay, sequence++, action));
+  }
+
+  /**
+   * Sends a message from one place to another. The action is performed on arrival.
+   *
+   * @param from sending place
+   * @param to receiving place
+   * @param bytes size of the message
+   * @param action action performed upon reception of the message
+   */
+  private void send(SimulatedPlace from, int to, long bytes, Runnable action) {
+    from.messagesSent++;
+    from.bytesSent += bytes;
+    schedule(network.transferTime(from.id, to, bytes), action);
+  }
+
+  /**
+   * Computes the size of the given loot.
+   *
+   * @param loot the bag about to be sent
+   * @return the size of the serialized loot in bytes
+   */
+  private long sizeOf(B loot) {
+    if (!measureLoot) {
+      return CONTROL_MESSAGE_BYTES;
+    }
+    final CountingStream counter = new CountingStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+      out.writeObject(loot);
+    } catch (final IOException e) {
+      e.printStackTrace();
+    }
+    return counter.count;
+  }
+
+  /** {@link OutputStream} which only counts the bytes written into it */
+  private static class CountingStream extends OutputStream {
+    long count;
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+  }
+
+  /** Event of the simulation */
+  private static class Event implements Comparable<Event> {
+    final Runnable action;
+    final long order;
+    final long time;
+
+    Event(long time, long order, Runnable action) {
+      this.time = time;
+      this.order = order;
+      this.action = action;
+    }
+
+    @Override
+    public int compareTo(Event o) {
+      final int c = Long.compare(time, o.time);
+      return c != 0 ? c : Long.compare(order, o.order);
+    }
+  }
+
+  /** Model of the {@link GLBcomputer} instance of a single place */
+  private class SimulatedPlace {
+    final int id;
+    final int[] lifeline;
+    final int[] reverseLifeline;
+    final boolean[] lifelineEstablished;
+    /** Time at which the lifeline on each place was last established */
+    final long[] lifelineEstablishedTime;
+    final ArrayDeque<Integer> lifelineThieves = new ArrayDeque<>();
+    final ArrayDeque<B> idleBags = new ArrayDeque<>();
+    final ArrayDeque<Integer> idleWorkerIds = new ArrayDeque<>();
+    final boolean[] feedInterQueueRequested;
+    final B interQueue;
+    final B intraQueue;
+    final Random random;
+    final R result;
+
+    int state = INACTIVE;
+    int workerCount;
+    /** Index of the next lifeline to establish */
+    int nextLifeline;
+    /** Number of random steals left before turning to the lifelines */
+    int randomStealsLeft;
+    /** Incremented every time the place starts stealing, used to discard stale replies */
+    int stealEpoch;
+
+    long busyTime;
+    long bytesSent;
+    long idleSince;
+    long idleTime;
+    long lifelineStealLatency;
+    long lifelineStealsAttempted;
+    long lifelineStealsReceived;
+    long lifelineStealsSuccess;
+    long lifelineStealsSuffered;
+    long messagesSent;
+    long processedTasks;
+    long stealsAttempted;
+    long stealsReceived;
+    long stealsSuccess;
+    long stealsSuffered;
+
+    SimulatedPlace(int id, int[] lifeline, int[] reverseLifeline, R result) {
+      this.id = id;
+      this.lifeline = lifeline;
+      this.reverseLifeline = reverseLifeline;
+      this.result = result;
+      lifelineEstablished = new boolean[nbPlaces];
+      lifelineEstablishedTime = new long[nbPlaces];
+      feedInterQueueRequested = new boolean[workersPerPlace];
+      for (int i = 0; i < workersPerPlace; i++) {
+        idleBags.add(bagSupplier.get());
+        idleWorkerIds.add(i);
+        feedInterQueueRequested[i] = true;
+      }
+      interQueue = bagSupplier.get();
+      intraQueue = bagSupplier.get();
+      random = new Random(seed + id);
+    }
+
+    /**
+     * Counterpart of {@link GLBcomputer#deal(int, Bag, apgas.util.GlobalRef)}.
+     *
+     * @param victim id of the place that sent the loot, or {@code -1} for a random steal
+     * @param loot the loot received
+     */
+    void deal(int victim, B loot) {
+      if (victim < 0) {
+        stealsSuccess++;
+      } else {
+        lifelineStealsSuccess++;
+        lifelineStealLatency += now - lifelineEstablishedTime[victim];
+        lifelineEstablished[victim] = false;
+      }
+      if (state == RUNNING) {
+        intraQueue.merge(loot);
+      } else {
+        wakeUp(loot);
+      }
+    }
+
+    /**
+     * Gives some loot taken from the inter-place queue, or {@code null} if it is empty.
+     *
+     * @return loot to send to a thief
+     */
+    B loot() {
+      if (interQueue.isEmpty()) {
+        return null;
+      }
+      final B loot = interQueue.split(true);
+      if (interQueue.isEmpty()) {
+        requestInterQueueFeed();
+      }
+      return loot;
+    }
+
+    void report(SimulationReport<R> report) {
+      report.processedTasks[id] = processedTasks;
+      report.busyTime[id] = busyTime;
+      report.idleTime[id] = idleTime + (state == RUNNING ? 0 : now - idleSince);
+      report.stealsAttempted[id] = stealsAttempted;
+      report.stealsSuccess[id] = stealsSuccess;
+      report.stealsReceived[id] = stealsReceived;
+      report.stealsSuffered[id] = stealsSuffered;
+      report.lifelineStealLatency[id] = lifelineStealLatency;
+      report.lifelineStealsAttempted[id] = lifelineStealsAttempted;
+      report.lifelineStealsSuccess[id] = lifelineStealsSuccess;
+      report.lifelineStealsReceived[id] = lifelineStealsReceived;
+      report.lifelineStealsSuffered[id] = lifelineStealsSuffered;
+      report.messagesSent[id] = messagesSent;
+      report.bytesSent[id] = bytesSent;
+    }
+
+    void requestInterQueueFeed() {
+      for (int i = 0; i < feedInterQueueRequested.length; i++) {
+        feedInterQueueRequested[i] = true;
+      }
+    }
+
+    /** Sends loot to the lifeline thieves for as long as the inter-place queue has some */
+    void answerLifelines() {
+      while (!lifelineThieves.isEmpty() && !interQueue.isEmpty()) {
+        final B loot = interQueue.split(true);
+        final int thief = lifelineThieves.poll();
+        lifelineStealsSuffered++;
+        final int h = id;
+        send(this, thief, sizeOf(loot), () -> places.get(thief).deal(h, loot));
+      }
+      if (interQueue.isEmpty()) {
+        requestInterQueueFeed();
+      }
+    }
+
+    /**
+     * Handles a steal request received from another place, counterpart of {@link
+     * GLBcomputer#steal(int, apgas.util.GlobalRef)}.
+     *
+     * @param thief id of the thief
+     * @param lifelineSteal {@code true} if the thief is establishing a lifeline
+     * @param epoch steal epoch of the thief, returned with the answer
+     */
+    void steal(int thief, boolean lifelineSteal, int epoch) {
+      final SimulatedPlace t = places.get(thief);
+      final B loot = loot();
+      final int h = id;
+      if (lifelineSteal) {
+        lifelineStealsReceived++;
+        if (loot == null) {
+          lifelineThieves.add(thief);
+          send(this, thief, CONTROL_MESSAGE_BYTES, () -> t.continueLifelineSteals(epoch));
+        } else {
+          lifelineStealsSuffered++;
+          send(
+              this,
+              thief,
+              sizeOf(loot),
+              () -> {
+                t.deal(h, loot);
+                t.continueLifelineSteals(epoch);
+              });
+        }
+      } else {
+        stealsReceived++;
+        if (loot == null) {
+          send(this, thief, CONTROL_MESSAGE_BYTES, () -> t.continueRandomSteals(epoch));
+        } else {
+          stealsSuffered++;
+          send(
+              this,
+              thief,
+              sizeOf(loot),
+              () -> {
+                t.deal(-1, loot);
+                t.continueRandomSteals(epoch);
+              });
+        }
+      }
+    }
+
+    /** All workers have stopped, the place starts stealing */
+    void startStealing() {
+      state = STEALING;
+      idleSince = now;
+      stealEpoch++;
+      continueRandomSteals(stealEpoch, randomSteals);
+    }
+
+    void continueRandomSteals(int epoch) {
+      continueRandomSteals(epoch, randomStealsLeft);
+    }
+
+    void continueRandomSteals(int epoch, int left) {
+      if (epoch != stealEpoch || state != STEALING) {
+        return; // Stale answer, the place received some work in the meantime
+      }
+      if (left <= 0 || nbPlaces < 2) {
+        nextLifeline = 0;
+        continueLifelineSteals(epoch);
+        return;
+      }
+      randomStealsLeft = left - 1;
+      stealsAttempted++;
+      int victim = random.nextInt(nbPlaces - 1);
+      if (victim >= id) {
+        victim++;
+      }
+      final int h = id;
+      final SimulatedPlace v = places.get(victim);
+      send(this, victim, CONTROL_MESSAGE_BYTES, () -> v.steal(h, false, epoch));
+    }
+
+    void continueLifelineSteals(int epoch) {
+      if (epoch != stealEpoch || state != STEALING) {
+        return;
+      }
+      while (nextLifeline < lifeline.length) {
+        final int l = lifeline[nextLifeline++];
+        if (!lifelineEstablished[l] && l != id) {
+          lifelineEstablished[l] = true;
+          lifelineEstablishedTime[l] = now;
+          lifelineStealsAttempted++;
+          final int h = id;
+          final SimulatedPlace v = places.get(l);
+          send(this, l, CONTROL_MESSAGE_BYTES, () -> v.steal(h, true, epoch));
+          return; // Wait for the answer before establishing the next lifeline
+        }
+      }
+      state = INACTIVE;
+    }
+
+    /**
+     * Restarts the place with the given work.
+     *
+     * @param loot work with which the first worker starts
+     */
+    void wakeUp(B loot) {
+      if (state != RUNNING) {
+        idleTime += now - idleSince;
+      }
+      state = RUNNING;
+      final B bag = idleBags.poll();
+      bag.merge(loot);
+      startWorker(bag, idleWorkerIds.poll());
+    }
+
+    void startWorker(B bag, int workerId) {
+      workerCount++;
+      schedule(0, () -> workerStep(bag, workerId));
+    }
+
+    /**
+     * One iteration of the worker routine of {@link GLBcomputer}.
+     *
+     * @param bag bag held by the worker
+     * @param workerId identifier of the worker
+     */
+    void workerStep(B bag, int workerId) {
+      // 1. Spawning a new worker
+      if (!idleBags.isEmpty() && bag.isSplittable()) {
+        final B b = idleBags.poll();
+        b.merge(bag.split(false));
+        startWorker(b, idleWorkerIds.poll());
+      }
+      // 2. Feeding the intra-place queue
+      if (intraQueue.isEmpty() && bag.isSplittable()) {
+        intraQueue.merge(bag.split(false));
+      }
+      // 3. Feeding the inter-place queue
+      if (feedInterQueueRequested[workerId] && bag.isSplittable()) {
+        interQueue.merge(bag.split(false));
+        feedInterQueueRequested[workerId] = false;
+      }
+      // 4. Answering the lifeline thieves
+      answerLifelines();
+
+      // 6. Processing
+      final int processed = bag.process(chunkSize, result);
+      processedTasks += processed;
+      final long duration = processed * nanosPerTask;
+      busyTime += duration;
+      lastTaskTime = Math.max(lastTaskTime, now + duration);
+      schedule(duration, () -> afterProcess(bag, workerId));
+    }
+
+    void afterProcess(B bag, int workerId) {
+      if (!bag.isEmpty()) {
+        workerStep(bag, workerId);
+        return;
+      }
+      // 8. Intra-place load balancing
+      if (!intraQueue.isEmpty()) {
+        bag.merge(intraQueue.split(true));
+        workerStep(bag, workerId);
+      } else if (!interQueue.isEmpty()) {
+        bag.merge(interQueue.split(true));
+        if (interQueue.isEmpty()) {
+          requestInterQueueFeed();
+        }
+        workerStep(bag, workerId);
+      } else {
+        idleBags.add(bag);
+        idleWorkerIds.add(workerId);
+        workerCount--;
+        if (workerCount == 0) {
+          startStealing();
+        }
+      }
+    }
+  }
+}
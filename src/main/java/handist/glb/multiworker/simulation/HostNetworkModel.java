@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker.simulation;
+
+/**
+ * {@link NetworkModel} distinguishing the places running on the same host from the places running
+ * on different hosts. Place {@code p} runs on host {@code p / placesPerHost}, as assumed by {@link
+ * handist.glb.multiworker.lifeline.TopologyAwareStrategy}. Messages between two hosts are handled
+ * by an inter-host {@link LinearNetworkModel}, messages within a host by an intra-host one.
+ */
+public class HostNetworkModel implements NetworkModel {
+
+  /** Model of the messages exchanged between places of different hosts */
+  private final NetworkModel interHost;
+
+  /** Model of the messages exchanged between places of the same host */
+  private final NetworkModel intraHost;
+
+  /** Number of consecutive place ids running on each host */
+  private final int placesPerHost;
+
+  /**
+   * Constructor
+   *
+   * @param placesPerHost number of consecutive place ids running on each host
+   * @param intraHost model of the messages exchanged within a host
+   * @param interHost model of the messages exchanged between hosts
+   */
+  public HostNetworkModel(int placesPerHost, NetworkModel intraHost, NetworkModel interHost) {
+    this.placesPerHost = Math.max(1, placesPerHost);
+    this.intraHost = intraHost;
+    this.interHost = interHost;
+  }
+
+  @Override
+  public long transferTime(int from, int to, long bytes) {
+    if (from / placesPerHost == to / placesPerHost) {
+      return intraHost.transferTime(from, to, bytes);
+    }
+    return interHost.transferTime(from, to, bytes);
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker.simulation;
+
+/**
+ * {@link NetworkModel} in which every message pays a fixed latency plus a size-dependent cost
+ * derived from a constant bandwidth. Messages sent by a place to itself are free.
+ */
+public class LinearNetworkModel implements NetworkModel {
+
+  /** Bandwidth of the links in bytes per second */
+  private final double bytesPerSecond;
+
+  /** Fixed latency paid by every message in nanoseconds */
+  private final long latency;
+
+  /**
+   * Constructor
+   *
+   * @param latencyNanos latency of a message in nanoseconds
+   * @param bytesPerSecond bandwidth of the links between places, in bytes per second
+   */
+  public LinearNetworkModel(long latencyNanos, double bytesPerSecond) {
+    latency = latencyNanos;
+    this.bytesPerSecond = bytesPerSecond;
+  }
+
+  @Override
+  public long transferTime(int from, int to, long bytes) {
+    if (from == to) {
+      return 0;
+    }
+    return latency + (long) (bytes * 1e9 / bytesPerSecond);
+  }
+}
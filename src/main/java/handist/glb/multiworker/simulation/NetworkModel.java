@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker.simulation;
+
+/**
+ * Model of the communication cost between two simulated places used by the {@link GLBSimulator}.
+ *
+ * <p>Implementations are expected to be deterministic: the same arguments should always yield the
+ * same transfer time so that two simulations run with the same seed produce the same steal
+ * schedule.
+ */
+public interface NetworkModel {
+
+  /**
+   * Gives the time in nanoseconds needed for a message of the given size to travel from place
+   * {@code from} to place {@code to}.
+   *
+   * @param from id of the sending place
+   * @param to id of the receiving place
+   * @param bytes size of the message in bytes
+   * @return transfer time in nanoseconds
+   */
+  long transferTime(int from, int to, long bytes);
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+package handist.glb.multiworker.simulation;
+
+import java.io.PrintStream;
+
+/**
+ * Outcome of a simulation run by the {@link GLBSimulator}. All times are virtual times expressed
+ * in nanoseconds. Arrays are indexed by place id.
+ *
+ * @param <R> type of the result of the computation
+ */
+public class SimulationReport<R> {
+
+  /** Number of places that took part in the simulation */
+  public final int places;
+
+  /** Number of workers per place */
+  public final int workersPerPlace;
+
+  /** Result of the computation, folded over all the places */
+  public R result;
+
+  /** Virtual time at which the last event of the simulation occurred */
+  public long makespan;
+
+  /** Virtual time at which the last task of the computation was completed */
+  public long lastTaskTime;
+
+  /** Accumulated processing time of the workers of each place */
+  public final long[] busyTime;
+
+  /** Number of bytes sent by each place */
+  public final long[] bytesSent;
+
+  /** Time during which each place had no running worker */
+  public final long[] idleTime;
+
+  /**
+   * Accumulated time between the establishment of a lifeline and the reception of loot through it,
+   * for the successful lifeline steals of each place
+   */
+  public final long[] lifelineStealLatency;
+
+  /** Number of lifeline steals attempted by each place */
+  public final long[] lifelineStealsAttempted;
+
+  /** Number of lifeline steal requests received by each place */
+  public final long[] lifelineStealsReceived;
+
+  /** Number of lifeline steals by each place that resulted in loot */
+  public final long[] lifelineStealsSuccess;
+
+  /** Number of times each place sent loot to a lifeline thief */
+  public final long[] lifelineStealsSuffered;
+
+  /** Number of messages sent by each place */
+  public final long[] messagesSent;
+
+  /** Number of tasks processed on each place */
+  public final long[] processedTasks;
+
+  /** Number of random steals attempted by each place */
+  public final long[] stealsAttempted;
+
+  /** Number of random steal requests received by each place */
+  public final long[] stealsReceived;
+
+  /** Number of random steals by each place that resulted in loot */
+  public final long[] stealsSuccess;
+
+  /** Number of random steals suffered by each place */
+  public final long[] stealsSuffered;
+
+  /**
+   * Constructor
+   *
+   * @param places number of simulated places
+   * @param workersPerPlace number of workers on each place
+   */
+  SimulationReport(int places, int workersPerPlace) {
+    this.places = places;
+    this.workersPerPlace = workersPerPlace;
+    busyTime = new long[places];
+    bytesSent = new long[places];
+    idleTime = new long[places];
+    lifelineStealLatency = new long[places];
+    lifelineStealsAttempted = new long[places];
+    lifelineStealsReceived = new long[places];
+    lifelineStealsSuccess = new long[places];
+    lifelineStealsSuffered = new long[places];
+    messagesSent = new long[places];
+    processedTasks = new long[places];
+    stealsAttempted = new long[places];
+    stealsReceived = new long[places];
+    stealsSuccess = new long[places];
+    stealsSuffered = new long[places];
+  }
+
+  /**
+   * Gives the fraction of the available worker time that was spent processing tasks
+   *
+   * @return efficiency between 0 and 1
+   */
+  public double efficiency() {
+    if (makespan == 0) {
+      return 0;
+    }
+    return (double) sum(busyTime) / ((double) makespan * places * workersPerPlace);
+  }
+
+  /**
+   * Gives the average time between the establishment of a lifeline and the reception of loot
+   * through it, over all the successful lifeline steals
+   *
+   * @return average lifeline steal latency in nanoseconds, 0 if no lifeline steal succeeded
+   */
+  public double lifelineStealLatency() {
+    final long successes = sum(lifelineStealsSuccess);
+    return successes == 0 ? 0 : (double) sum(lifelineStealLatency) / successes;
+  }
+
+  /**
+   * Prints the aggregated figures of the simulation on one line with ';' separators, in the same
+   * spirit as {@link handist.glb.multiworker.Logger#printShort(PrintStream)}.
+   *
+   * @param out output stream on which to print
+   */
+  public void printShort(PrintStream out) {
+    out.println(
+        "Places;"
+            + places
+            + ";Workers;"
+            + workersPerPlace
+            + ";Makespan(s);"
+            + makespan / 1e9
+            + ";LastTask(s);"
+            + lastTaskTime / 1e9
+            + ";TerminationLatency(s);"
+            + (makespan - lastTaskTime) / 1e9
+            + ";Efficiency;"
+            + efficiency()
+            + ";Tasks;"
+            + sum(processedTasks)
+            + ";Steals;"
+            + sum(stealsSuccess)
+            + "/"
+            + sum(stealsAttempted)
+            + ";LifelineSteals;"
+            + sum(lifelineStealsSuccess)
+            + "/"
+            + sum(lifelineStealsAttempted)
+            + ";LifelineLatency(s);"
+            + lifelineStealLatency() / 1e9
+            + ";Messages;"
+            + sum(messagesSent)
+            + ";Bytes;"
+            + sum(bytesSent)
+            + ";");
+  }
+
+  /**
+   * Prints the aggregated figures followed by the details of each place.
+   *
+   * @param out output stream on which to print
+   */
+  public void printAll(PrintStream out) {
+    printShort(out);
+    out.println(
+        "Place;Tasks;Busy(s);Idle(s);StealsAttempted;StealsSuccess;StealsReceived;"
+            + "StealsSuffered;LifelineAttempted;LifelineSuccess;LifelineReceived;"
+            + "LifelineSuffered;Messages;Bytes;");
+    for (int i = 0; i < places; i++) {
+      out.println(
+          i
+              + ";"
+              + processedTasks[i]
+              + ";"
+              + busyTime[i] / 1e9
+              + ";"
+              + idleTime[i] / 1e9
+              + ";"
+              + stealsAttempted[i]
+              + ";"
+              + stealsSuccess[i]
+              + ";"
+              + stealsReceived[i]
+              + ";"
+              + stealsSuffered[i]
+              + ";"
+              + lifelineStealsAttempted[i]
+              + ";"
+              + lifelineStealsSuccess[i]
+              + ";"
+              + lifelineStealsReceived[i]
+              + ";"
+              + lifelineStealsSuffered[i]
+              + ";"
+              + messagesSent[i]
+              + ";"
+              + bytesSent[i]
+              + ";");
+    }
+  }
+
+  private static long sum(long[] array) {
+    long s = 0;
+    for (final long l : array) {
+      s += l;
+    }
+    return s;
+  }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) 2023 Wagomu project.
+ *
+ * This program and the accompanying materials are made available to you under
+ * the terms of the Eclipse Public License 1.0 which accompanies this
+ * distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * SPDX-License-Identifier: EPL-1.0
+ */
+/**
+ * Deterministic in-process simulation of the multi-worker load balancer. Many logical places are
+ * run in a single JVM against a virtual clock and a configurable {@link
+ * handist.glb.multiworker.simulation.NetworkModel}, which makes it possible to compare steal
+ * protocols and lifeline strategies at scales that are not available on a real cluster.
+ */
+package handist.glb.multiworker.simulation;